@@ -27,13 +27,13 @@ public abstract class PcdInfo {
 	private Map<String, String> map = null;
 
 	/**
-	 * Default constructor.
+	 * Default constructor. Shared SystemInfo object is used.
 	 * 
 	 * @param _map
 	 *            - map of more details of component
 	 */
 	protected PcdInfo(Map<String, String> _map) {
-		this.systemInfo = new SystemInfo();
+		this.systemInfo = SharedSystemInfo.get();
 		this.map = _map;
 	}
 
@@ -0,0 +1,36 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd;
+
+/**
+ * Interface to update dynamic fields of component built before instead of
+ * building new one, e.g. cpuInfo.refresh(cpu). Nested components are reused if
+ * their identity did not change, so polling does not create new objects for
+ * every read.
+ * 
+ * @author Mateusz Mucha
+ * @param <T>
+ *            - component classes which inherit from Component
+ */
+public interface Refreshable<T extends Component> {
+	/**
+	 * Method to update dynamic fields of component in place. Static fields
+	 * e.g. names or models are not read again.
+	 * 
+	 * @param _component
+	 *            - component built before by the same type of informations
+	 */
+	void refresh(T _component);
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd;
+
+import oshi.SystemInfo;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * Class to hold one SystemInfo object of OSHI API shared by whole process.
+ * OSHI keeps its caches inside of hardware and operating system objects, so
+ * reusing them avoids initialization of OSHI on every collection. Hardware and
+ * operating system are created together with SystemInfo object, because lazy
+ * creation in OSHI is not thread safe.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class SharedSystemInfo {
+	private static volatile SystemInfo systemInfo = null;
+
+	/**
+	 * Private constructor.
+	 */
+	private SharedSystemInfo() {
+	}
+
+	/**
+	 * Method to get shared system info object from OSHI API. Object is created
+	 * on first use.
+	 * 
+	 * @return shared system info object from OSHI API
+	 */
+	public static SystemInfo get() {
+		SystemInfo current = systemInfo;
+		if (current == null) {
+			synchronized (SharedSystemInfo.class) {
+				current = systemInfo;
+				if (current == null) {
+					current = new SystemInfo();
+					current.getHardware();
+					current.getOperatingSystem();
+					systemInfo = current;
+				}
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * Method to get hardware abstraction layer of shared system info object.
+	 * 
+	 * @return shared hardware abstraction layer from OSHI API
+	 */
+	public static HardwareAbstractionLayer getHardware() {
+		return get().getHardware();
+	}
+
+	/**
+	 * Method to get operating system of shared system info object.
+	 * 
+	 * @return shared operating system object from OSHI API
+	 */
+	public static OperatingSystem getOperatingSystem() {
+		return get().getOperatingSystem();
+	}
+
+	/**
+	 * Method to drop shared system info object, so the next use creates a new
+	 * one e.g. after hardware was changed. Objects already taken by callers are
+	 * not changed.
+	 */
+	public static void reset() {
+		synchronized (SharedSystemInfo.class) {
+			systemInfo = null;
+		}
+	}
+}
\ No newline at end of file
@@ -15,12 +15,14 @@
 package pcd.example;
 
 import pcd.factory.PCDetailsFactory;
+import pcd.factory.SystemSnapshot;
 import pcd.hardware.cpu.Cpu;
 import pcd.hardware.gpu.Gpu;
 import pcd.hardware.harddisk.Disk;
 import pcd.hardware.memory.Ram;
 import pcd.hardware.motherboard.Motherboard;
 import pcd.hardware.network.Network;
+import pcd.hardware.pressure.Pressure;
 import pcd.software.bios.Bios;
 import pcd.software.os.OperatingSystem;
 import pcd.software.processes.Process;
@@ -59,12 +61,16 @@ public class PCDetailsConsoleParameters {
 			disk();
 		} else if (args[0].equals("-net")) {
 			network();
+		} else if (args[0].equals("-psi")) {
+			pressure();
 		} else if (args[0].equals("-bios")) {
 			bios();
 		} else if (args[0].equals("-os")) {
 			operatingSystem();
 		} else if (args[0].equals("-process")) {
 			processes();
+		} else if (args[0].equals("-all")) {
+			snapshot();
 		} else if (args[0].equals("/help")) {
 			help();
 		} else {
@@ -154,6 +160,14 @@ public class PCDetailsConsoleParameters {
 		System.out.println(network.componentAsString());
 	}
 
+	/**
+	 * Method to get pressure stall details.
+	 */
+	private static void pressure() {
+		Pressure pressure = PCDetailsFactory.getPressureInfo();
+		System.out.println(pressure.componentAsString());
+	}
+
 	/**
 	 * Method to get bios details.
 	 */
@@ -170,6 +184,14 @@ public class PCDetailsConsoleParameters {
 		System.out.println(os.componentAsString());
 	}
 
+	/**
+	 * Method to get details of all components collected at the same time.
+	 */
+	private static void snapshot() {
+		SystemSnapshot snapshot = PCDetailsFactory.getSystemSnapshot();
+		System.out.println(snapshot.componentAsString());
+	}
+
 	/**
 	 * Method to get processes details.
 	 */
@@ -191,11 +213,12 @@ public class PCDetailsConsoleParameters {
 
 	/**
 	 * Method to get processes details. Show sorted list of processes declared
-	 * as parameter. There are 7 types of sorting in String representation which
+	 * as parameter. There are 8 types of sorting in String representation which
 	 * are only valid to use:
 	 * 
 	 * <pre>
 	 *            "-cpu" - sorting by cpu usage
+	 *            "-io" - sorting by I/O throughput since start of processes
 	 *            "-memory" - sorting by memory usage
 	 *            "-name" - sorting by name
 	 *            "-new" - sorting by newest
@@ -213,11 +236,12 @@ public class PCDetailsConsoleParameters {
 
 	/**
 	 * Method to get processes details. Show sorted limited list of processes
-	 * declared as parameter. There are 7 types of sorting in String
+	 * declared as parameter. There are 8 types of sorting in String
 	 * representation which are only valid to use:
 	 * 
 	 * <pre>
 	 *            "-cpu" - sorting by cpu usage
+	 *            "-io" - sorting by I/O throughput since start of processes
 	 *            "-memory" - sorting by memory usage
 	 *            "-name" - sorting by name
 	 *            "-new" - sorting by newest
@@ -247,12 +271,14 @@ public class PCDetailsConsoleParameters {
 		System.out.println("[-mobo] - to show motherboard informations,");
 		System.out.println("[-hdd] - to show hard disk informations,");
 		System.out.println("[-net] - to show network informations,");
+		System.out.println("[-psi] - to show pressure stall informations,");
 		System.out.println("[-bios] - to show bios informations,");
 		System.out.println("[-os] - to show operating system informations,");
+		System.out.println("[-all] - to show informations of all components collected at once,");
 		System.out.println("[-process] - to show processes informations,");
 		System.out.println("           [processesCount] - limited processes e.g. {-process 5},");
 		System.out.println(
-				"           [sortingType] - sorted processes e.g. {-process -cpu}, there are 7 types of sorting in String representation which are only valid to use: -cpu, -memory, -name, -new, -old, -parent, -id");
+				"           [sortingType] - sorted processes e.g. {-process -cpu}, there are 8 types of sorting in String representation which are only valid to use: -cpu, -io, -memory, -name, -new, -old, -parent, -id");
 		System.out.println(
 				"           [processesCount] [sortingType] - sorted limited processes e.g. {-process 5 -cpu} or {-process -cpu 5},");
 	}
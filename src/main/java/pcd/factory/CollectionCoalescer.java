@@ -0,0 +1,218 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.factory;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Class to coalesce the same collections called at the same time. First
+ * caller collects component and other callers with the same key wait for its
+ * result instead of collecting again. Result could be also kept for freshness
+ * window and returned to later callers. All coalesced callers get the same
+ * object of component. Keys are names of collections or {@link Key} objects
+ * for collections with parameters.
+ * 
+ * @author Mateusz Mucha
+ */
+final class CollectionCoalescer {
+	private static final Map<Object, CompletableFuture<Object>> IN_FLIGHT = new ConcurrentHashMap<>();
+	private static final Map<Object, Result> RESULTS = new ConcurrentHashMap<>();
+	private static volatile long freshnessWindow = 0;
+
+	/**
+	 * Private constructor.
+	 */
+	private CollectionCoalescer() {
+	}
+
+	/**
+	 * Method to get result of collection. Collector is called only if there is
+	 * no fresh result and no running collection with the same key.
+	 * 
+	 * @param _key
+	 *            - type and parameters of collection
+	 * @param _collector
+	 *            - function to collect component
+	 * @return collected component
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T collect(Object _key, Supplier<T> _collector) {
+		long window = freshnessWindow;
+		if (window > 0) {
+			Result result = RESULTS.get(_key);
+			if (result != null && System.currentTimeMillis() - result.time < window) {
+				return (T) result.value;
+			}
+		}
+
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> running = IN_FLIGHT.putIfAbsent(_key, future);
+		if (running != null) {
+			try {
+				return (T) running.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		try {
+			T value = _collector.get();
+			if (window > 0) {
+				RESULTS.put(_key, new Result(value, System.currentTimeMillis()));
+			}
+			future.complete(value);
+
+			return value;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			IN_FLIGHT.remove(_key, future);
+		}
+	}
+
+	/**
+	 * Method to create key of collection with parameters. Mutable parameters
+	 * like enum sets and arrays are copied, so changes of caller after the
+	 * call do not change key of running or kept collection.
+	 * 
+	 * @param _type
+	 *            - type of collection
+	 * @param _parameters
+	 *            - parameters of collection, compared by equals
+	 * @return key of collection
+	 */
+	static Key key(String _type, Object... _parameters) {
+		return new Key(_type, (Object[]) copy(_parameters));
+	}
+
+	/**
+	 * Method to copy mutable parameter of key.
+	 * 
+	 * @param _parameter
+	 * @return copy of enum set or array, the same object otherwise
+	 */
+	private static Object copy(Object _parameter) {
+		if (_parameter instanceof EnumSet) {
+			return ((EnumSet<?>) _parameter).clone();
+		}
+		if (_parameter instanceof Object[]) {
+			Object[] copy = ((Object[]) _parameter).clone();
+			for (int i = 0; i < copy.length; i++) {
+				copy[i] = copy(copy[i]);
+			}
+			return copy;
+		}
+		if (_parameter != null && _parameter.getClass().isArray()) {
+			int length = Array.getLength(_parameter);
+			Object copy = Array.newInstance(_parameter.getClass().getComponentType(), length);
+			System.arraycopy(_parameter, 0, copy, 0, length);
+			return copy;
+		}
+
+		return _parameter;
+	}
+
+	/**
+	 * Method to get time in milliseconds for which collected result is
+	 * returned without collecting again.
+	 * 
+	 * @return freshness window in milliseconds
+	 */
+	static long getFreshnessWindow() {
+		return freshnessWindow;
+	}
+
+	/**
+	 * Method to set time in milliseconds for which collected result is
+	 * returned without collecting again. Kept results are dropped.
+	 * 
+	 * @param _freshnessWindow
+	 *            - freshness window in milliseconds, 0 disables keeping of
+	 *            results
+	 */
+	static void setFreshnessWindow(long _freshnessWindow) {
+		if (_freshnessWindow < 0) {
+			throw new IllegalArgumentException("Freshness window can not be negative!");
+		}
+		freshnessWindow = _freshnessWindow;
+		RESULTS.clear();
+	}
+
+	/**
+	 * Class representation of key of collection with parameters. Keys are
+	 * equal if types and all parameters are equal, so parameters must have
+	 * value equality.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	static final class Key {
+		private final String type;
+		private final Object[] parameters;
+
+		private Key(String _type, Object[] _parameters) {
+			this.type = _type;
+			this.parameters = _parameters;
+		}
+
+		@Override
+		public boolean equals(Object _object) {
+			if (this == _object) {
+				return true;
+			}
+			if (!(_object instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) _object;
+
+			return type.equals(key.type) && Arrays.deepEquals(parameters, key.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + Arrays.deepHashCode(parameters);
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + Arrays.deepToString(parameters);
+		}
+	}
+
+	/**
+	 * Class to keep collected component with time of collection.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class Result {
+		private final Object value;
+		private final long time;
+
+		private Result(Object _value, long _time) {
+			this.value = _value;
+			this.time = _time;
+		}
+	}
+}
\ No newline at end of file
@@ -23,6 +23,7 @@ import pcd.hardware.harddisk.DiskInfo;
 import pcd.hardware.memory.MemoryInfo;
 import pcd.hardware.motherboard.MoboInfo;
 import pcd.hardware.network.NetworkInfo;
+import pcd.hardware.pressure.PressureInfo;
 import pcd.software.SoftwareInfo;
 import pcd.software.bios.BiosInfo;
 import pcd.software.os.OsInfo;
@@ -40,7 +41,7 @@ public final class DeviceFactory {
 	 * @author Mateusz Mucha
 	 */
 	public enum HardwareType {
-		CPU, GPU, RAM, MOBO, HDD, NETWORK;
+		CPU, GPU, RAM, MOBO, HDD, NETWORK, PRESSURE;
 	}
 
 	/**
@@ -72,6 +73,8 @@ public final class DeviceFactory {
 			return new DiskInfo();
 		case NETWORK:
 			return new NetworkInfo();
+		case PRESSURE:
+			return new PressureInfo();
 		default:
 			throw new IllegalArgumentException("Type of hardware not supported: " + _type);
 		}
@@ -99,6 +102,8 @@ public final class DeviceFactory {
 			return new DiskInfo(_systemInfo);
 		case NETWORK:
 			return new NetworkInfo(_systemInfo);
+		case PRESSURE:
+			return new PressureInfo(_systemInfo);
 		default:
 			throw new IllegalArgumentException("Type of hardware not supported: " + _type);
 		}
@@ -14,25 +14,54 @@
  */
 package pcd.factory;
 
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import oshi.SystemInfo;
 import oshi.software.os.OperatingSystem.ProcessSort;
+import pcd.Component;
+import pcd.SharedSystemInfo;
 import pcd.hardware.cpu.Cpu;
+import pcd.hardware.cpu.CpuInfo;
+import pcd.hardware.cpu.CpuMetric;
 import pcd.hardware.gpu.Gpu;
 import pcd.hardware.harddisk.Disk;
 import pcd.hardware.memory.Ram;
 import pcd.hardware.motherboard.Motherboard;
 import pcd.hardware.network.Network;
+import pcd.hardware.pressure.Pressure;
 import pcd.software.bios.Bios;
 import pcd.software.os.OperatingSystem;
+import pcd.software.processes.LinuxProcessInfo;
 import pcd.software.processes.Process;
+import pcd.software.processes.ProcessField;
+import pcd.software.processes.ProcessFilter;
+import pcd.software.processes.ProcessInfo;
+import pcd.software.processes.ProcessTable;
+import pcd.software.processes.ProcessTableInfo;
+import pcd.software.processes.ProcessTree;
+import pcd.util.CollectorRuntime;
 
 /**
  * Class factory to create informations of hardware and software. Returned right
  * builded components ready to manage of data.
  * 
+ * Methods without system info parameter coalesce calls running at the same
+ * time, so all callers of the same collection get the same component object.
+ * 
  * @author Mateusz Mucha
  */
 public class PCDetailsFactory {
+	/**
+	 * Default time in milliseconds to wait for all components of snapshot.
+	 */
+	public static final long DEFAULT_SNAPSHOT_TIMEOUT = 10000;
 
 	/**
 	 * Method to get builded informations of processor.
@@ -40,7 +69,8 @@ public class PCDetailsFactory {
 	 * @return informations of processor
 	 */
 	public static Cpu getProcessorInfo() {
-		return (Cpu) DeviceFactory.getHardware(DeviceFactory.HardwareType.CPU).buildHardware();
+		return CollectionCoalescer.collect("CPU",
+				() -> (Cpu) DeviceFactory.getHardware(DeviceFactory.HardwareType.CPU).buildHardware());
 	}
 
 	/**
@@ -54,13 +84,40 @@ public class PCDetailsFactory {
 		return (Cpu) DeviceFactory.getHardware(DeviceFactory.HardwareType.CPU, _systemInfo).buildHardware();
 	}
 
+	/**
+	 * Method to get builded informations of processor with selected fields
+	 * only.
+	 * 
+	 * @param _metrics
+	 *            - fields of processor to build
+	 * @return informations of processor
+	 */
+	public static Cpu getProcessorInfo(EnumSet<CpuMetric> _metrics) {
+		return CollectionCoalescer.collect(CollectionCoalescer.key("CPU", _metrics),
+				() -> new CpuInfo(_metrics).buildHardware());
+	}
+
+	/**
+	 * Method to get builded informations of processor with selected fields
+	 * only. Used new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @param _metrics
+	 *            - fields of processor to build
+	 * @return informations of processor
+	 */
+	public static Cpu getProcessorInfo(SystemInfo _systemInfo, EnumSet<CpuMetric> _metrics) {
+		return new CpuInfo(_systemInfo, _metrics).buildHardware();
+	}
+
 	/**
 	 * Method to get builded informations of graphic cards.
 	 * 
 	 * @return informations of graphic cards
 	 */
 	public static Gpu getGraphicCardsInfo() {
-		return (Gpu) DeviceFactory.getHardware(DeviceFactory.HardwareType.GPU).buildHardware();
+		return CollectionCoalescer.collect("GPU",
+				() -> (Gpu) DeviceFactory.getHardware(DeviceFactory.HardwareType.GPU).buildHardware());
 	}
 
 	/**
@@ -80,7 +137,8 @@ public class PCDetailsFactory {
 	 * @return informations of hard disk
 	 */
 	public static Disk getHardDiskInfo() {
-		return (Disk) DeviceFactory.getHardware(DeviceFactory.HardwareType.HDD).buildHardware();
+		return CollectionCoalescer.collect("HDD",
+				() -> (Disk) DeviceFactory.getHardware(DeviceFactory.HardwareType.HDD).buildHardware());
 	}
 
 	/**
@@ -100,7 +158,8 @@ public class PCDetailsFactory {
 	 * @return informations of memory
 	 */
 	public static Ram getMemoryInfo() {
-		return (Ram) DeviceFactory.getHardware(DeviceFactory.HardwareType.RAM).buildHardware();
+		return CollectionCoalescer.collect("RAM",
+				() -> (Ram) DeviceFactory.getHardware(DeviceFactory.HardwareType.RAM).buildHardware());
 	}
 
 	/**
@@ -120,7 +179,8 @@ public class PCDetailsFactory {
 	 * @return informations of motherboard
 	 */
 	public static Motherboard getMotherboardInfo() {
-		return (Motherboard) DeviceFactory.getHardware(DeviceFactory.HardwareType.MOBO).buildHardware();
+		return CollectionCoalescer.collect("MOBO",
+				() -> (Motherboard) DeviceFactory.getHardware(DeviceFactory.HardwareType.MOBO).buildHardware());
 	}
 
 	/**
@@ -140,7 +200,8 @@ public class PCDetailsFactory {
 	 * @return informations of network
 	 */
 	public static Network getNetworkInfo() {
-		return (Network) DeviceFactory.getHardware(DeviceFactory.HardwareType.NETWORK).buildHardware();
+		return CollectionCoalescer.collect("NETWORK",
+				() -> (Network) DeviceFactory.getHardware(DeviceFactory.HardwareType.NETWORK).buildHardware());
 	}
 
 	/**
@@ -154,13 +215,37 @@ public class PCDetailsFactory {
 		return (Network) DeviceFactory.getHardware(DeviceFactory.HardwareType.NETWORK, _systemInfo).buildHardware();
 	}
 
+	/**
+	 * Method to get builded Pressure Stall Information of processor, memory
+	 * and I/O. Deltas are zero, keep {@link pcd.hardware.pressure.PressureInfo}
+	 * instance to get stall time over interval.
+	 * 
+	 * @return Pressure Stall Information
+	 */
+	public static Pressure getPressureInfo() {
+		return CollectionCoalescer.collect("PRESSURE",
+				() -> (Pressure) DeviceFactory.getHardware(DeviceFactory.HardwareType.PRESSURE).buildHardware());
+	}
+
+	/**
+	 * Method to get builded Pressure Stall Information of processor, memory
+	 * and I/O. Used new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @return Pressure Stall Information
+	 */
+	public static Pressure getPressureInfo(SystemInfo _systemInfo) {
+		return (Pressure) DeviceFactory.getHardware(DeviceFactory.HardwareType.PRESSURE, _systemInfo).buildHardware();
+	}
+
 	/**
 	 * Method to get builded informations of bios.
 	 * 
 	 * @return informations of bios
 	 */
 	public static Bios getBiosInfo() {
-		return (Bios) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.BIOS).buildSoftware();
+		return CollectionCoalescer.collect("BIOS",
+				() -> (Bios) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.BIOS).buildSoftware());
 	}
 
 	/**
@@ -180,7 +265,8 @@ public class PCDetailsFactory {
 	 * @return informations of operating system
 	 */
 	public static OperatingSystem getOperatingSystemInfo() {
-		return (OperatingSystem) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.OS).buildSoftware();
+		return CollectionCoalescer.collect("OS",
+				() -> (OperatingSystem) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.OS).buildSoftware());
 	}
 
 	/**
@@ -200,7 +286,8 @@ public class PCDetailsFactory {
 	 * @return informations of processes
 	 */
 	public static Process getProcessesInfo() {
-		return (Process) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.PROCESSES).buildSoftware();
+		return CollectionCoalescer.collect("PROCESSES",
+				() -> (Process) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.PROCESSES).buildSoftware());
 	}
 
 	/**
@@ -226,8 +313,10 @@ public class PCDetailsFactory {
 	 * @return informations of processes
 	 */
 	public static Process getProcessesInfo(int _processesCount, ProcessSort _processSort) {
-		return (Process) DeviceFactory.getSoftware(DeviceFactory.SoftwareType.PROCESSES, _processSort, _processesCount)
-				.buildSoftware();
+		return CollectionCoalescer.collect(CollectionCoalescer.key("PROCESSES", _processSort, _processesCount),
+				() -> (Process) DeviceFactory
+						.getSoftware(DeviceFactory.SoftwareType.PROCESSES, _processSort, _processesCount)
+						.buildSoftware());
 	}
 
 	/**
@@ -249,15 +338,225 @@ public class PCDetailsFactory {
 				.buildSoftware();
 	}
 
+	/**
+	 * Method to get builded informations of processes with selected fields
+	 * only.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfo(ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields) {
+		return CollectionCoalescer.collect(CollectionCoalescer.key("PROCESSES", _processSort, _processesCount, _fields),
+				() -> new ProcessInfo(_processSort, _processesCount, _fields).buildSoftware());
+	}
+
+	/**
+	 * Method to get builded informations of processes with selected fields
+	 * only. Used new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields) {
+		return new ProcessInfo(_systemInfo, _processSort, _processesCount, _fields).buildSoftware();
+	}
+
+	/**
+	 * Method to get builded informations of processes sorted by rate, e.g.
+	 * processes with the highest I/O throughput first. Rates of one call are
+	 * averages since start of processes, keep collector from
+	 * {@link #getProcessesRateInfo(int, ProcessField)} and build it repeatedly
+	 * for rates since previous build.
+	 * 
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE}
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfoByRate(int _processesCount, ProcessField _rateSort) {
+		return CollectionCoalescer.collect(CollectionCoalescer.key("PROCESSES", _rateSort, _processesCount),
+				() -> getProcessesRateInfo(_processesCount, _rateSort).buildSoftware());
+	}
+
+	/**
+	 * Method to get builded informations of processes sorted by rate. Used new
+	 * system info object of OSHI API. Rates of one call are averages since
+	 * start of processes.
+	 * 
+	 * @param _systemInfo
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE}
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfoByRate(SystemInfo _systemInfo, int _processesCount,
+			ProcessField _rateSort) {
+		return getProcessesRateInfo(_systemInfo, _processesCount, _rateSort).buildSoftware();
+	}
+
+	/**
+	 * Method to get new collector of processes sorted by rate. Collector keeps
+	 * its own delta engine, so every build of the same collector measures
+	 * rates since its previous build or refresh. Collector should be kept by
+	 * caller for the whole polling loop.
+	 * 
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE}
+	 * @return collector of processes
+	 */
+	public static ProcessInfo getProcessesRateInfo(int _processesCount, ProcessField _rateSort) {
+		return new ProcessInfo(_processesCount, _rateSort, ProcessField.defaults(), ProcessFilter.all());
+	}
+
+	/**
+	 * Method to get new collector of processes sorted by rate. Used new system
+	 * info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE}
+	 * @return collector of processes
+	 */
+	public static ProcessInfo getProcessesRateInfo(SystemInfo _systemInfo, int _processesCount,
+			ProcessField _rateSort) {
+		return new ProcessInfo(_systemInfo, _processesCount, _rateSort, ProcessField.defaults(),
+				ProcessFilter.all());
+	}
+
+	/**
+	 * Method to get builded informations of processes accepted by filter with
+	 * selected fields only.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @param _filter
+	 *            - filter of processes e.g.
+	 *            ProcessFilter.user("svc").and(ProcessFilter.nameGlob("java*"))
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfo(ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		return CollectionCoalescer.collect(
+				CollectionCoalescer.key("PROCESSES", _processSort, _processesCount, _fields, _filter),
+				() -> new ProcessInfo(_processSort, _processesCount, _fields, _filter).buildSoftware());
+	}
+
+	/**
+	 * Method to get builded informations of processes accepted by filter with
+	 * selected fields only. Used new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @param _filter
+	 *            - filter of processes
+	 * @return informations of processes
+	 */
+	public static Process getProcessesInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		return new ProcessInfo(_systemInfo, _processSort, _processesCount, _fields, _filter).buildSoftware();
+	}
+
+	/**
+	 * Method to get builded informations of processes read directly from /proc
+	 * by parallel scan. Faster than {@link #getProcessesInfo(ProcessSort, int,
+	 * EnumSet, ProcessFilter)} when there are many processes, works only on
+	 * Linux.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @param _filter
+	 *            - filter of processes
+	 * @return informations of processes
+	 */
+	public static Process getLinuxProcessesInfo(ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		return CollectionCoalescer.collect(
+				CollectionCoalescer.key("LINUX_PROCESSES", _processSort, _processesCount, _fields, _filter),
+				() -> new LinuxProcessInfo(_processSort, _processesCount, _fields, _filter).buildSoftware());
+	}
+
+	/**
+	 * Method to get builded informations of processes read directly from /proc
+	 * by parallel scan. Used new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields of processes to build
+	 * @param _filter
+	 *            - filter of processes
+	 * @return informations of processes
+	 */
+	public static Process getLinuxProcessesInfo(SystemInfo _systemInfo, ProcessSort _processSort,
+			int _processesCount, EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		return new LinuxProcessInfo(_systemInfo, _processSort, _processesCount, _fields, _filter).buildSoftware();
+	}
+
 	/**
 	 * Method to get builded informations of processes.
 	 * 
 	 * @param processSort
-	 *            type of sorting processes. There are 7 types of sorting in
+	 *            type of sorting processes. There are 8 types of sorting in
 	 *            String representation which are only valid to use:
 	 * 
 	 *            <pre>
 	 *            "-cpu" - sorting by cpu usage
+	 *            "-io" - sorting by I/O throughput since start of processes
 	 *            "-memory" - sorting by memory usage
 	 *            "-name" - sorting by name
 	 *            "-new" - sorting by newest
@@ -274,33 +573,21 @@ public class PCDetailsFactory {
 	public static Process getProcessesInfo(String _processSort, int _processesCount) {
 		switch (_processSort) {
 		case "-cpu":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.CPU, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.CPU);
+		case "-io":
+			return getProcessesInfoByRate(_processesCount, ProcessField.IO_RATE);
 		case "-memory":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.MEMORY, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.MEMORY);
 		case "-name":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.NAME, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.NAME);
 		case "-new":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.NEWEST, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.NEWEST);
 		case "-old":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.OLDEST, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.OLDEST);
 		case "-parent":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.PARENTPID, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.PARENTPID);
 		case "-id":
-			return (Process) DeviceFactory
-					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.PID, _processesCount)
-					.buildSoftware();
+			return getProcessesInfo(_processesCount, ProcessSort.PID);
 		default:
 			throw new IllegalArgumentException("Wrong sorting type parameter!");
 		}
@@ -311,11 +598,12 @@ public class PCDetailsFactory {
 	 * 
 	 * @param _systemInfo
 	 * @param processSort
-	 *            type of sorting processes. There are 7 types of sorting in
+	 *            type of sorting processes. There are 8 types of sorting in
 	 *            String representation which are only valid to use:
 	 * 
 	 *            <pre>
 	 *            "-cpu" - sorting by cpu usage
+	 *            "-io" - sorting by I/O throughput since start of processes
 	 *            "-memory" - sorting by memory usage
 	 *            "-name" - sorting by name
 	 *            "-new" - sorting by newest
@@ -335,6 +623,8 @@ public class PCDetailsFactory {
 			return (Process) DeviceFactory
 					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.CPU, _processesCount)
 					.buildSoftware();
+		case "-io":
+			return getProcessesInfoByRate(_systemInfo, _processesCount, ProcessField.IO_RATE);
 		case "-memory":
 			return (Process) DeviceFactory
 					.getSoftware(DeviceFactory.SoftwareType.PROCESSES, ProcessSort.MEMORY, _processesCount)
@@ -365,11 +655,153 @@ public class PCDetailsFactory {
 	}
 
 	/**
-	 * Method to get system info object from OSHI API.
+	 * Method to get table of all processes kept in columns.
+	 * 
+	 * @return table of processes
+	 */
+	public static ProcessTable getProcessTable() {
+		return CollectionCoalescer.collect("PROCESS_TABLE", () -> new ProcessTableInfo().buildSoftware());
+	}
+
+	/**
+	 * Method to get table of all processes kept in columns. Used new system
+	 * info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @return table of processes
+	 */
+	public static ProcessTable getProcessTable(SystemInfo _systemInfo) {
+		return new ProcessTableInfo(_systemInfo).buildSoftware();
+	}
+
+	/**
+	 * Method to get tree of all processes with totals of every subtree.
+	 * 
+	 * @return tree of processes
+	 */
+	public static ProcessTree getProcessTree() {
+		return new ProcessTree(getProcessesInfo());
+	}
+
+	/**
+	 * Method to get tree of all processes with totals of every subtree. Used
+	 * new system info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @return tree of processes
+	 */
+	public static ProcessTree getProcessTree(SystemInfo _systemInfo) {
+		return new ProcessTree(getProcessesInfo(_systemInfo));
+	}
+
+	/**
+	 * Method to get all components collected at the same time. Every
+	 * component is collected as separate task of {@link CollectorRuntime}.
+	 * On Java 21+ every task gets its own virtual thread, so whole snapshot
+	 * takes as long as the slowest component. On older Java snapshot is
+	 * bounded by fixed pool of collectors, with fewer threads than components
+	 * (e.g. less than 10 processors) some components wait for others, see
+	 * {@link CollectorRuntime#THREADS_PROPERTY}.
+	 * 
+	 * @return snapshot of all components
+	 */
+	public static SystemSnapshot getSystemSnapshot() {
+		return CollectionCoalescer.collect("SNAPSHOT",
+				() -> getSystemSnapshot(getSystemInfo(), DEFAULT_SNAPSHOT_TIMEOUT));
+	}
+
+	/**
+	 * Method to get all components collected at the same time. Used new system
+	 * info object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 * @return snapshot of all components
+	 */
+	public static SystemSnapshot getSystemSnapshot(SystemInfo _systemInfo) {
+		return getSystemSnapshot(_systemInfo, DEFAULT_SNAPSHOT_TIMEOUT);
+	}
+
+	/**
+	 * Method to get all components collected at the same time. Timeout is one
+	 * deadline of whole snapshot counted from the call, not time of every
+	 * component, including time components spend waiting for free thread of
+	 * {@link CollectorRuntime}. Components not collected before deadline are
+	 * cancelled and reported as errors, the same as components which failed.
+	 * 
+	 * @param _systemInfo
+	 * @param _timeout
+	 *            - time in milliseconds to wait for all components
+	 * @return snapshot of all components with errors of missing ones
+	 */
+	public static SystemSnapshot getSystemSnapshot(SystemInfo _systemInfo, long _timeout) {
+		if (_timeout <= 0) {
+			throw new IllegalArgumentException("Timeout of snapshot must be positive!");
+		}
+		long start = System.currentTimeMillis();
+		ExecutorService executor = CollectorRuntime.getExecutor();
+		Map<String, Future<Component>> futures = new LinkedHashMap<String, Future<Component>>();
+
+		for (DeviceFactory.HardwareType type : DeviceFactory.HardwareType.values()) {
+			futures.put(type.name(),
+					executor.submit(() -> DeviceFactory.getHardware(type, _systemInfo).buildHardware()));
+		}
+		for (DeviceFactory.SoftwareType type : DeviceFactory.SoftwareType.values()) {
+			futures.put(type.name(),
+					executor.submit(() -> DeviceFactory.getSoftware(type, _systemInfo).buildSoftware()));
+		}
+
+		Map<String, Component> components = new LinkedHashMap<String, Component>();
+		Map<String, String> errors = new LinkedHashMap<String, String>();
+		long deadline = start + _timeout;
+		for (Map.Entry<String, Future<Component>> future : futures.entrySet()) {
+			try {
+				long timeLeft = Math.max(0, deadline - System.currentTimeMillis());
+				components.put(future.getKey(), future.getValue().get(timeLeft, TimeUnit.MILLISECONDS));
+			} catch (TimeoutException e) {
+				future.getValue().cancel(true);
+				errors.put(future.getKey(), "Not collected in " + _timeout + "ms");
+			} catch (ExecutionException e) {
+				errors.put(future.getKey(), String.valueOf(e.getCause()));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				future.getValue().cancel(true);
+				errors.put(future.getKey(), "Interrupted");
+			}
+		}
+
+		return new SystemSnapshot(components, errors, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Method to get time in milliseconds for which components collected by
+	 * methods without system info parameter are returned again without
+	 * collecting.
+	 * 
+	 * @return freshness window in milliseconds
+	 */
+	public static long getFreshnessWindow() {
+		return CollectionCoalescer.getFreshnessWindow();
+	}
+
+	/**
+	 * Method to set time in milliseconds for which components collected by
+	 * methods without system info parameter are returned again without
+	 * collecting. Default is 0, then only calls running at the same time share
+	 * one collection.
+	 * 
+	 * @param _freshnessWindow
+	 *            - freshness window in milliseconds
+	 */
+	public static void setFreshnessWindow(long _freshnessWindow) {
+		CollectionCoalescer.setFreshnessWindow(_freshnessWindow);
+	}
+
+	/**
+	 * Method to get shared system info object from OSHI API.
 	 * 
 	 * @return system info object from OSHI API
 	 */
 	public static SystemInfo getSystemInfo() {
-		return new SystemInfo();
+		return SharedSystemInfo.get();
 	}
 }
\ No newline at end of file
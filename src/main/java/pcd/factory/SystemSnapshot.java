@@ -0,0 +1,209 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.factory;
+
+import java.util.Collections;
+import java.util.Map;
+
+import pcd.Component;
+import pcd.hardware.cpu.Cpu;
+import pcd.hardware.gpu.Gpu;
+import pcd.hardware.harddisk.Disk;
+import pcd.hardware.memory.Ram;
+import pcd.hardware.motherboard.Motherboard;
+import pcd.hardware.network.Network;
+import pcd.hardware.pressure.Pressure;
+import pcd.software.bios.Bios;
+import pcd.software.os.OperatingSystem;
+import pcd.software.processes.Process;
+
+/**
+ * Class representation of all components of machine collected at the same
+ * time. Components are kept by name of hardware or software type e.g. CPU,
+ * BIOS. Component which failed or was not collected in time is null and has
+ * error message instead.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class SystemSnapshot extends Component {
+	private static final long serialVersionUID = -5226439125431297640L;
+	private Map<String, Component> components;
+	private Map<String, String> errors;
+	private long duration;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _components
+	 *            - collected components by name of type
+	 * @param _errors
+	 *            - error messages by name of type
+	 * @param _duration
+	 *            - time of collecting in milliseconds
+	 */
+	public SystemSnapshot(Map<String, Component> _components, Map<String, String> _errors, long _duration) {
+		super(null);
+		this.components = Collections.unmodifiableMap(_components);
+		this.errors = Collections.unmodifiableMap(_errors);
+		this.duration = _duration;
+	}
+
+	/**
+	 * Method to get all collected components by name of type.
+	 * 
+	 * @return unmodifiable map of components
+	 */
+	public Map<String, Component> getComponents() {
+		return components;
+	}
+
+	/**
+	 * Method to get error messages of components which were not collected.
+	 * 
+	 * @return unmodifiable map of error messages by name of type
+	 */
+	public Map<String, String> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Method to check if all components were collected.
+	 * 
+	 * @return true if there are no errors
+	 */
+	public boolean isComplete() {
+		return errors.isEmpty();
+	}
+
+	/**
+	 * Method to get time of collecting all components in milliseconds.
+	 * 
+	 * @return duration
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Method to get processor.
+	 * 
+	 * @return processor or null if not collected
+	 */
+	public Cpu getCpu() {
+		return (Cpu) components.get(DeviceFactory.HardwareType.CPU.name());
+	}
+
+	/**
+	 * Method to get graphic cards.
+	 * 
+	 * @return graphic cards or null if not collected
+	 */
+	public Gpu getGpu() {
+		return (Gpu) components.get(DeviceFactory.HardwareType.GPU.name());
+	}
+
+	/**
+	 * Method to get memory.
+	 * 
+	 * @return memory or null if not collected
+	 */
+	public Ram getRam() {
+		return (Ram) components.get(DeviceFactory.HardwareType.RAM.name());
+	}
+
+	/**
+	 * Method to get motherboard.
+	 * 
+	 * @return motherboard or null if not collected
+	 */
+	public Motherboard getMotherboard() {
+		return (Motherboard) components.get(DeviceFactory.HardwareType.MOBO.name());
+	}
+
+	/**
+	 * Method to get hard disks.
+	 * 
+	 * @return hard disks or null if not collected
+	 */
+	public Disk getDisk() {
+		return (Disk) components.get(DeviceFactory.HardwareType.HDD.name());
+	}
+
+	/**
+	 * Method to get network.
+	 * 
+	 * @return network or null if not collected
+	 */
+	public Network getNetwork() {
+		return (Network) components.get(DeviceFactory.HardwareType.NETWORK.name());
+	}
+
+	/**
+	 * Method to get Pressure Stall Information.
+	 * 
+	 * @return pressure or null if not collected
+	 */
+	public Pressure getPressure() {
+		return (Pressure) components.get(DeviceFactory.HardwareType.PRESSURE.name());
+	}
+
+	/**
+	 * Method to get BIOS.
+	 * 
+	 * @return BIOS or null if not collected
+	 */
+	public Bios getBios() {
+		return (Bios) components.get(DeviceFactory.SoftwareType.BIOS.name());
+	}
+
+	/**
+	 * Method to get operating system.
+	 * 
+	 * @return operating system or null if not collected
+	 */
+	public OperatingSystem getOperatingSystem() {
+		return (OperatingSystem) components.get(DeviceFactory.SoftwareType.OS.name());
+	}
+
+	/**
+	 * Method to get processes.
+	 * 
+	 * @return processes or null if not collected
+	 */
+	public Process getProcesses() {
+		return (Process) components.get(DeviceFactory.SoftwareType.PROCESSES.name());
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("==== System Snapshot ====");
+
+		sb.append("\nSnapshot Duration: ");
+		sb.append(getDuration());
+		sb.append("ms");
+		components.forEach((type, component) -> {
+			sb.append("\n");
+			sb.append(component.componentAsString());
+		});
+		errors.forEach((type, error) -> {
+			sb.append("\nSnapshot Error ");
+			sb.append(type);
+			sb.append(": ");
+			sb.append(error);
+		});
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -14,10 +14,13 @@
  */
 package pcd.hardware;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import oshi.SystemInfo;
 import oshi.hardware.HardwareAbstractionLayer;
+import pcd.Component;
 import pcd.PcdInfo;
 
 /**
@@ -60,4 +63,26 @@ public abstract class HardwareAbstract extends PcdInfo {
 	public HardwareAbstractionLayer getHardwareAbstractionLayer() {
 		return hardwareAbstractionLayer;
 	}
+
+	/**
+	 * Method to check if both lists have components with the same ids in the
+	 * same order e.g. if kept identities still match current devices.
+	 * 
+	 * @param _components
+	 * @param _otherComponents
+	 * @return true if ids are the same
+	 */
+	protected static boolean sameIds(List<? extends Component> _components,
+			List<? extends Component> _otherComponents) {
+		if (_components.size() != _otherComponents.size()) {
+			return false;
+		}
+		for (int i = 0; i < _components.size(); i++) {
+			if (!Objects.equals(_components.get(i).getId(), _otherComponents.get(i).getId())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
 }
\ No newline at end of file
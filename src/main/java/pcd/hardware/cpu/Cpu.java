@@ -29,9 +29,11 @@ public final class Cpu extends Component {
 			cpuSystemUptime, cpuLoadBetweenTicks, cpuL3CacheSize, cpuL2CacheSize, cpuCurrentClock, cpuBusSpeed;
 	private int cpuThread, cpuCore;
 	private TreeMap<String, String> cpuTicks, cpuLoad;
+	private double[][] cpuCoreTicks;
+	private transient Integer cpuCurrentClockMhz;
 
 	/**
-	 * Default constructor.
+	 * Default constructor without per-core ticks breakdown.
 	 * 
 	 * @param _id
 	 * @param _cpuName
@@ -57,6 +59,39 @@ public final class Cpu extends Component {
 			String _cpuL3CacheSize, String _cpuL2CacheSize, String _cpuCurrentClock, String _cpuBusSpeed,
 			int _cpuThread, int _cpuCore, String _cpuBaseClock, TreeMap<String, String> _cpuTicks,
 			TreeMap<String, String> _cpuLoad) {
+		this(_id, _cpuName, _cpuModel, _cpuFamily, _cpuIdentifier, _cpuStepping, _cpuManufacturer, _cpuSystemUptime,
+				_cpuLoadBetweenTicks, _cpuL3CacheSize, _cpuL2CacheSize, _cpuCurrentClock, _cpuBusSpeed, _cpuThread,
+				_cpuCore, _cpuBaseClock, _cpuTicks, _cpuLoad, new double[0][]);
+	}
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _cpuName
+	 * @param _cpuModel
+	 * @param _cpuFamily
+	 * @param _cpuIdentifier
+	 * @param _cpuStepping
+	 * @param _cpuManufacturer
+	 * @param _cpuSystemUptime
+	 * @param _cpuLoadBetweenTicks
+	 * @param _cpuL3CacheSize
+	 * @param _cpuL2CacheSize
+	 * @param _cpuCurrentClock
+	 * @param _cpuBusSpeed
+	 * @param _cpuThread
+	 * @param _cpuCore
+	 * @param _cpuBaseClock
+	 * @param _cpuTicks
+	 * @param _cpuLoad
+	 * @param _cpuCoreTicks
+	 */
+	public Cpu(String _id, String _cpuName, String _cpuModel, String _cpuFamily, String _cpuIdentifier,
+			String _cpuStepping, String _cpuManufacturer, String _cpuSystemUptime, String _cpuLoadBetweenTicks,
+			String _cpuL3CacheSize, String _cpuL2CacheSize, String _cpuCurrentClock, String _cpuBusSpeed,
+			int _cpuThread, int _cpuCore, String _cpuBaseClock, TreeMap<String, String> _cpuTicks,
+			TreeMap<String, String> _cpuLoad, double[][] _cpuCoreTicks) {
 		super(_id);
 		this.cpuName = _cpuName;
 		this.cpuModel = _cpuModel;
@@ -75,6 +110,7 @@ public final class Cpu extends Component {
 		this.cpuBaseClock = _cpuBaseClock;
 		this.cpuTicks = _cpuTicks;
 		this.cpuLoad = _cpuLoad;
+		this.cpuCoreTicks = _cpuCoreTicks;
 	}
 
 	/**
@@ -313,12 +349,37 @@ public final class Cpu extends Component {
 		this.cpuLoad = _cpuLoad;
 	}
 
+	/**
+	 * Method to get usage of every tick type for every logical processor. Rows
+	 * are logical processors, columns are indexed by tick type index of OSHI
+	 * API (USER, NICE, SYSTEM, IDLE, IOWAIT, IRQ, SOFTIRQ, STEAL). Values are
+	 * fractions between 0 and 1.
+	 * 
+	 * @return matrix of tick types usage
+	 */
+	public double[][] getCpuCoreTicks() {
+		return cpuCoreTicks;
+	}
+
+	/**
+	 * Method to set usage of every tick type for every logical processor.
+	 * 
+	 * @param _cpuCoreTicks
+	 */
+	public void setCpuCoreTicks(double[][] _cpuCoreTicks) {
+		this.cpuCoreTicks = _cpuCoreTicks;
+	}
+
 	/**
 	 * Method to get processor L3 cache.
 	 * 
-	 * @return L3 cache
+	 * @return L3 cache or null if not built
 	 */
 	public String getCpuL3CacheSize() {
+		if (cpuL3CacheSize == null) {
+			return null;
+		}
+
 		return FormatUtil.toBytes(FormatUtil.kbToMb(Integer.valueOf(cpuL3CacheSize)));
 	}
 
@@ -334,9 +395,13 @@ public final class Cpu extends Component {
 	/**
 	 * Method to get processor L2 cache.
 	 * 
-	 * @return L2 cache
+	 * @return L2 cache or null if not built
 	 */
 	public String getCpuL2CacheSize() {
+		if (cpuL2CacheSize == null) {
+			return null;
+		}
+
 		return FormatUtil.toBytes(FormatUtil.kbToMb(Integer.valueOf(cpuL2CacheSize)));
 	}
 
@@ -353,10 +418,14 @@ public final class Cpu extends Component {
 	 * Method to get processor actual clock. If processor is overclocked it
 	 * return overclocked value.
 	 * 
-	 * @return current frequency
+	 * @return current frequency or null if not built
 	 */
 	public String getCpuCurrentClock() {
-		return FormatUtil.toHertz(FormatUtil.mHzToLong(Integer.valueOf(cpuCurrentClock)));
+		if (cpuCurrentClock == null) {
+			return null;
+		}
+
+		return FormatUtil.toHertz(FormatUtil.mHzToLong(currentClockMhz()));
 	}
 
 	/**
@@ -367,6 +436,7 @@ public final class Cpu extends Component {
 	 */
 	public void setCpuCurrentClock(String _cpuCurrentClock) {
 		this.cpuCurrentClock = _cpuCurrentClock;
+		this.cpuCurrentClockMhz = null;
 	}
 
 	/**
@@ -390,10 +460,29 @@ public final class Cpu extends Component {
 	/**
 	 * Method to get processor frequency multiplier.
 	 * 
-	 * @return frequency multiplier
+	 * @return frequency multiplier or 0 if current clock or bus speed is not
+	 *         built
 	 */
 	public double getCpuMultiplier() {
-		return Double.valueOf(FormatUtil.divide(Double.valueOf(cpuCurrentClock), Double.valueOf(getCpuBusSpeed())));
+		if (cpuCurrentClock == null || getCpuBusSpeed() == null) {
+			return 0;
+		}
+
+		return Double.valueOf(FormatUtil.divide(currentClockMhz(), Double.valueOf(getCpuBusSpeed())));
+	}
+
+	/**
+	 * Method to get processor actual clock in megahertz. Value is parsed once
+	 * and kept until clock is changed.
+	 * 
+	 * @return current frequency in megahertz
+	 */
+	private int currentClockMhz() {
+		if (cpuCurrentClockMhz == null) {
+			cpuCurrentClockMhz = Integer.valueOf(cpuCurrentClock);
+		}
+
+		return cpuCurrentClockMhz;
 	}
 
 	@Override
@@ -435,19 +524,23 @@ public final class Cpu extends Component {
 		sb.append("\nCPU Usage: ");
 		sb.append(getCpuLoadBetweenTicks());
 		sb.append("\nCPU Cores Usage: ");
-		getCpuLoad().entrySet().forEach(x -> {
-			sb.append("\n  ");
-			sb.append(x.getKey());
-			sb.append(": ");
-			sb.append(x.getValue());
-		});
+		if (getCpuLoad() != null) {
+			getCpuLoad().entrySet().forEach(x -> {
+				sb.append("\n  ");
+				sb.append(x.getKey());
+				sb.append(": ");
+				sb.append(x.getValue());
+			});
+		}
 		sb.append("\nCPU Ticks Usage: ");
-		getCpuTicks().entrySet().forEach(x -> {
-			sb.append("\n  ");
-			sb.append(x.getKey());
-			sb.append(": ");
-			sb.append(x.getValue());
-		});
+		if (getCpuTicks() != null) {
+			getCpuTicks().entrySet().forEach(x -> {
+				sb.append("\n  ");
+				sb.append(x.getKey());
+				sb.append(": ");
+				sb.append(x.getValue());
+			});
+		}
 
 		return sb.toString();
 	}
@@ -0,0 +1,316 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import pcd.Component;
+
+/**
+ * Class representation of processor identity which does not change while
+ * system is running. Should be collected once and sent before
+ * {@link CpuSample} objects.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuDescriptor extends Component {
+	private static final long serialVersionUID = -1580270741338236316L;
+	private String name, model, family, identifier, stepping, manufacturer, baseClock, l3CacheSize, l2CacheSize,
+			busSpeed;
+	private int threads, cores;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _name
+	 * @param _model
+	 * @param _family
+	 * @param _identifier
+	 * @param _stepping
+	 * @param _manufacturer
+	 * @param _baseClock
+	 * @param _l3CacheSize
+	 * @param _l2CacheSize
+	 * @param _busSpeed
+	 * @param _threads
+	 * @param _cores
+	 */
+	public CpuDescriptor(String _id, String _name, String _model, String _family, String _identifier, String _stepping,
+			String _manufacturer, String _baseClock, String _l3CacheSize, String _l2CacheSize, String _busSpeed,
+			int _threads, int _cores) {
+		super(_id);
+		this.name = _name;
+		this.model = _model;
+		this.family = _family;
+		this.identifier = _identifier;
+		this.stepping = _stepping;
+		this.manufacturer = _manufacturer;
+		this.baseClock = _baseClock;
+		this.l3CacheSize = _l3CacheSize;
+		this.l2CacheSize = _l2CacheSize;
+		this.busSpeed = _busSpeed;
+		this.threads = _threads;
+		this.cores = _cores;
+	}
+
+	/**
+	 * Method to get processor name.
+	 * 
+	 * @return name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Method to set processor name.
+	 * 
+	 * @param _name
+	 */
+	public void setName(String _name) {
+		this.name = _name;
+	}
+
+	/**
+	 * Method to get processor model.
+	 * 
+	 * @return model
+	 */
+	public String getModel() {
+		return model;
+	}
+
+	/**
+	 * Method to set processor model.
+	 * 
+	 * @param _model
+	 */
+	public void setModel(String _model) {
+		this.model = _model;
+	}
+
+	/**
+	 * Method to get processor family.
+	 * 
+	 * @return family
+	 */
+	public String getFamily() {
+		return family;
+	}
+
+	/**
+	 * Method to set processor family.
+	 * 
+	 * @param _family
+	 */
+	public void setFamily(String _family) {
+		this.family = _family;
+	}
+
+	/**
+	 * Method to get processor identifier.
+	 * 
+	 * @return identifier
+	 */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * Method to set processor identifier.
+	 * 
+	 * @param _identifier
+	 */
+	public void setIdentifier(String _identifier) {
+		this.identifier = _identifier;
+	}
+
+	/**
+	 * Method to get processor stepping.
+	 * 
+	 * @return stepping
+	 */
+	public String getStepping() {
+		return stepping;
+	}
+
+	/**
+	 * Method to set processor stepping.
+	 * 
+	 * @param _stepping
+	 */
+	public void setStepping(String _stepping) {
+		this.stepping = _stepping;
+	}
+
+	/**
+	 * Method to get processor manufacturer.
+	 * 
+	 * @return manufacturer
+	 */
+	public String getManufacturer() {
+		return manufacturer;
+	}
+
+	/**
+	 * Method to set processor manufacturer.
+	 * 
+	 * @param _manufacturer
+	 */
+	public void setManufacturer(String _manufacturer) {
+		this.manufacturer = _manufacturer;
+	}
+
+	/**
+	 * Method to get base clock of processor from manufacturer.
+	 * 
+	 * @return baseClock
+	 */
+	public String getBaseClock() {
+		return baseClock;
+	}
+
+	/**
+	 * Method to set base clock of processor from manufacturer.
+	 * 
+	 * @param _baseClock
+	 */
+	public void setBaseClock(String _baseClock) {
+		this.baseClock = _baseClock;
+	}
+
+	/**
+	 * Method to get size of L3 cache.
+	 * 
+	 * @return l3CacheSize
+	 */
+	public String getL3CacheSize() {
+		return l3CacheSize;
+	}
+
+	/**
+	 * Method to set size of L3 cache.
+	 * 
+	 * @param _l3CacheSize
+	 */
+	public void setL3CacheSize(String _l3CacheSize) {
+		this.l3CacheSize = _l3CacheSize;
+	}
+
+	/**
+	 * Method to get size of L2 cache.
+	 * 
+	 * @return l2CacheSize
+	 */
+	public String getL2CacheSize() {
+		return l2CacheSize;
+	}
+
+	/**
+	 * Method to set size of L2 cache.
+	 * 
+	 * @param _l2CacheSize
+	 */
+	public void setL2CacheSize(String _l2CacheSize) {
+		this.l2CacheSize = _l2CacheSize;
+	}
+
+	/**
+	 * Method to get bus speed.
+	 * 
+	 * @return busSpeed
+	 */
+	public String getBusSpeed() {
+		return busSpeed;
+	}
+
+	/**
+	 * Method to set bus speed.
+	 * 
+	 * @param _busSpeed
+	 */
+	public void setBusSpeed(String _busSpeed) {
+		this.busSpeed = _busSpeed;
+	}
+
+	/**
+	 * Method to get number of logical processors.
+	 * 
+	 * @return threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Method to set number of logical processors.
+	 * 
+	 * @param _threads
+	 */
+	public void setThreads(int _threads) {
+		this.threads = _threads;
+	}
+
+	/**
+	 * Method to get number of physical cores.
+	 * 
+	 * @return cores
+	 */
+	public int getCores() {
+		return cores;
+	}
+
+	/**
+	 * Method to set number of physical cores.
+	 * 
+	 * @param _cores
+	 */
+	public void setCores(int _cores) {
+		this.cores = _cores;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== CPU Descriptor ===");
+
+		sb.append("\nCPU Processor ID: ");
+		sb.append(getId());
+		sb.append("\nCPU Name: ");
+		sb.append(getName());
+		sb.append("\nCPU Model: ");
+		sb.append(getModel());
+		sb.append("\nCPU Family: ");
+		sb.append(getFamily());
+		sb.append("\nCPU Identifier: ");
+		sb.append(getIdentifier());
+		sb.append("\nCPU Stepping: ");
+		sb.append(getStepping());
+		sb.append("\nCPU Manufacturer: ");
+		sb.append(getManufacturer());
+		sb.append("\nCPU Base Clock: ");
+		sb.append(getBaseClock());
+		sb.append("\nCPU L3 Cache: ");
+		sb.append(getL3CacheSize());
+		sb.append("\nCPU L2 Cache: ");
+		sb.append(getL2CacheSize());
+		sb.append("\nCPU Bus Speed: ");
+		sb.append(getBusSpeed());
+		sb.append("\nCPU Threads: ");
+		sb.append(getThreads());
+		sb.append("\nCPU Cores: ");
+		sb.append(getCores());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import pcd.SharedSystemInfo;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to sample current frequency of every logical processor from cpufreq
+ * on Linux. Frequencies are kept in kilohertz like in
+ * /sys/devices/system/cpu/cpu*&#47;cpufreq/scaling_cur_freq. Besides the last
+ * sample, sampler counts how many samples of the window were below base clock
+ * for every processor.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuFrequencySampler {
+	/**
+	 * Default time between two samples in milliseconds.
+	 */
+	public static final long DEFAULT_SAMPLING_PERIOD = 1000;
+	/**
+	 * Default number of samples used to count throttled time.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 60;
+	private static final String CPU_PATH = "/sys/devices/system/cpu/cpu";
+	private static final String CPUFREQ_PATH = "/cpufreq/";
+	private static final long UNAVAILABLE_RECHECK_PERIOD = 60000;
+	private static CpuFrequencySampler instance = null;
+	private final ProcFileReader[] readers;
+	private final long[] frequencies, baseFrequencies, sampleFrequencies, recheckTimes;
+	private final boolean[][] throttledWindow;
+	private final int[] throttledCount;
+	private final int windowSize;
+	private int windowPosition = 0, windowFilled = 0;
+	private long timeStamp;
+	private ScheduledExecutorService executor = null;
+	private ScheduledFuture<?> samplingTask = null;
+	private long samplingPeriod;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _processorCount
+	 *            - number of logical processors to sample
+	 * @param _baseFrequency
+	 *            - base clock in kilohertz used for processors which do not
+	 *            report base_frequency or 0 to leave it unknown
+	 * @param _samplingPeriod
+	 *            - time between two samples in milliseconds
+	 * @param _windowSize
+	 *            - number of samples used to count throttled time
+	 */
+	public CpuFrequencySampler(int _processorCount, long _baseFrequency, long _samplingPeriod, int _windowSize) {
+		this.readers = new ProcFileReader[_processorCount];
+		this.frequencies = new long[_processorCount];
+		this.baseFrequencies = new long[_processorCount];
+		this.sampleFrequencies = new long[_processorCount];
+		this.recheckTimes = new long[_processorCount];
+		this.windowSize = Math.max(1, _windowSize);
+		this.throttledWindow = new boolean[_processorCount][windowSize];
+		this.throttledCount = new int[_processorCount];
+		this.samplingPeriod = _samplingPeriod;
+
+		ProcFileReader reader = new ProcFileReader();
+		for (int cpu = 0; cpu < _processorCount; cpu++) {
+			String cpufreq = CPU_PATH + cpu + CPUFREQ_PATH;
+			readers[cpu] = new ProcFileReader(cpufreq + "scaling_cur_freq", 64);
+			baseFrequencies[cpu] = readFrequency(reader, cpufreq + "base_frequency");
+			if (baseFrequencies[cpu] <= 0) {
+				baseFrequencies[cpu] = Math.max(0, _baseFrequency);
+			}
+		}
+		sample();
+		if (isAvailable()) {
+			start();
+		}
+	}
+
+	/**
+	 * Method to get process-wide sampler. Sampler is started with default
+	 * sampling period and window on first use and covers every possible
+	 * logical processor, not only the ones available to this process.
+	 * 
+	 * @return process-wide sampler
+	 */
+	public static synchronized CpuFrequencySampler getInstance() {
+		if (instance == null) {
+			int processorCount = CpuTopologyInfo.possibleProcessorCount(new ProcFileReader(),
+					SharedSystemInfo.getHardware().getProcessor().getLogicalProcessorCount());
+			instance = new CpuFrequencySampler(processorCount, 0, DEFAULT_SAMPLING_PERIOD, DEFAULT_WINDOW_SIZE);
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Method to check if cpufreq is available on this system.
+	 * 
+	 * @return true if current frequency of first processor is readable
+	 */
+	public static boolean isAvailable() {
+		return new File(CPU_PATH + 0 + CPUFREQ_PATH + "scaling_cur_freq").canRead();
+	}
+
+	/**
+	 * Method to get number of sampled logical processors.
+	 * 
+	 * @return logical processors count
+	 */
+	public int getProcessorCount() {
+		return frequencies.length;
+	}
+
+	/**
+	 * Method to fill array with last sampled frequency of every logical
+	 * processor in kilohertz. Processors with unknown frequency are 0. Array
+	 * may be reused between calls.
+	 * 
+	 * @param _frequencies
+	 *            - array of at least logical processors count size to fill
+	 * @return filled array
+	 */
+	public synchronized long[] fillFrequencies(long[] _frequencies) {
+		System.arraycopy(frequencies, 0, _frequencies, 0, frequencies.length);
+
+		return _frequencies;
+	}
+
+	/**
+	 * Method to get base clock of logical processor in kilohertz.
+	 * 
+	 * @param _processor
+	 * @return base clock or 0 if unknown
+	 */
+	public long getBaseFrequency(int _processor) {
+		return baseFrequencies[_processor];
+	}
+
+	/**
+	 * Method to get lowest last sampled frequency in kilohertz.
+	 * 
+	 * @return lowest frequency or 0 if unknown
+	 */
+	public synchronized long getMinFrequency() {
+		long min = Long.MAX_VALUE;
+		for (long frequency : frequencies) {
+			if (frequency > 0 && frequency < min) {
+				min = frequency;
+			}
+		}
+
+		return min == Long.MAX_VALUE ? 0 : min;
+	}
+
+	/**
+	 * Method to get highest last sampled frequency in kilohertz.
+	 * 
+	 * @return highest frequency or 0 if unknown
+	 */
+	public synchronized long getMaxFrequency() {
+		long max = 0;
+		for (long frequency : frequencies) {
+			max = Math.max(max, frequency);
+		}
+
+		return max;
+	}
+
+	/**
+	 * Method to get average of last sampled frequencies in kilohertz.
+	 * Processors with unknown frequency are skipped.
+	 * 
+	 * @return average frequency or 0 if unknown
+	 */
+	public synchronized long getAverageFrequency() {
+		long sum = 0;
+		int count = 0;
+		for (long frequency : frequencies) {
+			if (frequency > 0) {
+				sum += frequency;
+				count++;
+			}
+		}
+
+		return count > 0 ? sum / count : 0;
+	}
+
+	/**
+	 * Method to fill array with share of samples in window when every logical
+	 * processor was below its base clock. Processors without base_frequency
+	 * have unknown share, because cpuinfo_max_freq is turbo clock on
+	 * intel_pstate and amd-pstate. Array may be reused between calls.
+	 * 
+	 * @param _shares
+	 *            - array of at least logical processors count size to fill
+	 * @return filled array of fractions between 0 and 1, -1 if unknown
+	 */
+	public synchronized double[] fillThrottledShares(double[] _shares) {
+		for (int cpu = 0; cpu < throttledCount.length; cpu++) {
+			if (baseFrequencies[cpu] <= 0) {
+				_shares[cpu] = -1;
+				continue;
+			}
+			_shares[cpu] = windowFilled > 0 ? (double) throttledCount[cpu] / windowFilled : 0d;
+		}
+
+		return _shares;
+	}
+
+	/**
+	 * Method to get time stamp of the last sample in milliseconds.
+	 * 
+	 * @return time stamp of the last sample
+	 */
+	public synchronized long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time between two samples in milliseconds. Sampling is
+	 * rescheduled with the new period.
+	 * 
+	 * @param _samplingPeriod
+	 */
+	public synchronized void setSamplingPeriod(long _samplingPeriod) {
+		if (_samplingPeriod <= 0) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + _samplingPeriod);
+		}
+		this.samplingPeriod = _samplingPeriod;
+		if (samplingTask != null) {
+			samplingTask.cancel(false);
+			samplingTask = executor.scheduleAtFixedRate(this::sample, samplingPeriod, samplingPeriod,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Method to start sampling in background. Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if (samplingTask != null) {
+			return;
+		}
+		if (executor == null) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "pcd-cpu-frequency-sampler");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		samplingTask = executor.scheduleAtFixedRate(this::sample, samplingPeriod, samplingPeriod,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Method to stop sampling in background. Last sample stays readable.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		executor = null;
+		samplingTask = null;
+		for (ProcFileReader reader : readers) {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Method to take one sample of current frequencies. Files are read without
+	 * holding lock of sampler, so getters wait only for publishing of sample.
+	 * Runtime exception would cancel scheduled sampling, so failed sample is
+	 * skipped and last good sample stays readable.
+	 */
+	private void sample() {
+		try {
+			readFrequencies();
+		} catch (RuntimeException e) {
+			return;
+		}
+
+		synchronized (this) {
+			for (int cpu = 0; cpu < frequencies.length; cpu++) {
+				long frequency = sampleFrequencies[cpu];
+				frequencies[cpu] = frequency;
+
+				boolean throttled = frequency > 0 && frequency < baseFrequencies[cpu];
+				if (windowFilled == windowSize && throttledWindow[cpu][windowPosition]) {
+					throttledCount[cpu]--;
+				}
+				throttledWindow[cpu][windowPosition] = throttled;
+				if (throttled) {
+					throttledCount[cpu]++;
+				}
+			}
+			windowPosition = (windowPosition + 1) % windowSize;
+			windowFilled = Math.min(windowSize, windowFilled + 1);
+			timeStamp = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Method to read current frequencies into sample array. Processor which
+	 * can not be read e.g. offline or removed one is unknown and is not read
+	 * again until recheck period passes.
+	 */
+	private void readFrequencies() {
+		long now = System.currentTimeMillis();
+
+		for (int cpu = 0; cpu < readers.length; cpu++) {
+			if (now < recheckTimes[cpu]) {
+				sampleFrequencies[cpu] = 0;
+				continue;
+			}
+			try {
+				readers[cpu].read();
+				sampleFrequencies[cpu] = readers[cpu].nextLong();
+				recheckTimes[cpu] = 0;
+			} catch (IOException e) {
+				readers[cpu].close();
+				sampleFrequencies[cpu] = 0;
+				recheckTimes[cpu] = now + UNAVAILABLE_RECHECK_PERIOD;
+			}
+		}
+	}
+
+	/**
+	 * Method to read frequency in kilohertz from cpufreq file.
+	 * 
+	 * @param _reader
+	 * @param _path
+	 * @return frequency or 0 if file can not be read
+	 */
+	private static long readFrequency(ProcFileReader _reader, String _path) {
+		try {
+			_reader.read(_path);
+			return _reader.nextLong();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+}
\ No newline at end of file
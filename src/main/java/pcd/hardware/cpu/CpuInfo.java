@@ -14,15 +14,18 @@
  */
 package pcd.hardware.cpu;
 
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.TreeMap;
 
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.CentralProcessor.TickType;
-import oshi.util.Util;
+import pcd.Refreshable;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
 import pcd.util.FormatUtil;
+import pcd.util.HardwareInfoCache;
 
 /**
  * Class to build processor informations. Should be use as command to build
@@ -30,45 +33,219 @@ import pcd.util.FormatUtil;
  * 
  * @author Mateusz Mucha
  */
-public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu> {
+public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>, Refreshable<Cpu> {
+	private static CpuDescriptor descriptor = null;
+	private final EnumSet<CpuMetric> metrics;
+
+	/**
+	 * Enumerate type represents source of processor ticks.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public enum CollectionMode {
+		/**
+		 * Ticks are read through CentralProcessor of OSHI API.
+		 */
+		OSHI,
+		/**
+		 * Ticks are parsed directly from /proc/stat on Linux with no allocation.
+		 * Falls back to OSHI if file is not available.
+		 */
+		PROC_STAT;
+	}
+
 	/**
-	 * Default constructor.
+	 * Default constructor. All fields of processor are built.
 	 */
 	public CpuInfo() {
-		super(org.jutils.jhardware.HardwareInfo.getProcessorInfo().getFullInfo());
+		this(EnumSet.allOf(CpuMetric.class));
 	}
 
 	/**
-	 * Constructor with new SystemInfo object of OSHI API.
+	 * Constructor with new SystemInfo object of OSHI API. All fields of
+	 * processor are built.
 	 * 
 	 * @param _systemInfo
 	 *            - system info object of OSHI API
 	 */
 	public CpuInfo(SystemInfo _systemInfo) {
-		super(_systemInfo, org.jutils.jhardware.HardwareInfo.getProcessorInfo().getFullInfo());
+		this(_systemInfo, EnumSet.allOf(CpuMetric.class));
+	}
+
+	/**
+	 * Constructor with selected fields of processor to build.
+	 * 
+	 * @param _metrics
+	 *            - fields to build, other fields stay empty
+	 */
+	public CpuInfo(EnumSet<CpuMetric> _metrics) {
+		super(details(_metrics));
+		this.metrics = EnumSet.copyOf(_metrics);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API and selected fields of
+	 * processor to build.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _metrics
+	 *            - fields to build, other fields stay empty
+	 */
+	public CpuInfo(SystemInfo _systemInfo, EnumSet<CpuMetric> _metrics) {
+		super(_systemInfo, details(_metrics));
+		this.metrics = EnumSet.copyOf(_metrics);
+	}
+
+	/**
+	 * Method to get details of jHardware API only if selected fields need them.
+	 * 
+	 * @param _metrics
+	 * @return map of details or null if not needed
+	 */
+	private static Map<String, String> details(EnumSet<CpuMetric> _metrics) {
+		if (_metrics == null) {
+			throw new IllegalArgumentException("Fields of processor can not be null!");
+		}
+		for (CpuMetric metric : CpuMetric.DETAILS) {
+			if (_metrics.contains(metric)) {
+				return HardwareInfoCache.get(HardwareInfoCache.Type.PROCESSOR);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Method to get selected fields of processor.
+	 * 
+	 * @return fields to build
+	 */
+	public EnumSet<CpuMetric> getMetrics() {
+		return EnumSet.copyOf(metrics);
+	}
+
+	/**
+	 * Method to get source of processor ticks used by all processor
+	 * informations.
+	 * 
+	 * @return source of processor ticks
+	 */
+	public static CollectionMode getCollectionMode() {
+		return CpuTickSampler.getInstance().getCollectionMode();
+	}
+
+	/**
+	 * Method to set source of processor ticks used by all processor
+	 * informations.
+	 * 
+	 * @param _collectionMode
+	 */
+	public static void setCollectionMode(CollectionMode _collectionMode) {
+		CpuTickSampler.getInstance().setCollectionMode(_collectionMode);
 	}
 
 	public Cpu buildHardware() {
 		CentralProcessor _cpu = getHardwareAbstractionLayer().getProcessor();
 
-		return new Cpu(_cpu.getProcessorID(), _cpu.getName(), _cpu.getModel(), _cpu.getFamily(), _cpu.getIdentifier(),
-				_cpu.getStepping(), _cpu.getVendor(), FormatUtil.elapsedTime(_cpu.getSystemUptime()),
-				cpuLoadBetweenTicks(_cpu), l3CacheSize(), l2CacheSize(), maxClockSpeed(), busSpeed(),
-				_cpu.getLogicalProcessorCount(), _cpu.getPhysicalProcessorCount(),
-				FormatUtil.toHertz(_cpu.getVendorFreq()), tickProcessor(_cpu), cpuLoad(_cpu));
+		return new Cpu(_cpu.getProcessorID(), has(CpuMetric.NAME) ? _cpu.getName() : null,
+				has(CpuMetric.MODEL) ? _cpu.getModel() : null, has(CpuMetric.FAMILY) ? _cpu.getFamily() : null,
+				has(CpuMetric.IDENTIFIER) ? _cpu.getIdentifier() : null,
+				has(CpuMetric.STEPPING) ? _cpu.getStepping() : null,
+				has(CpuMetric.MANUFACTURER) ? _cpu.getVendor() : null,
+				has(CpuMetric.SYSTEM_UPTIME) ? FormatUtil.elapsedTime(_cpu.getSystemUptime()) : null,
+				has(CpuMetric.LOAD) ? cpuLoadBetweenTicks() : null, has(CpuMetric.L3_CACHE_SIZE) ? l3CacheSize() : null,
+				has(CpuMetric.L2_CACHE_SIZE) ? l2CacheSize() : null,
+				has(CpuMetric.CURRENT_CLOCK) ? currentClockSpeed() : null, has(CpuMetric.BUS_SPEED) ? busSpeed() : null,
+				has(CpuMetric.THREADS) ? _cpu.getLogicalProcessorCount() : 0,
+				has(CpuMetric.CORES) ? _cpu.getPhysicalProcessorCount() : 0,
+				has(CpuMetric.BASE_CLOCK) ? FormatUtil.toHertz(_cpu.getVendorFreq()) : null,
+				has(CpuMetric.TICKS) ? tickProcessor(new TreeMap<String, String>()) : null,
+				has(CpuMetric.CORES_LOAD) ? cpuLoad(new TreeMap<String, String>()) : null,
+				has(CpuMetric.CORES_TICKS) ? coreTicks(null) : null);
+	}
+
+	public void refresh(Cpu _cpu) {
+		if (has(CpuMetric.SYSTEM_UPTIME)) {
+			_cpu.setCpuSystemUptime(
+					FormatUtil.elapsedTime(getHardwareAbstractionLayer().getProcessor().getSystemUptime()));
+		}
+		if (has(CpuMetric.LOAD)) {
+			_cpu.setCpuLoadBetweenTicks(cpuLoadBetweenTicks());
+		}
+		if (has(CpuMetric.CURRENT_CLOCK)) {
+			_cpu.setCpuCurrentClock(currentClockSpeed());
+		}
+		if (has(CpuMetric.TICKS)) {
+			_cpu.setCpuTicks(
+					tickProcessor(_cpu.getCpuTicks() != null ? _cpu.getCpuTicks() : new TreeMap<String, String>()));
+		}
+		if (has(CpuMetric.CORES_LOAD)) {
+			_cpu.setCpuLoad(cpuLoad(_cpu.getCpuLoad() != null ? _cpu.getCpuLoad() : new TreeMap<String, String>()));
+		}
+		if (has(CpuMetric.CORES_TICKS)) {
+			_cpu.setCpuCoreTicks(coreTicks(_cpu.getCpuCoreTicks()));
+		}
+	}
+
+	/**
+	 * Method to check if field of processor is selected to build.
+	 * 
+	 * @param _metric
+	 * @return true if field should be built
+	 */
+	private boolean has(CpuMetric _metric) {
+		return metrics.contains(_metric);
+	}
+
+	/**
+	 * Method to build processor identity. Identity does not change while
+	 * system is running, so it is built once and every caller gets its own
+	 * copy.
+	 * 
+	 * @return processor identity
+	 */
+	public CpuDescriptor buildDescriptor() {
+		synchronized (CpuInfo.class) {
+			if (descriptor == null) {
+				CentralProcessor _cpu = getHardwareAbstractionLayer().getProcessor();
+				descriptor = new CpuDescriptor(_cpu.getProcessorID(), _cpu.getName(), _cpu.getModel(),
+						_cpu.getFamily(), _cpu.getIdentifier(), _cpu.getStepping(), _cpu.getVendor(),
+						FormatUtil.toHertz(_cpu.getVendorFreq()), l3CacheSize(), l2CacheSize(), busSpeed(),
+						_cpu.getLogicalProcessorCount(), _cpu.getPhysicalProcessorCount());
+			}
+
+			return new CpuDescriptor(descriptor.getId(), descriptor.getName(), descriptor.getModel(),
+					descriptor.getFamily(), descriptor.getIdentifier(), descriptor.getStepping(),
+					descriptor.getManufacturer(), descriptor.getBaseClock(), descriptor.getL3CacheSize(),
+					descriptor.getL2CacheSize(), descriptor.getBusSpeed(), descriptor.getThreads(),
+					descriptor.getCores());
+		}
+	}
+
+	/**
+	 * Method to build dynamic processor metrics of the most recent interval.
+	 * 
+	 * @return processor sample
+	 */
+	public CpuSample buildSample() {
+		CentralProcessor _cpu = getHardwareAbstractionLayer().getProcessor();
+		CpuTickSampler sampler = CpuTickSampler.getInstance();
+
+		return new CpuSample(_cpu.getProcessorID(), sampler.getSystemLoad(),
+				sampler.fillProcessorLoads(new double[sampler.getProcessorCount()]), currentClockMhz(),
+				_cpu.getSystemUptime(), sampler.getTimeStamp());
 	}
 
 	/**
-	 * Method to count ticks between start and end tick value for specific type
-	 * of ticks.
+	 * Method to count ticks of interval for specific type of ticks.
 	 * 
-	 * @param _startTicks
-	 * @param _endTicks
+	 * @param _intervalTicks
 	 * @param _tickType
-	 * @return difference between start and end ticks
+	 * @return ticks of specific type counted in interval
 	 */
-	private long countTicks(long[] _startTicks, long[] _endTicks, TickType _tickType) {
-		return _endTicks[_tickType.getIndex()] - _startTicks[_tickType.getIndex()];
+	private long countTicks(long[] _intervalTicks, TickType _tickType) {
+		return _intervalTicks[_tickType.getIndex()];
 	}
 
 	/**
@@ -83,65 +260,81 @@ public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>
 	}
 
 	/**
-	 * Method to format processor usage.
+	 * Method to format processor usage of the most recent interval.
 	 * 
-	 * @param _centralProcessor
 	 * @return formated processor usage
 	 */
-	private String cpuLoadBetweenTicks(CentralProcessor _centralProcessor) {
-		return FormatUtil.toPercentage(_centralProcessor.getSystemCpuLoadBetweenTicks());
+	private String cpuLoadBetweenTicks() {
+		return FormatUtil.toPercentage(CpuTickSampler.getInstance().getSystemLoad());
 	}
 
 	/**
-	 * Method to initialize all processor ticks.
+	 * Method to initialize all processor ticks. Ticks are taken from the most
+	 * recent interval of background sampler so the calling thread is not
+	 * blocked.
 	 * 
-	 * @param _centralProcessor
+	 * @param _ticks
+	 *            - map to fill, existing keys are replaced
 	 * @return map of processor ticks
 	 */
-	private TreeMap<String, String> tickProcessor(CentralProcessor _centralProcessor) {
-		TreeMap<String, String> ticks = new TreeMap<String, String>();
+	private TreeMap<String, String> tickProcessor(TreeMap<String, String> _ticks) {
+		long[] intervalTicks = CpuTickSampler.getInstance().getTicksBetweenSamples();
 
-		long[] startTicks = _centralProcessor.getSystemCpuLoadTicks();
-		Util.sleep(1000);
-		long[] endTicks = _centralProcessor.getSystemCpuLoadTicks();
+		long user = countTicks(intervalTicks, TickType.USER);
+		long nice = countTicks(intervalTicks, TickType.NICE);
+		long system = countTicks(intervalTicks, TickType.SYSTEM);
+		long idle = countTicks(intervalTicks, TickType.IDLE);
+		long iowait = countTicks(intervalTicks, TickType.IOWAIT);
+		long irq = countTicks(intervalTicks, TickType.IRQ);
+		long softirq = countTicks(intervalTicks, TickType.SOFTIRQ);
+		long steal = countTicks(intervalTicks, TickType.STEAL);
+		long totalCpu = Math.max(1, user + nice + system + idle + iowait + irq + softirq + steal);
 
-		long user = countTicks(startTicks, endTicks, TickType.USER);
-		long nice = countTicks(startTicks, endTicks, TickType.NICE);
-		long system = countTicks(startTicks, endTicks, TickType.SYSTEM);
-		long idle = countTicks(startTicks, endTicks, TickType.IDLE);
-		long iowait = countTicks(startTicks, endTicks, TickType.IOWAIT);
-		long irq = countTicks(startTicks, endTicks, TickType.IRQ);
-		long softirq = countTicks(startTicks, endTicks, TickType.SOFTIRQ);
-		long steal = countTicks(startTicks, endTicks, TickType.STEAL);
-		long totalCpu = user + nice + system + idle + iowait + irq + softirq + steal;
+		buildTicksSortedMap(_ticks, TickType.USER, FormatUtil.divideLong(user, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.NICE, FormatUtil.divideLong(nice, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.SYSTEM, FormatUtil.divideLong(system, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.IDLE, FormatUtil.divideLong(idle, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.IOWAIT, FormatUtil.divideLong(iowait, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.IRQ, FormatUtil.divideLong(irq, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.SOFTIRQ, FormatUtil.divideLong(softirq, totalCpu));
+		buildTicksSortedMap(_ticks, TickType.STEAL, FormatUtil.divideLong(steal, totalCpu));
 
-		buildTicksSortedMap(ticks, TickType.USER, FormatUtil.divideLong(user, totalCpu));
-		buildTicksSortedMap(ticks, TickType.NICE, FormatUtil.divideLong(nice, totalCpu));
-		buildTicksSortedMap(ticks, TickType.SYSTEM, FormatUtil.divideLong(system, totalCpu));
-		buildTicksSortedMap(ticks, TickType.IDLE, FormatUtil.divideLong(idle, totalCpu));
-		buildTicksSortedMap(ticks, TickType.IOWAIT, FormatUtil.divideLong(iowait, totalCpu));
-		buildTicksSortedMap(ticks, TickType.IRQ, FormatUtil.divideLong(irq, totalCpu));
-		buildTicksSortedMap(ticks, TickType.SOFTIRQ, FormatUtil.divideLong(softirq, totalCpu));
-		buildTicksSortedMap(ticks, TickType.STEAL, FormatUtil.divideLong(steal, totalCpu));
+		return _ticks;
+	}
 
-		return ticks;
+	/**
+	 * Method to create matrix of tick types usage for every logical processor.
+	 * 
+	 * @param _coreTicks
+	 *            - matrix to fill or null if new one should be created
+	 * @return matrix of tick types usage, rows are logical processors
+	 */
+	private double[][] coreTicks(double[][] _coreTicks) {
+		CpuTickSampler sampler = CpuTickSampler.getInstance();
+		double[][] coreTicks = _coreTicks;
+		if (coreTicks == null || coreTicks.length != sampler.getProcessorCount()) {
+			coreTicks = new double[sampler.getProcessorCount()][TickType.values().length];
+		}
+
+		return sampler.fillProcessorTickShares(coreTicks);
 	}
 
 	/**
-	 * Method to create map of cores usage.
+	 * Method to create map of cores usage of the most recent interval.
 	 * 
-	 * @param _centralProcessor
+	 * @param _loadedCpus
+	 *            - map to fill, existing keys are replaced
 	 * @return map of cores usage
 	 */
-	private TreeMap<String, String> cpuLoad(CentralProcessor _centralProcessor) {
-		TreeMap<String, String> loadedCpus = new TreeMap<String, String>();
-		double[] cpuLoad = _centralProcessor.getProcessorCpuLoadBetweenTicks();
+	private TreeMap<String, String> cpuLoad(TreeMap<String, String> _loadedCpus) {
+		CpuTickSampler sampler = CpuTickSampler.getInstance();
+		double[] cpuLoad = sampler.fillProcessorLoads(new double[sampler.getProcessorCount()]);
 
 		for (int i = 0; i < cpuLoad.length; i++) {
-			loadedCpus.put("Core#" + (i + 1), FormatUtil.toPercentage(cpuLoad[i]));
+			_loadedCpus.put("Core#" + (i + 1), FormatUtil.toPercentage(cpuLoad[i]));
 		}
 
-		return loadedCpus;
+		return _loadedCpus;
 	}
 
 	/**
@@ -150,7 +343,7 @@ public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>
 	 * @return L3 cache of processor
 	 */
 	private String l3CacheSize() {
-		return dataMap().get("L3CacheSize");
+		return detail("L3CacheSize");
 	}
 
 	/**
@@ -159,7 +352,7 @@ public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>
 	 * @return L2 cache of processor
 	 */
 	private String l2CacheSize() {
-		return dataMap().get("L2CacheSize");
+		return detail("L2CacheSize");
 	}
 
 	/**
@@ -168,7 +361,41 @@ public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>
 	 * @return max frequency of processor
 	 */
 	private String maxClockSpeed() {
-		return dataMap().get("MaxClockSpeed");
+		return detail("MaxClockSpeed");
+	}
+
+	/**
+	 * Method to get current frequency of processor in megahertz. Average of
+	 * cpufreq frequencies is used if available, otherwise max frequency.
+	 * 
+	 * @return current frequency of processor
+	 */
+	private String currentClockSpeed() {
+		if (CpuFrequencySampler.isAvailable()) {
+			long averageFrequency = CpuFrequencySampler.getInstance().getAverageFrequency();
+			if (averageFrequency > 0) {
+				return String.valueOf(averageFrequency / 1000);
+			}
+		}
+
+		return maxClockSpeed();
+	}
+
+	/**
+	 * Method to get current frequency of processor as number.
+	 * 
+	 * @return current frequency of processor in megahertz or -1 if unknown
+	 */
+	private long currentClockMhz() {
+		String currentClockSpeed = currentClockSpeed();
+		if (currentClockSpeed == null) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(currentClockSpeed.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
 	}
 
 	/**
@@ -177,6 +404,20 @@ public final class CpuInfo extends HardwareAbstract implements HardwareInfo<Cpu>
 	 * @return bus speed of processor
 	 */
 	private String busSpeed() {
-		return dataMap().get("ExtClock");
+		return detail("ExtClock");
+	}
+
+	/**
+	 * Method to get one detail of jHardware API. Details are taken from cache
+	 * if they were not needed by selected fields.
+	 * 
+	 * @param _key
+	 * @return value of detail
+	 */
+	private String detail(String _key) {
+		Map<String, String> details = dataMap() != null ? dataMap()
+				: HardwareInfoCache.get(HardwareInfoCache.Type.PROCESSOR);
+
+		return details.get(_key);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * Class to track rolling processor load averages. Every sample is folded into
+ * exponentially weighted 1, 5 and 15 minutes averages, system-wide and for
+ * every logical processor. Memory is allocated once so updates do not create
+ * any objects.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuLoadTracker {
+	/**
+	 * Enumerate type represents window of load average.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public enum Window {
+		ONE_MINUTE(60000), FIVE_MINUTES(300000), FIFTEEN_MINUTES(900000);
+
+		private final long millis;
+
+		private Window(long _millis) {
+			this.millis = _millis;
+		}
+
+		/**
+		 * Method to get length of window in milliseconds.
+		 * 
+		 * @return length of window
+		 */
+		public long getMillis() {
+			return millis;
+		}
+	}
+
+	private static final Window[] WINDOWS = Window.values();
+	private final double[] systemAverages;
+	private final double[][] processorAverages;
+	private boolean initialized = false;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _processorCount
+	 *            - number of logical processors to track
+	 */
+	public CpuLoadTracker(int _processorCount) {
+		this.systemAverages = new double[WINDOWS.length];
+		this.processorAverages = new double[_processorCount][WINDOWS.length];
+	}
+
+	/**
+	 * Method to count processor load between two tick vectors. Idle and I/O
+	 * wait ticks are counted as not loaded.
+	 * 
+	 * @param _previousTicks
+	 * @param _latestTicks
+	 * @return processor load as fraction between 0 and 1
+	 */
+	public static double load(long[] _previousTicks, long[] _latestTicks) {
+		long total = 0;
+
+		for (int i = 0; i < _latestTicks.length; i++) {
+			total += _latestTicks[i] - _previousTicks[i];
+		}
+		if (total <= 0) {
+			return 0d;
+		}
+		long idle = _latestTicks[TickType.IDLE.getIndex()] - _previousTicks[TickType.IDLE.getIndex()]
+				+ _latestTicks[TickType.IOWAIT.getIndex()] - _previousTicks[TickType.IOWAIT.getIndex()];
+
+		return (double) (total - idle) / total;
+	}
+
+	/**
+	 * Method to fold one sample into averages. First sample initializes all
+	 * averages with its value.
+	 * 
+	 * @param _systemLoad
+	 *            - system-wide load as fraction between 0 and 1
+	 * @param _processorLoads
+	 *            - load of every logical processor as fraction between 0 and 1
+	 * @param _interval
+	 *            - time covered by sample in milliseconds
+	 */
+	public synchronized void update(double _systemLoad, double[] _processorLoads, long _interval) {
+		int processors = Math.min(_processorLoads.length, processorAverages.length);
+
+		for (int w = 0; w < WINDOWS.length; w++) {
+			double alpha = initialized ? 1d - Math.exp(-(double) _interval / WINDOWS[w].getMillis()) : 1d;
+
+			systemAverages[w] += alpha * (_systemLoad - systemAverages[w]);
+			for (int cpu = 0; cpu < processors; cpu++) {
+				processorAverages[cpu][w] += alpha * (_processorLoads[cpu] - processorAverages[cpu][w]);
+			}
+		}
+		initialized = true;
+	}
+
+	/**
+	 * Method to get system-wide load average.
+	 * 
+	 * @param _window
+	 * @return load average as fraction between 0 and 1
+	 */
+	public synchronized double getSystemAverage(Window _window) {
+		return systemAverages[_window.ordinal()];
+	}
+
+	/**
+	 * Method to get load average of logical processor.
+	 * 
+	 * @param _processor
+	 *            - index of logical processor
+	 * @param _window
+	 * @return load average as fraction between 0 and 1
+	 */
+	public synchronized double getProcessorAverage(int _processor, Window _window) {
+		return processorAverages[_processor][_window.ordinal()];
+	}
+
+	/**
+	 * Method to fill array with load averages of every logical processor for
+	 * specific window. Array may be reused between calls.
+	 * 
+	 * @param _averages
+	 *            - array of at least logical processors count size to fill
+	 * @param _window
+	 * @return filled array
+	 */
+	public synchronized double[] fillProcessorAverages(double[] _averages, Window _window) {
+		int w = _window.ordinal();
+
+		for (int cpu = 0; cpu < processorAverages.length; cpu++) {
+			_averages[cpu] = processorAverages[cpu][w];
+		}
+
+		return _averages;
+	}
+
+	/**
+	 * Method to get number of tracked logical processors.
+	 * 
+	 * @return logical processors count
+	 */
+	public int getProcessorCount() {
+		return processorAverages.length;
+	}
+
+	/**
+	 * Method to check if at least one sample was folded into averages.
+	 * 
+	 * @return true if averages are initialized
+	 */
+	public synchronized boolean isInitialized() {
+		return initialized;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.util.EnumSet;
+
+/**
+ * Enumerate type represents fields of processor which could be selected to
+ * build. Fields which are not selected are not read and stay empty in
+ * {@link Cpu}. Multiplier is counted from current clock and bus speed.
+ * 
+ * @author Mateusz Mucha
+ */
+public enum CpuMetric {
+	NAME, MODEL, FAMILY, IDENTIFIER, STEPPING, MANUFACTURER, SYSTEM_UPTIME, LOAD, L3_CACHE_SIZE, L2_CACHE_SIZE,
+	CURRENT_CLOCK, BUS_SPEED, THREADS, CORES, BASE_CLOCK, TICKS, CORES_LOAD, CORES_TICKS;
+
+	/**
+	 * Fields which are read from details of jHardware API.
+	 */
+	static final EnumSet<CpuMetric> DETAILS = EnumSet.of(L3_CACHE_SIZE, L2_CACHE_SIZE, CURRENT_CLOCK, BUS_SPEED);
+}
\ No newline at end of file
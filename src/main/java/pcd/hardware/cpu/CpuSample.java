@@ -0,0 +1,165 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.util.Arrays;
+
+import pcd.Component;
+import pcd.util.FormatUtil;
+
+/**
+ * Class representation of dynamic processor metrics of one moment. Identity
+ * of processor is kept in {@link CpuDescriptor} with the same id.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuSample extends Component {
+	private static final long serialVersionUID = 6921186204418880245L;
+	private double systemLoad;
+	private double[] processorLoads;
+	private long currentClockMhz, systemUptime, timeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _systemLoad
+	 * @param _processorLoads
+	 * @param _currentClockMhz
+	 * @param _systemUptime
+	 * @param _timeStamp
+	 */
+	public CpuSample(String _id, double _systemLoad, double[] _processorLoads, long _currentClockMhz,
+			long _systemUptime, long _timeStamp) {
+		super(_id);
+		this.systemLoad = _systemLoad;
+		this.processorLoads = _processorLoads;
+		this.currentClockMhz = _currentClockMhz;
+		this.systemUptime = _systemUptime;
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get processor usage of the most recent interval from 0 to 1.
+	 * 
+	 * @return systemLoad
+	 */
+	public double getSystemLoad() {
+		return systemLoad;
+	}
+
+	/**
+	 * Method to set processor usage of the most recent interval from 0 to 1.
+	 * 
+	 * @param _systemLoad
+	 */
+	public void setSystemLoad(double _systemLoad) {
+		this.systemLoad = _systemLoad;
+	}
+
+	/**
+	 * Method to get usage of every logical processor of the most recent
+	 * interval from 0 to 1.
+	 * 
+	 * @return processorLoads
+	 */
+	public double[] getProcessorLoads() {
+		return processorLoads;
+	}
+
+	/**
+	 * Method to set usage of every logical processor of the most recent
+	 * interval from 0 to 1.
+	 * 
+	 * @param _processorLoads
+	 */
+	public void setProcessorLoads(double[] _processorLoads) {
+		this.processorLoads = _processorLoads;
+	}
+
+	/**
+	 * Method to get current clock speed in MHz.
+	 * 
+	 * @return currentClockMhz
+	 */
+	public long getCurrentClockMhz() {
+		return currentClockMhz;
+	}
+
+	/**
+	 * Method to set current clock speed in MHz.
+	 * 
+	 * @param _currentClockMhz
+	 */
+	public void setCurrentClockMhz(long _currentClockMhz) {
+		this.currentClockMhz = _currentClockMhz;
+	}
+
+	/**
+	 * Method to get system up time in seconds.
+	 * 
+	 * @return systemUptime
+	 */
+	public long getSystemUptime() {
+		return systemUptime;
+	}
+
+	/**
+	 * Method to set system up time in seconds.
+	 * 
+	 * @param _systemUptime
+	 */
+	public void setSystemUptime(long _systemUptime) {
+		this.systemUptime = _systemUptime;
+	}
+
+	/**
+	 * Method to get time of sample in milliseconds.
+	 * 
+	 * @return timeStamp
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of sample in milliseconds.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== CPU Sample ===");
+
+		sb.append("\nCPU Processor ID: ");
+		sb.append(getId());
+		sb.append("\nCPU Load: ");
+		sb.append(FormatUtil.toPercentage(getSystemLoad()));
+		sb.append("\nCPU Processor Loads: ");
+		sb.append(Arrays.toString(getProcessorLoads()));
+		sb.append("\nCPU Current Clock MHz: ");
+		sb.append(getCurrentClockMhz());
+		sb.append("\nCPU System Uptime: ");
+		sb.append(getSystemUptime());
+		sb.append("\nCPU Time Stamp: ");
+		sb.append(getTimeStamp());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
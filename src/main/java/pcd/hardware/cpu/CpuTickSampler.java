@@ -0,0 +1,339 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import oshi.hardware.CentralProcessor;
+import pcd.SharedSystemInfo;
+
+/**
+ * Class to sample processor ticks in background. Keeps last two tick vectors
+ * so processor usage over the most recent interval can be read without
+ * blocking the calling thread.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuTickSampler {
+	/**
+	 * Default time between two samples in milliseconds.
+	 */
+	public static final long DEFAULT_SAMPLING_PERIOD = 1000;
+	private static CpuTickSampler instance = null;
+	private final CentralProcessor centralProcessor;
+	private ScheduledExecutorService executor = null;
+	private ScheduledFuture<?> samplingTask = null;
+	private long samplingPeriod;
+	private long[] previousTicks, latestTicks;
+	private long[][] previousProcessorTicks, latestProcessorTicks;
+	private final long[] sampleTicks;
+	private final long[][] sampleProcessorTicks;
+	private final double[] processorLoads;
+	private double systemLoad;
+	private final CpuLoadTracker loadTracker;
+	private final ProcStatReader procStatReader;
+	private volatile CpuInfo.CollectionMode collectionMode;
+	private long previousTimeStamp, latestTimeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _centralProcessor
+	 *            - processor object of OSHI API to read ticks from
+	 * @param _samplingPeriod
+	 *            - time between two samples in milliseconds
+	 */
+	public CpuTickSampler(CentralProcessor _centralProcessor, long _samplingPeriod) {
+		this.centralProcessor = _centralProcessor;
+		this.samplingPeriod = _samplingPeriod;
+		this.latestTicks = new long[CentralProcessor.TickType.values().length];
+		this.previousTicks = new long[latestTicks.length];
+		this.latestProcessorTicks = new long[_centralProcessor.getLogicalProcessorCount()][latestTicks.length];
+		this.previousProcessorTicks = new long[latestProcessorTicks.length][latestTicks.length];
+		this.sampleTicks = new long[latestTicks.length];
+		this.sampleProcessorTicks = new long[latestProcessorTicks.length][latestTicks.length];
+		this.processorLoads = new double[latestProcessorTicks.length];
+		this.procStatReader = new ProcStatReader();
+		this.collectionMode = ProcStatReader.isAvailable() ? CpuInfo.CollectionMode.PROC_STAT
+				: CpuInfo.CollectionMode.OSHI;
+		this.loadTracker = new CpuLoadTracker(latestProcessorTicks.length);
+		sample();
+		this.previousTimeStamp = latestTimeStamp - _centralProcessor.getSystemUptime() * 1000;
+		start();
+	}
+
+	/**
+	 * Method to get process-wide sampler. Sampler is started with default
+	 * sampling period on first use.
+	 * 
+	 * @return process-wide sampler
+	 */
+	public static synchronized CpuTickSampler getInstance() {
+		if (instance == null) {
+			instance = new CpuTickSampler(SharedSystemInfo.getHardware().getProcessor(), DEFAULT_SAMPLING_PERIOD);
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Method to get time between two samples in milliseconds.
+	 * 
+	 * @return sampling period
+	 */
+	public synchronized long getSamplingPeriod() {
+		return samplingPeriod;
+	}
+
+	/**
+	 * Method to set time between two samples in milliseconds. Sampling is
+	 * rescheduled with the new period.
+	 * 
+	 * @param _samplingPeriod
+	 */
+	public synchronized void setSamplingPeriod(long _samplingPeriod) {
+		if (_samplingPeriod <= 0) {
+			throw new IllegalArgumentException("Sampling period must be positive: " + _samplingPeriod);
+		}
+		this.samplingPeriod = _samplingPeriod;
+		if (samplingTask != null) {
+			samplingTask.cancel(false);
+			samplingTask = executor.scheduleAtFixedRate(this::sample, samplingPeriod, samplingPeriod,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Method to get source of processor ticks.
+	 * 
+	 * @return source of processor ticks
+	 */
+	public CpuInfo.CollectionMode getCollectionMode() {
+		return collectionMode;
+	}
+
+	/**
+	 * Method to set source of processor ticks. If /proc/stat can not be read
+	 * sampler falls back to OSHI API.
+	 * 
+	 * @param _collectionMode
+	 */
+	public void setCollectionMode(CpuInfo.CollectionMode _collectionMode) {
+		this.collectionMode = _collectionMode;
+	}
+
+	/**
+	 * Method to get system-wide processor load over the most recent interval.
+	 * 
+	 * @return processor load as fraction between 0 and 1
+	 */
+	public synchronized double getSystemLoad() {
+		return systemLoad;
+	}
+
+	/**
+	 * Method to fill array with load of every logical processor over the most
+	 * recent interval. Array may be reused between calls.
+	 * 
+	 * @param _loads
+	 *            - array of at least logical processors count size to fill
+	 * @return filled array
+	 */
+	public synchronized double[] fillProcessorLoads(double[] _loads) {
+		System.arraycopy(processorLoads, 0, _loads, 0, processorLoads.length);
+
+		return _loads;
+	}
+
+	/**
+	 * Method to get ticks counted between two last samples, indexed by
+	 * {@link CentralProcessor.TickType#getIndex()}. Before the second sample
+	 * is taken ticks since boot are returned.
+	 * 
+	 * @return ticks of the most recent interval
+	 */
+	public synchronized long[] getTicksBetweenSamples() {
+		long[] ticks = new long[latestTicks.length];
+
+		for (int i = 0; i < ticks.length; i++) {
+			ticks[i] = latestTicks[i] - previousTicks[i];
+		}
+
+		return ticks;
+	}
+
+	/**
+	 * Method to get tracker of rolling load averages. Tracker is updated with
+	 * every sample taken in background.
+	 * 
+	 * @return tracker of rolling load averages
+	 */
+	public CpuLoadTracker getLoadTracker() {
+		return loadTracker;
+	}
+
+	/**
+	 * Method to get logical processors count covered by sampler.
+	 * 
+	 * @return logical processors count
+	 */
+	public int getProcessorCount() {
+		return latestProcessorTicks.length;
+	}
+
+	/**
+	 * Method to fill matrix with share of every tick type for every logical
+	 * processor over the most recent interval. Rows are logical processors and
+	 * columns are indexed by {@link CentralProcessor.TickType#getIndex()}.
+	 * Values are fractions between 0 and 1. Matrix may be reused between calls
+	 * so no allocation is needed.
+	 * 
+	 * @param _shares
+	 *            - matrix of at least [processors][tick types] size to fill
+	 * @return filled matrix
+	 */
+	public synchronized double[][] fillProcessorTickShares(double[][] _shares) {
+		for (int cpu = 0; cpu < latestProcessorTicks.length; cpu++) {
+			long[] latest = latestProcessorTicks[cpu];
+			long[] previous = previousProcessorTicks[cpu];
+			double[] row = _shares[cpu];
+			long total = 0;
+
+			for (int type = 0; type < latest.length; type++) {
+				total += latest[type] - previous[type];
+			}
+			for (int type = 0; type < latest.length; type++) {
+				row[type] = total > 0 ? (double) (latest[type] - previous[type]) / total : 0d;
+			}
+		}
+
+		return _shares;
+	}
+
+	/**
+	 * Method to get time stamp of the last sample in milliseconds.
+	 * 
+	 * @return time stamp of the last sample
+	 */
+	public synchronized long getTimeStamp() {
+		return latestTimeStamp;
+	}
+
+	/**
+	 * Method to get length of the most recent interval in milliseconds.
+	 * 
+	 * @return length of the most recent interval
+	 */
+	public synchronized long getInterval() {
+		return latestTimeStamp - previousTimeStamp;
+	}
+
+	/**
+	 * Method to start sampling in background. Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if (samplingTask != null) {
+			return;
+		}
+		if (executor == null) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "pcd-cpu-tick-sampler");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		samplingTask = executor.scheduleAtFixedRate(this::sample, samplingPeriod, samplingPeriod,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Method to stop sampling in background. Last samples stay readable.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		executor = null;
+		samplingTask = null;
+		procStatReader.close();
+	}
+
+	/**
+	 * Method to take one sample of processor ticks. Runtime exception would
+	 * cancel scheduled sampling, so failed read is skipped, last good sample
+	 * stays readable and the next period tries again.
+	 */
+	private void sample() {
+		try {
+			readTicks();
+		} catch (RuntimeException e) {
+			return;
+		}
+		long timeStamp = System.currentTimeMillis();
+
+		synchronized (this) {
+			long[] swap = previousTicks;
+			previousTicks = latestTicks;
+			latestTicks = swap;
+			System.arraycopy(sampleTicks, 0, latestTicks, 0, latestTicks.length);
+
+			long[][] processorSwap = previousProcessorTicks;
+			previousProcessorTicks = latestProcessorTicks;
+			latestProcessorTicks = processorSwap;
+			for (int cpu = 0; cpu < latestProcessorTicks.length; cpu++) {
+				System.arraycopy(sampleProcessorTicks[cpu], 0, latestProcessorTicks[cpu], 0, latestTicks.length);
+			}
+			previousTimeStamp = latestTimeStamp;
+			latestTimeStamp = timeStamp;
+
+			for (int cpu = 0; cpu < processorLoads.length; cpu++) {
+				processorLoads[cpu] = CpuLoadTracker.load(previousProcessorTicks[cpu], latestProcessorTicks[cpu]);
+			}
+			systemLoad = CpuLoadTracker.load(previousTicks, latestTicks);
+			loadTracker.update(systemLoad, processorLoads, latestTimeStamp - previousTimeStamp);
+		}
+	}
+
+	/**
+	 * Method to read current ticks into sample arrays. Ticks are read directly
+	 * from /proc/stat if possible, otherwise from OSHI API. If /proc/stat can
+	 * not be parsed, OSHI API is used from then on.
+	 */
+	private void readTicks() {
+		if (collectionMode == CpuInfo.CollectionMode.PROC_STAT) {
+			try {
+				if (procStatReader.read(sampleTicks, sampleProcessorTicks)) {
+					return;
+				}
+			} catch (RuntimeException e) {
+				// unexpected format of /proc/stat
+				procStatReader.close();
+			}
+			collectionMode = CpuInfo.CollectionMode.OSHI;
+		}
+
+		long[] ticks = centralProcessor.getSystemCpuLoadTicks();
+		long[][] processorTicks = centralProcessor.getProcessorCpuLoadTicks();
+
+		System.arraycopy(ticks, 0, sampleTicks, 0, Math.min(ticks.length, sampleTicks.length));
+		for (int cpu = 0; cpu < sampleProcessorTicks.length && cpu < processorTicks.length; cpu++) {
+			System.arraycopy(processorTicks[cpu], 0, sampleProcessorTicks[cpu], 0,
+					Math.min(processorTicks[cpu].length, sampleTicks.length));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,277 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.util.Arrays;
+
+import pcd.Component;
+
+/**
+ * Class representation of processor topology. Every array is indexed by
+ * logical processor number as used by kernel and covers all possible
+ * processors from /sys/devices/system/cpu/possible, including offline ones.
+ * Rows of {@link Cpu#getCpuCoreTicks()} cover only logical processors counted
+ * by OSHI API, so index N is the same processor as row N only while N is
+ * lower than number of rows (key Core#N of {@link Cpu#getCpuLoad()} is
+ * logical processor N-1). Unknown values are -1.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuTopology extends Component {
+	private static final long serialVersionUID = -2650409931862735123L;
+	private int[] coreIds, socketIds, numaNodes, smtGroups, l2Groups, l3Groups;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _coreIds
+	 * @param _socketIds
+	 * @param _numaNodes
+	 * @param _smtGroups
+	 * @param _l2Groups
+	 * @param _l3Groups
+	 */
+	public CpuTopology(int[] _coreIds, int[] _socketIds, int[] _numaNodes, int[] _smtGroups, int[] _l2Groups,
+			int[] _l3Groups) {
+		super(null);
+		this.coreIds = _coreIds;
+		this.socketIds = _socketIds;
+		this.numaNodes = _numaNodes;
+		this.smtGroups = _smtGroups;
+		this.l2Groups = _l2Groups;
+		this.l3Groups = _l3Groups;
+	}
+
+	/**
+	 * Method to get number of logical processors.
+	 * 
+	 * @return logical processors count
+	 */
+	public int getLogicalProcessorCount() {
+		return coreIds.length;
+	}
+
+	/**
+	 * Method to get physical core id of every logical processor. Core id is
+	 * unique only inside one socket.
+	 * 
+	 * @return core ids
+	 */
+	public int[] getCoreIds() {
+		return coreIds;
+	}
+
+	/**
+	 * Method to set physical core id of every logical processor.
+	 * 
+	 * @param _coreIds
+	 */
+	public void setCoreIds(int[] _coreIds) {
+		this.coreIds = _coreIds;
+	}
+
+	/**
+	 * Method to get socket id of every logical processor.
+	 * 
+	 * @return socket ids
+	 */
+	public int[] getSocketIds() {
+		return socketIds;
+	}
+
+	/**
+	 * Method to set socket id of every logical processor.
+	 * 
+	 * @param _socketIds
+	 */
+	public void setSocketIds(int[] _socketIds) {
+		this.socketIds = _socketIds;
+	}
+
+	/**
+	 * Method to get NUMA node of every logical processor.
+	 * 
+	 * @return NUMA nodes
+	 */
+	public int[] getNumaNodes() {
+		return numaNodes;
+	}
+
+	/**
+	 * Method to set NUMA node of every logical processor.
+	 * 
+	 * @param _numaNodes
+	 */
+	public void setNumaNodes(int[] _numaNodes) {
+		this.numaNodes = _numaNodes;
+	}
+
+	/**
+	 * Method to get SMT group of every logical processor. Group is the lowest
+	 * logical processor running on the same physical core.
+	 * 
+	 * @return SMT groups
+	 */
+	public int[] getSmtGroups() {
+		return smtGroups;
+	}
+
+	/**
+	 * Method to set SMT group of every logical processor.
+	 * 
+	 * @param _smtGroups
+	 */
+	public void setSmtGroups(int[] _smtGroups) {
+		this.smtGroups = _smtGroups;
+	}
+
+	/**
+	 * Method to get L2 cache group of every logical processor. Group is the
+	 * lowest logical processor sharing the same L2 cache.
+	 * 
+	 * @return L2 cache groups
+	 */
+	public int[] getL2Groups() {
+		return l2Groups;
+	}
+
+	/**
+	 * Method to set L2 cache group of every logical processor.
+	 * 
+	 * @param _l2Groups
+	 */
+	public void setL2Groups(int[] _l2Groups) {
+		this.l2Groups = _l2Groups;
+	}
+
+	/**
+	 * Method to get L3 cache group of every logical processor. Group is the
+	 * lowest logical processor sharing the same L3 cache.
+	 * 
+	 * @return L3 cache groups
+	 */
+	public int[] getL3Groups() {
+		return l3Groups;
+	}
+
+	/**
+	 * Method to set L3 cache group of every logical processor.
+	 * 
+	 * @param _l3Groups
+	 */
+	public void setL3Groups(int[] _l3Groups) {
+		this.l3Groups = _l3Groups;
+	}
+
+	/**
+	 * Method to get logical processors running on the same physical core as
+	 * given one, including itself. Siblings come from kernel sibling list, not
+	 * from core id, because core id may repeat across dies.
+	 * 
+	 * @param _processor
+	 * @return SMT siblings of logical processor or only processor itself if
+	 *         siblings are unknown
+	 */
+	public int[] getSmtSiblings(int _processor) {
+		if (smtGroups[_processor] < 0) {
+			return new int[] { _processor };
+		}
+		int[] siblings = new int[smtGroups.length];
+		int count = 0;
+
+		for (int cpu = 0; cpu < smtGroups.length; cpu++) {
+			if (smtGroups[cpu] == smtGroups[_processor]) {
+				siblings[count++] = cpu;
+			}
+		}
+
+		return Arrays.copyOf(siblings, count);
+	}
+
+	/**
+	 * Method to get logical processors of NUMA node.
+	 * 
+	 * @param _numaNode
+	 * @return logical processors of NUMA node
+	 */
+	public int[] getNumaNodeProcessors(int _numaNode) {
+		int[] processors = new int[numaNodes.length];
+		int count = 0;
+
+		for (int cpu = 0; cpu < numaNodes.length; cpu++) {
+			if (numaNodes[cpu] == _numaNode) {
+				processors[count++] = cpu;
+			}
+		}
+
+		return Arrays.copyOf(processors, count);
+	}
+
+	/**
+	 * Method to get number of sockets.
+	 * 
+	 * @return sockets count
+	 */
+	public int getSocketCount() {
+		return distinct(socketIds);
+	}
+
+	/**
+	 * Method to get number of NUMA nodes.
+	 * 
+	 * @return NUMA nodes count
+	 */
+	public int getNumaNodeCount() {
+		return distinct(numaNodes);
+	}
+
+	/**
+	 * Method to count distinct known values.
+	 * 
+	 * @param _values
+	 * @return number of distinct values which are not -1
+	 */
+	private static int distinct(int[] _values) {
+		return (int) Arrays.stream(_values).filter(value -> value >= 0).distinct().count();
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== CPU Topology ===");
+
+		sb.append("\nCPU Sockets: ");
+		sb.append(getSocketCount());
+		sb.append("\nCPU NUMA Nodes: ");
+		sb.append(getNumaNodeCount());
+		for (int cpu = 0; cpu < coreIds.length; cpu++) {
+			sb.append("\n  CPU#");
+			sb.append(cpu);
+			sb.append(": Core: ");
+			sb.append(coreIds[cpu]);
+			sb.append(", Socket: ");
+			sb.append(socketIds[cpu]);
+			sb.append(", NUMA: ");
+			sb.append(numaNodes[cpu]);
+			sb.append(", SMT: ");
+			sb.append(smtGroups[cpu]);
+			sb.append(", L2: ");
+			sb.append(l2Groups[cpu]);
+			sb.append(", L3: ");
+			sb.append(l3Groups[cpu]);
+		}
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
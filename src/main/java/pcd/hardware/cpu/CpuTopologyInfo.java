@@ -0,0 +1,209 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import oshi.SystemInfo;
+import pcd.hardware.HardwareAbstract;
+import pcd.hardware.HardwareInfo;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to build processor topology informations from
+ * /sys/devices/system/cpu and /sys/devices/system/node on Linux. Topology does
+ * not change while system is running, so it is read once and every caller
+ * gets its own copy, changes of one caller are not seen by others. On other
+ * systems every value is unknown.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CpuTopologyInfo extends HardwareAbstract implements HardwareInfo<CpuTopology> {
+	private static final String CPU_PATH = "/sys/devices/system/cpu/";
+	private static final String NODE_PATH = "/sys/devices/system/node/";
+	private static CpuTopology topology = null;
+
+	/**
+	 * Default constructor.
+	 */
+	public CpuTopologyInfo() {
+		super(null);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 */
+	public CpuTopologyInfo(SystemInfo _systemInfo) {
+		super(_systemInfo, null);
+	}
+
+	public CpuTopology buildHardware() {
+		synchronized (CpuTopologyInfo.class) {
+			if (topology == null) {
+				topology = readTopology(getHardwareAbstractionLayer().getProcessor().getLogicalProcessorCount());
+			}
+
+			return new CpuTopology(topology.getCoreIds().clone(), topology.getSocketIds().clone(),
+					topology.getNumaNodes().clone(), topology.getSmtGroups().clone(), topology.getL2Groups().clone(),
+					topology.getL3Groups().clone());
+		}
+	}
+
+	/**
+	 * Method to read topology of all logical processors.
+	 * 
+	 * @param _logicalProcessorCount
+	 *            - count used if possible processors can not be read
+	 * @return processor topology
+	 */
+	private static CpuTopology readTopology(int _logicalProcessorCount) {
+		ProcFileReader reader = new ProcFileReader();
+		int count = possibleProcessorCount(reader, _logicalProcessorCount);
+
+		int[] coreIds = unknown(count), socketIds = unknown(count), numaNodes = unknown(count),
+				smtGroups = unknown(count), l2Groups = unknown(count), l3Groups = unknown(count);
+
+		for (int cpu = 0; cpu < count; cpu++) {
+			String cpuPath = CPU_PATH + "cpu" + cpu + "/";
+			coreIds[cpu] = readInt(reader, cpuPath + "topology/core_id");
+			socketIds[cpu] = readInt(reader, cpuPath + "topology/physical_package_id");
+			int[] siblings = readCpuList(reader, cpuPath + "topology/core_cpus_list");
+			if (siblings.length == 0) {
+				siblings = readCpuList(reader, cpuPath + "topology/thread_siblings_list");
+			}
+			if (siblings.length > 0) {
+				smtGroups[cpu] = siblings[0];
+			}
+
+			for (int index = 0; new File(cpuPath + "cache/index" + index).isDirectory(); index++) {
+				String indexPath = cpuPath + "cache/index" + index + "/";
+				int level = readInt(reader, indexPath + "level");
+				if (level == 2 || level == 3) {
+					int[] shared = readCpuList(reader, indexPath + "shared_cpu_list");
+					int group = shared.length > 0 ? shared[0] : cpu;
+					if (level == 2) {
+						l2Groups[cpu] = group;
+					} else {
+						l3Groups[cpu] = group;
+					}
+				}
+			}
+		}
+
+		String[] nodes = new File(NODE_PATH).list((dir, name) -> name.matches("node\\d+"));
+		if (nodes != null) {
+			for (String node : nodes) {
+				int nodeId = Integer.parseInt(node.substring(4));
+				for (int cpu : readCpuList(reader, NODE_PATH + node + "/cpulist")) {
+					if (cpu < count) {
+						numaNodes[cpu] = nodeId;
+					}
+				}
+			}
+		}
+
+		return new CpuTopology(coreIds, socketIds, numaNodes, smtGroups, l2Groups, l3Groups);
+	}
+
+	/**
+	 * Method to get number of possible logical processors from sysfs. Count is
+	 * not limited by cgroup or affinity of current process, so it covers every
+	 * cpuN directory.
+	 * 
+	 * @param _reader
+	 * @param _logicalProcessorCount
+	 *            - count used if possible processors can not be read
+	 * @return highest possible processor number plus one
+	 */
+	static int possibleProcessorCount(ProcFileReader _reader, int _logicalProcessorCount) {
+		int[] possible = readCpuList(_reader, CPU_PATH + "possible");
+
+		return possible.length > 0 ? possible[possible.length - 1] + 1 : _logicalProcessorCount;
+	}
+
+	/**
+	 * Method to create array filled with unknown values.
+	 * 
+	 * @param _count
+	 * @return array of -1 values
+	 */
+	private static int[] unknown(int _count) {
+		int[] values = new int[_count];
+		Arrays.fill(values, -1);
+
+		return values;
+	}
+
+	/**
+	 * Method to read one number from file.
+	 * 
+	 * @param _reader
+	 * @param _path
+	 * @return number from file or -1 if file can not be read
+	 */
+	private static int readInt(ProcFileReader _reader, String _path) {
+		try {
+			if (_reader.read(_path) == 0) {
+				return -1;
+			}
+			return (int) _reader.nextLong();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Method to read list of processors in kernel format e.g. 0-3,8-11.
+	 * 
+	 * @param _reader
+	 * @param _path
+	 * @return sorted processors from list or empty array if file can not be
+	 *         read
+	 */
+	private static int[] readCpuList(ProcFileReader _reader, String _path) {
+		try {
+			_reader.read(_path);
+		} catch (IOException e) {
+			return new int[0];
+		}
+
+		int[] cpus = new int[16];
+		int count = 0;
+		while (_reader.hasRemaining() && _reader.peek() >= '0' && _reader.peek() <= '9') {
+			int first = (int) _reader.nextLong();
+			int last = first;
+			if (_reader.peek() == '-') {
+				_reader.skip(1);
+				last = (int) _reader.nextLong();
+			}
+			for (int cpu = first; cpu <= last; cpu++) {
+				if (count == cpus.length) {
+					cpus = Arrays.copyOf(cpus, count * 2);
+				}
+				cpus[count++] = cpu;
+			}
+			if (_reader.peek() == ',') {
+				_reader.skip(1);
+			}
+		}
+
+		return Arrays.copyOf(cpus, count);
+	}
+}
\ No newline at end of file
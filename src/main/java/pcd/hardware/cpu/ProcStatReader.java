@@ -0,0 +1,124 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import java.io.File;
+import java.io.IOException;
+
+import oshi.hardware.CentralProcessor.TickType;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to read processor ticks directly from /proc/stat on Linux. File is
+ * kept open and parsed from reused buffer, so reading ticks does not create
+ * any objects.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcStatReader {
+	/**
+	 * Path of kernel statistics file.
+	 */
+	public static final String PROC_STAT = "/proc/stat";
+	private static final byte[] CPU_PREFIX = { 'c', 'p', 'u' };
+	private static final int TICK_TYPES = TickType.values().length;
+	private final ProcFileReader reader;
+
+	/**
+	 * Default constructor.
+	 */
+	public ProcStatReader() {
+		this(PROC_STAT);
+	}
+
+	/**
+	 * Constructor of reader of file in /proc/stat format.
+	 * 
+	 * @param _path
+	 *            - path of file to read
+	 */
+	ProcStatReader(String _path) {
+		this.reader = new ProcFileReader(_path, 16384);
+	}
+
+	/**
+	 * Method to check if /proc/stat can be read on this system.
+	 * 
+	 * @return true if /proc/stat is readable
+	 */
+	public static boolean isAvailable() {
+		return new File(PROC_STAT).canRead();
+	}
+
+	/**
+	 * Method to read system-wide and per processor ticks. Arrays are indexed by
+	 * {@link TickType#getIndex()} in the same way as ticks of OSHI API.
+	 * Processors missing from /proc/stat e.g. offline ones keep their previous
+	 * values.
+	 * 
+	 * @param _ticks
+	 *            - array for system-wide ticks
+	 * @param _processorTicks
+	 *            - matrix for ticks of every logical processor, may be null
+	 * @return true if ticks were read
+	 */
+	public synchronized boolean read(long[] _ticks, long[][] _processorTicks) {
+		try {
+			if (reader.read() == 0) {
+				return false;
+			}
+		} catch (IOException e) {
+			reader.close();
+			return false;
+		}
+
+		boolean systemRead = false;
+		do {
+			if (!reader.startsWith(CPU_PREFIX)) {
+				break;
+			}
+			reader.skip(CPU_PREFIX.length);
+			if (reader.peek() == ' ') {
+				parseTicks(_ticks);
+				systemRead = true;
+			} else {
+				int processor = (int) reader.nextLong();
+				if (_processorTicks != null && processor < _processorTicks.length) {
+					parseTicks(_processorTicks[processor]);
+				}
+			}
+		} while (reader.nextLine());
+
+		return systemRead;
+	}
+
+	/**
+	 * Method to close /proc/stat file.
+	 */
+	public synchronized void close() {
+		reader.close();
+	}
+
+	/**
+	 * Method to parse ticks of one cpu line.
+	 * 
+	 * @param _ticks
+	 */
+	private void parseTicks(long[] _ticks) {
+		for (int i = 0; i < TICK_TYPES && i < _ticks.length; i++) {
+			_ticks[i] = reader.nextLong();
+		}
+	}
+}
\ No newline at end of file
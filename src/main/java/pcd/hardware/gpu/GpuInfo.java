@@ -21,6 +21,7 @@ import org.jutils.jhardware.model.GraphicsCardInfo;
 import oshi.SystemInfo;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
+import pcd.util.ExternalCommandGate;
 
 /**
  * Class to build graphic cards informations. Should be use as command to build
@@ -47,7 +48,8 @@ public final class GpuInfo extends HardwareAbstract implements HardwareInfo<Gpu>
 	}
 
 	public Gpu buildHardware() {
-		GraphicsCardInfo info = org.jutils.jhardware.HardwareInfo.getGraphicsCardInfo();
+		GraphicsCardInfo info = ExternalCommandGate.call("GRAPHICS_CARD",
+				org.jutils.jhardware.HardwareInfo::getGraphicsCardInfo);
 		List<Gpu.GraphicCard> gpuList = new ArrayList<Gpu.GraphicCard>();
 
 		info.getGraphicsCards().forEach(graphicCard -> {
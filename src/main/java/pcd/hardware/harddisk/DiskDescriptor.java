@@ -0,0 +1,116 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.harddisk;
+
+import pcd.Component;
+
+/**
+ * Class representation of hard disk identity which does not change while
+ * system is running. Should be collected once and sent before
+ * {@link DiskSample} objects. Id is name of hard disk, because serial number
+ * is not always known.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class DiskDescriptor extends Component {
+	private static final long serialVersionUID = 8412931542779303718L;
+	private String serial, model;
+	private long size;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _serial
+	 * @param _model
+	 * @param _size
+	 */
+	public DiskDescriptor(String _id, String _serial, String _model, long _size) {
+		super(_id);
+		this.serial = _serial;
+		this.model = _model;
+		this.size = _size;
+	}
+
+	/**
+	 * Method to get serial number of hard disk.
+	 * 
+	 * @return serial
+	 */
+	public String getSerial() {
+		return serial;
+	}
+
+	/**
+	 * Method to set serial number of hard disk.
+	 * 
+	 * @param _serial
+	 */
+	public void setSerial(String _serial) {
+		this.serial = _serial;
+	}
+
+	/**
+	 * Method to get model of hard disk.
+	 * 
+	 * @return model
+	 */
+	public String getModel() {
+		return model;
+	}
+
+	/**
+	 * Method to set model of hard disk.
+	 * 
+	 * @param _model
+	 */
+	public void setModel(String _model) {
+		this.model = _model;
+	}
+
+	/**
+	 * Method to get size of hard disk in bytes.
+	 * 
+	 * @return size
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Method to set size of hard disk in bytes.
+	 * 
+	 * @param _size
+	 */
+	public void setSize(long _size) {
+		this.size = _size;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== Disk Descriptor ===");
+
+		sb.append("\nDisk Name: ");
+		sb.append(getId());
+		sb.append("\nDisk Serial: ");
+		sb.append(getSerial());
+		sb.append("\nDisk Model: ");
+		sb.append(getModel());
+		sb.append("\nDisk Size: ");
+		sb.append(getSize());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -16,13 +16,16 @@ package pcd.hardware.harddisk;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import oshi.SystemInfo;
 import oshi.hardware.HWDiskStore;
 import oshi.hardware.HWPartition;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OperatingSystem;
+import pcd.Refreshable;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
 import pcd.util.FormatUtil;
@@ -33,7 +36,9 @@ import pcd.util.FormatUtil;
  * 
  * @author Mateusz Mucha
  */
-public final class DiskInfo extends HardwareAbstract implements HardwareInfo<Disk> {
+public final class DiskInfo extends HardwareAbstract implements HardwareInfo<Disk>, Refreshable<Disk> {
+	private static List<DiskDescriptor> descriptors = null;
+
 	/**
 	 * Default constructor.
 	 */
@@ -68,6 +73,137 @@ public final class DiskInfo extends HardwareAbstract implements HardwareInfo<Dis
 		return new Disk(diskList);
 	}
 
+	public void refresh(Disk _disk) {
+		Map<String, Disk.HardDisk> previousDisks = new HashMap<String, Disk.HardDisk>();
+		_disk.getDiskList().forEach(hardDisk -> previousDisks.put(hardDisk.getName(), hardDisk));
+		_disk.getDiskList().clear();
+
+		for (HWDiskStore hwDisk : getHardwareAbstractionLayer().getDiskStores()) {
+			Disk.HardDisk hardDisk = previousDisks.get(hwDisk.getName());
+			if (hardDisk == null) {
+				hardDisk = new Disk.HardDisk(hwDisk.getSerial(), hwDisk.getName(), hwDisk.getModel(),
+						FormatUtil.formatBytesDecimal(hwDisk.getSize()), hwDisk.getReads(),
+						FormatUtil.toBytes(hwDisk.getReadBytes()), hwDisk.getWrites(),
+						FormatUtil.toBytes(hwDisk.getWriteBytes()), hwDisk.getTransferTime(), hwDisk.getTimeStamp(),
+						partitionList(hwDisk));
+			} else {
+				hardDisk.setReads(hwDisk.getReads());
+				hardDisk.setReadBytes(FormatUtil.toBytes(hwDisk.getReadBytes()));
+				hardDisk.setWrites(hwDisk.getWrites());
+				hardDisk.setWriteBytes(FormatUtil.toBytes(hwDisk.getWriteBytes()));
+				hardDisk.setTransferTime(hwDisk.getTransferTime());
+				hardDisk.setTimeStamp(hwDisk.getTimeStamp());
+				refreshPartitions(hardDisk.getPartitions(), hwDisk);
+			}
+			_disk.getDiskList().add(hardDisk);
+		}
+	}
+
+	/**
+	 * Method to update free space of partitions in place. Partitions are
+	 * matched by identification, new ones are added and removed ones are
+	 * dropped.
+	 * 
+	 * @param _partitions
+	 *            - partitions of hard disk built before
+	 * @param _hwDisk
+	 */
+	private void refreshPartitions(List<Partition> _partitions, HWDiskStore _hwDisk) {
+		Map<String, Partition> previousPartitions = new HashMap<String, Partition>();
+		_partitions.forEach(partition -> previousPartitions.put(partition.getId(), partition));
+		_partitions.clear();
+
+		OSFileStore[] fileStores = getSystemInfo().getOperatingSystem().getFileSystem().getFileStores();
+		for (HWPartition hwPartition : _hwDisk.getPartitions()) {
+			for (OSFileStore fileStore : fileStores) {
+				if (hwPartition.getMountPoint().equals(fileStore.getMount())) {
+					Partition partition = previousPartitions.get(hwPartition.getIdentification());
+					if (partition == null) {
+						partition = partition(hwPartition, fileStore);
+					} else {
+						partition.setUsableSpace(fileStore.getUsableSpace());
+						partition.setTotalSpace(fileStore.getTotalSpace());
+					}
+					_partitions.add(partition);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Method to create partition of hard disk.
+	 * 
+	 * @param _hwPartition
+	 * @param _fileStore
+	 *            - file store mounted on partition
+	 * @return partition of hard disk
+	 */
+	private Partition partition(HWPartition _hwPartition, OSFileStore _fileStore) {
+		return new Partition(_hwPartition.getIdentification(), _hwPartition.getName(), _hwPartition.getType(),
+				_hwPartition.getUuid(), _hwPartition.getMountPoint(), _hwPartition.getMajor(), _hwPartition.getMinor(),
+				FormatUtil.formatBytesDecimal(_hwPartition.getSize()), _fileStore.getType(),
+				_fileStore.getUsableSpace(), _fileStore.getTotalSpace());
+	}
+
+	/**
+	 * Method to build identities of hard disks. Identities are built once and
+	 * kept until set of hard disks changes, every caller gets its own copies.
+	 * 
+	 * @return list of hard disk identities
+	 */
+	public List<DiskDescriptor> buildDescriptors() {
+		synchronized (DiskInfo.class) {
+			if (descriptors == null) {
+				List<DiskDescriptor> descriptorList = new ArrayList<DiskDescriptor>();
+
+				Arrays.asList(getHardwareAbstractionLayer().getDiskStores())
+						.forEach(hwDisk -> descriptorList.add(new DiskDescriptor(hwDisk.getName(), hwDisk.getSerial(),
+								hwDisk.getModel(), hwDisk.getSize())));
+				descriptors = descriptorList;
+			}
+
+			List<DiskDescriptor> descriptorList = new ArrayList<DiskDescriptor>();
+			descriptors.forEach(descriptor -> descriptorList.add(new DiskDescriptor(descriptor.getId(),
+					descriptor.getSerial(), descriptor.getModel(), descriptor.getSize())));
+
+			return descriptorList;
+		}
+	}
+
+	/**
+	 * Method to remove kept identities of hard disks, so they are built again
+	 * on next call of {@link #buildDescriptors()}.
+	 */
+	public static void invalidateDescriptors() {
+		synchronized (DiskInfo.class) {
+			descriptors = null;
+		}
+	}
+
+	/**
+	 * Method to build dynamic counters of hard disks. Partitions are not read.
+	 * If set of hard disks is different than in kept identities, identities
+	 * are built again on next call of {@link #buildDescriptors()}.
+	 * 
+	 * @return list of hard disk samples
+	 */
+	public List<DiskSample> buildSamples() {
+		List<DiskSample> sampleList = new ArrayList<DiskSample>();
+
+		Arrays.asList(getHardwareAbstractionLayer().getDiskStores())
+				.forEach(hwDisk -> sampleList.add(new DiskSample(hwDisk.getName(), hwDisk.getReads(),
+						hwDisk.getReadBytes(), hwDisk.getWrites(), hwDisk.getWriteBytes(), hwDisk.getTransferTime(),
+						hwDisk.getTimeStamp())));
+
+		synchronized (DiskInfo.class) {
+			if (descriptors != null && !sameIds(descriptors, sampleList)) {
+				descriptors = null;
+			}
+		}
+
+		return sampleList;
+	}
+
 	/**
 	 * Method to configure list of partitions of hard disk.
 	 * 
@@ -83,12 +219,7 @@ public final class DiskInfo extends HardwareAbstract implements HardwareInfo<Dis
 		for (HWPartition hwPartition : partitions) {
 			for (OSFileStore fileStore : fileSystems) {
 				if (hwPartition.getMountPoint().equals(fileStore.getMount())) {
-					Partition partition = new Partition(hwPartition.getIdentification(), hwPartition.getName(),
-							hwPartition.getType(), hwPartition.getUuid(), hwPartition.getMountPoint(),
-							hwPartition.getMajor(), hwPartition.getMinor(),
-							FormatUtil.formatBytesDecimal(hwPartition.getSize()), fileStore.getType(),
-							fileStore.getUsableSpace(), fileStore.getTotalSpace());
-					partitionList.add(partition);
+					partitionList.add(partition(hwPartition, fileStore));
 				}
 			}
 		}
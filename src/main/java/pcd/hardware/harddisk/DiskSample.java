@@ -0,0 +1,181 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.harddisk;
+
+import pcd.Component;
+
+/**
+ * Class representation of dynamic hard disk counters of one moment. Identity
+ * of hard disk is kept in {@link DiskDescriptor} with the same id, which is
+ * name of hard disk.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class DiskSample extends Component {
+	private static final long serialVersionUID = -2196381176301584420L;
+	private long reads, readBytes, writes, writeBytes, transferTime, timeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _reads
+	 * @param _readBytes
+	 * @param _writes
+	 * @param _writeBytes
+	 * @param _transferTime
+	 * @param _timeStamp
+	 */
+	public DiskSample(String _id, long _reads, long _readBytes, long _writes, long _writeBytes, long _transferTime,
+			long _timeStamp) {
+		super(_id);
+		this.reads = _reads;
+		this.readBytes = _readBytes;
+		this.writes = _writes;
+		this.writeBytes = _writeBytes;
+		this.transferTime = _transferTime;
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get number of reads.
+	 * 
+	 * @return reads
+	 */
+	public long getReads() {
+		return reads;
+	}
+
+	/**
+	 * Method to set number of reads.
+	 * 
+	 * @param _reads
+	 */
+	public void setReads(long _reads) {
+		this.reads = _reads;
+	}
+
+	/**
+	 * Method to get number of read bytes.
+	 * 
+	 * @return readBytes
+	 */
+	public long getReadBytes() {
+		return readBytes;
+	}
+
+	/**
+	 * Method to set number of read bytes.
+	 * 
+	 * @param _readBytes
+	 */
+	public void setReadBytes(long _readBytes) {
+		this.readBytes = _readBytes;
+	}
+
+	/**
+	 * Method to get number of writes.
+	 * 
+	 * @return writes
+	 */
+	public long getWrites() {
+		return writes;
+	}
+
+	/**
+	 * Method to set number of writes.
+	 * 
+	 * @param _writes
+	 */
+	public void setWrites(long _writes) {
+		this.writes = _writes;
+	}
+
+	/**
+	 * Method to get number of written bytes.
+	 * 
+	 * @return writeBytes
+	 */
+	public long getWriteBytes() {
+		return writeBytes;
+	}
+
+	/**
+	 * Method to set number of written bytes.
+	 * 
+	 * @param _writeBytes
+	 */
+	public void setWriteBytes(long _writeBytes) {
+		this.writeBytes = _writeBytes;
+	}
+
+	/**
+	 * Method to get time spent on transfers in milliseconds.
+	 * 
+	 * @return transferTime
+	 */
+	public long getTransferTime() {
+		return transferTime;
+	}
+
+	/**
+	 * Method to set time spent on transfers in milliseconds.
+	 * 
+	 * @param _transferTime
+	 */
+	public void setTransferTime(long _transferTime) {
+		this.transferTime = _transferTime;
+	}
+
+	/**
+	 * Method to get time of sample in milliseconds.
+	 * 
+	 * @return timeStamp
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of sample in milliseconds.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== Disk Sample ===");
+
+		sb.append("\nDisk Name: ");
+		sb.append(getId());
+		sb.append("\nDisk Reads: ");
+		sb.append(getReads());
+		sb.append("\nDisk Read Bytes: ");
+		sb.append(getReadBytes());
+		sb.append("\nDisk Writes: ");
+		sb.append(getWrites());
+		sb.append("\nDisk Write Bytes: ");
+		sb.append(getWriteBytes());
+		sb.append("\nDisk Transfer Time: ");
+		sb.append(getTransferTime());
+		sb.append("\nDisk Time Stamp: ");
+		sb.append(getTimeStamp());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
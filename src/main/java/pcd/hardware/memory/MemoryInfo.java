@@ -16,9 +16,11 @@ package pcd.hardware.memory;
 
 import oshi.SystemInfo;
 import oshi.hardware.GlobalMemory;
+import pcd.Refreshable;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
 import pcd.util.FormatUtil;
+import pcd.util.HardwareInfoCache;
 
 /**
  * Class to build memory informations. Should be use as command to build model
@@ -26,12 +28,14 @@ import pcd.util.FormatUtil;
  * 
  * @author Mateusz Mucha
  */
-public final class MemoryInfo extends HardwareAbstract implements HardwareInfo<Ram> {
+public final class MemoryInfo extends HardwareAbstract implements HardwareInfo<Ram>, Refreshable<Ram> {
+	private static RamDescriptor descriptor = null;
+
 	/**
 	 * Default constructor.
 	 */
 	public MemoryInfo() {
-		super(org.jutils.jhardware.HardwareInfo.getMemoryInfo().getFullInfo());
+		super(HardwareInfoCache.get(HardwareInfoCache.Type.MEMORY));
 	}
 
 	/**
@@ -41,7 +45,7 @@ public final class MemoryInfo extends HardwareAbstract implements HardwareInfo<R
 	 *            - system info object of OSHI API
 	 */
 	public MemoryInfo(SystemInfo _systemInfo) {
-		super(_systemInfo, org.jutils.jhardware.HardwareInfo.getMemoryInfo().getFullInfo());
+		super(_systemInfo, HardwareInfoCache.get(HardwareInfoCache.Type.MEMORY));
 	}
 
 	public Ram buildHardware() {
@@ -52,6 +56,63 @@ public final class MemoryInfo extends HardwareAbstract implements HardwareInfo<R
 				FormatUtil.toBytes(_memory.getSwapUsed()), speed(), totalWidth());
 	}
 
+	public void refresh(Ram _ram) {
+		GlobalMemory _memory = getHardwareAbstractionLayer().getMemory();
+
+		_ram.setRamAvailable(FormatUtil.toBytes(_memory.getAvailable()));
+		_ram.setSwapTotal(FormatUtil.toBytes(_memory.getSwapTotal()));
+		_ram.setSwapUsed(FormatUtil.toBytes(_memory.getSwapUsed()));
+	}
+
+	/**
+	 * Method to build memory identity. Identity is built once and kept until
+	 * total memory or swap changes, every caller gets its own copy.
+	 * 
+	 * @return memory identity
+	 */
+	public RamDescriptor buildDescriptor() {
+		synchronized (MemoryInfo.class) {
+			if (descriptor == null) {
+				GlobalMemory _memory = getHardwareAbstractionLayer().getMemory();
+				descriptor = new RamDescriptor(serialNumber(), _memory.getTotal(), _memory.getSwapTotal(), speed(),
+						totalWidth());
+			}
+
+			return new RamDescriptor(descriptor.getId(), descriptor.getTotal(), descriptor.getSwapTotal(),
+					descriptor.getSpeed(), descriptor.getTotalWidth());
+		}
+	}
+
+	/**
+	 * Method to remove kept memory identity, so it is built again on next call
+	 * of {@link #buildDescriptor()}.
+	 */
+	public static void invalidateDescriptor() {
+		synchronized (MemoryInfo.class) {
+			descriptor = null;
+		}
+	}
+
+	/**
+	 * Method to build dynamic memory metrics. If total memory or swap is
+	 * different than in kept identity, identity is built again on next call of
+	 * {@link #buildDescriptor()}.
+	 * 
+	 * @return memory sample
+	 */
+	public RamSample buildSample() {
+		GlobalMemory _memory = getHardwareAbstractionLayer().getMemory();
+		synchronized (MemoryInfo.class) {
+			if (descriptor != null && (descriptor.getTotal() != _memory.getTotal()
+					|| descriptor.getSwapTotal() != _memory.getSwapTotal())) {
+				descriptor = null;
+			}
+		}
+
+		return new RamSample(serialNumber(), _memory.getAvailable(), _memory.getSwapUsed(),
+				System.currentTimeMillis());
+	}
+
 	/**
 	 * Method to get total width of memory.
 	 * 
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.memory;
+
+import pcd.Component;
+
+/**
+ * Class representation of memory identity which does not change while system
+ * is running. Should be collected once and sent before {@link RamSample}
+ * objects.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class RamDescriptor extends Component {
+	private static final long serialVersionUID = 3071960718411950262L;
+	private long total, swapTotal;
+	private String speed, totalWidth;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _total
+	 * @param _swapTotal
+	 * @param _speed
+	 * @param _totalWidth
+	 */
+	public RamDescriptor(String _id, long _total, long _swapTotal, String _speed, String _totalWidth) {
+		super(_id);
+		this.total = _total;
+		this.swapTotal = _swapTotal;
+		this.speed = _speed;
+		this.totalWidth = _totalWidth;
+	}
+
+	/**
+	 * Method to get total memory in bytes.
+	 * 
+	 * @return total
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Method to set total memory in bytes.
+	 * 
+	 * @param _total
+	 */
+	public void setTotal(long _total) {
+		this.total = _total;
+	}
+
+	/**
+	 * Method to get total swap in bytes.
+	 * 
+	 * @return swapTotal
+	 */
+	public long getSwapTotal() {
+		return swapTotal;
+	}
+
+	/**
+	 * Method to set total swap in bytes.
+	 * 
+	 * @param _swapTotal
+	 */
+	public void setSwapTotal(long _swapTotal) {
+		this.swapTotal = _swapTotal;
+	}
+
+	/**
+	 * Method to get speed of memory.
+	 * 
+	 * @return speed
+	 */
+	public String getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Method to set speed of memory.
+	 * 
+	 * @param _speed
+	 */
+	public void setSpeed(String _speed) {
+		this.speed = _speed;
+	}
+
+	/**
+	 * Method to get total width of memory.
+	 * 
+	 * @return totalWidth
+	 */
+	public String getTotalWidth() {
+		return totalWidth;
+	}
+
+	/**
+	 * Method to set total width of memory.
+	 * 
+	 * @param _totalWidth
+	 */
+	public void setTotalWidth(String _totalWidth) {
+		this.totalWidth = _totalWidth;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== RAM Descriptor ===");
+
+		sb.append("\nRAM Serial Number: ");
+		sb.append(getId());
+		sb.append("\nRAM Total: ");
+		sb.append(getTotal());
+		sb.append("\nRAM Swap Total: ");
+		sb.append(getSwapTotal());
+		sb.append("\nRAM Speed: ");
+		sb.append(getSpeed());
+		sb.append("\nRAM Total Width: ");
+		sb.append(getTotalWidth());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
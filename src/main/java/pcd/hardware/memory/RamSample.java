@@ -0,0 +1,113 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.memory;
+
+import pcd.Component;
+
+/**
+ * Class representation of dynamic memory metrics of one moment. Identity of
+ * memory is kept in {@link RamDescriptor} with the same id.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class RamSample extends Component {
+	private static final long serialVersionUID = -7361496081190387003L;
+	private long available, swapUsed, timeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _available
+	 * @param _swapUsed
+	 * @param _timeStamp
+	 */
+	public RamSample(String _id, long _available, long _swapUsed, long _timeStamp) {
+		super(_id);
+		this.available = _available;
+		this.swapUsed = _swapUsed;
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get available memory in bytes.
+	 * 
+	 * @return available
+	 */
+	public long getAvailable() {
+		return available;
+	}
+
+	/**
+	 * Method to set available memory in bytes.
+	 * 
+	 * @param _available
+	 */
+	public void setAvailable(long _available) {
+		this.available = _available;
+	}
+
+	/**
+	 * Method to get used swap in bytes.
+	 * 
+	 * @return swapUsed
+	 */
+	public long getSwapUsed() {
+		return swapUsed;
+	}
+
+	/**
+	 * Method to set used swap in bytes.
+	 * 
+	 * @param _swapUsed
+	 */
+	public void setSwapUsed(long _swapUsed) {
+		this.swapUsed = _swapUsed;
+	}
+
+	/**
+	 * Method to get time of sample in milliseconds.
+	 * 
+	 * @return timeStamp
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of sample in milliseconds.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== RAM Sample ===");
+
+		sb.append("\nRAM Serial Number: ");
+		sb.append(getId());
+		sb.append("\nRAM Available: ");
+		sb.append(getAvailable());
+		sb.append("\nRAM Swap Used: ");
+		sb.append(getSwapUsed());
+		sb.append("\nRAM Time Stamp: ");
+		sb.append(getTimeStamp());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
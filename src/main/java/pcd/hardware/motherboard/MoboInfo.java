@@ -17,6 +17,7 @@ package pcd.hardware.motherboard;
 import oshi.SystemInfo;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
+import pcd.util.HardwareInfoCache;
 
 /**
  * Class to build motherboard informations. Should be use as command to build
@@ -29,7 +30,7 @@ public final class MoboInfo extends HardwareAbstract implements HardwareInfo<Mot
 	 * Default constructor.
 	 */
 	public MoboInfo() {
-		super(org.jutils.jhardware.HardwareInfo.getMotherboardInfo().getFullInfo());
+		super(HardwareInfoCache.get(HardwareInfoCache.Type.MOTHERBOARD));
 	}
 
 	/**
@@ -39,7 +40,7 @@ public final class MoboInfo extends HardwareAbstract implements HardwareInfo<Mot
 	 *            - system info object of OSHI API
 	 */
 	public MoboInfo(SystemInfo _systemInfo) {
-		super(_systemInfo, org.jutils.jhardware.HardwareInfo.getMotherboardInfo().getFullInfo());
+		super(_systemInfo, HardwareInfoCache.get(HardwareInfoCache.Type.MOTHERBOARD));
 	}
 
 	public Motherboard buildHardware() {
@@ -16,11 +16,15 @@ package pcd.hardware.network;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import oshi.SystemInfo;
+import oshi.hardware.NetworkIF;
 import oshi.software.os.NetworkParams;
 import oshi.software.os.OperatingSystem;
+import pcd.Refreshable;
 import pcd.hardware.HardwareAbstract;
 import pcd.hardware.HardwareInfo;
 import pcd.util.FormatUtil;
@@ -31,7 +35,9 @@ import pcd.util.FormatUtil;
  * 
  * @author Mateusz Mucha
  */
-public final class NetworkInfo extends HardwareAbstract implements HardwareInfo<Network> {
+public final class NetworkInfo extends HardwareAbstract implements HardwareInfo<Network>, Refreshable<Network> {
+	private static List<NetworkInterfaceDescriptor> descriptors = null;
+
 	/**
 	 * Default constructor.
 	 */
@@ -52,16 +58,8 @@ public final class NetworkInfo extends HardwareAbstract implements HardwareInfo<
 	public Network buildHardware() {
 		List<NetworkInterface> networkList = new ArrayList<NetworkInterface>();
 
-		Arrays.asList(getHardwareAbstractionLayer().getNetworkIFs()).forEach(networkIF -> {
-			NetworkInterface network = new NetworkInterface(
-					new StringBuilder(networkIF.getName()).append(" ").append(networkIF.getDisplayName()).toString(),
-					networkIF.getMTU(), networkIF.getMacaddr(), Arrays.toString(networkIF.getIPv4addr()),
-					Arrays.toString(networkIF.getIPv6addr()), FormatUtil.toBytes(networkIF.getBytesRecv()),
-					FormatUtil.toBytes(networkIF.getBytesSent()), networkIF.getPacketsRecv(),
-					networkIF.getPacketsSent(), networkIF.getInErrors(), networkIF.getOutErrors(),
-					FormatUtil.formatValue(networkIF.getSpeed(), "bps"), networkIF.getTimeStamp());
-			networkList.add(network);
-		});
+		Arrays.asList(getHardwareAbstractionLayer().getNetworkIFs())
+				.forEach(networkIF -> networkList.add(networkInterface(networkIF)));
 
 		OperatingSystem operatingSystem = getSystemInfo().getOperatingSystem();
 		NetworkParams networkParams = operatingSystem.getNetworkParams();
@@ -71,4 +69,119 @@ public final class NetworkInfo extends HardwareAbstract implements HardwareInfo<
 				networkParams.getHostName(), networkParams.getDomainName(), networkParams.getIpv4DefaultGateway(),
 				networkParams.getIpv6DefaultGateway(), dnsServers);
 	}
+
+	public void refresh(Network _network) {
+		Map<String, NetworkInterface> previousInterfaces = new HashMap<String, NetworkInterface>();
+		_network.getNetworkInterfacesList().forEach(network -> previousInterfaces.put(network.getId(), network));
+		_network.getNetworkInterfacesList().clear();
+
+		for (NetworkIF networkIF : getHardwareAbstractionLayer().getNetworkIFs()) {
+			NetworkInterface network = previousInterfaces.get(interfaceId(networkIF));
+			if (network == null) {
+				network = networkInterface(networkIF);
+			} else {
+				network.setIpv4(Arrays.toString(networkIF.getIPv4addr()));
+				network.setIpv6(Arrays.toString(networkIF.getIPv6addr()));
+				network.setBytesRecv(FormatUtil.toBytes(networkIF.getBytesRecv()));
+				network.setBytesSent(FormatUtil.toBytes(networkIF.getBytesSent()));
+				network.setPacketsRecv(networkIF.getPacketsRecv());
+				network.setPacketsSent(networkIF.getPacketsSent());
+				network.setInErrors(networkIF.getInErrors());
+				network.setOutErrors(networkIF.getOutErrors());
+				network.setSpeed(FormatUtil.formatValue(networkIF.getSpeed(), "bps"));
+				network.setTimeStamp(networkIF.getTimeStamp());
+			}
+			_network.getNetworkInterfacesList().add(network);
+		}
+	}
+
+	/**
+	 * Method to create network interface.
+	 * 
+	 * @param _networkIF
+	 *            - network interface of OSHI API
+	 * @return network interface
+	 */
+	private NetworkInterface networkInterface(NetworkIF _networkIF) {
+		return new NetworkInterface(interfaceId(_networkIF), _networkIF.getMTU(), _networkIF.getMacaddr(),
+				Arrays.toString(_networkIF.getIPv4addr()), Arrays.toString(_networkIF.getIPv6addr()),
+				FormatUtil.toBytes(_networkIF.getBytesRecv()), FormatUtil.toBytes(_networkIF.getBytesSent()),
+				_networkIF.getPacketsRecv(), _networkIF.getPacketsSent(), _networkIF.getInErrors(),
+				_networkIF.getOutErrors(), FormatUtil.formatValue(_networkIF.getSpeed(), "bps"),
+				_networkIF.getTimeStamp());
+	}
+
+	/**
+	 * Method to create id of network interface from its name and display
+	 * name.
+	 * 
+	 * @param _networkIF
+	 *            - network interface of OSHI API
+	 * @return id of network interface
+	 */
+	private static String interfaceId(NetworkIF _networkIF) {
+		return new StringBuilder(_networkIF.getName()).append(" ").append(_networkIF.getDisplayName()).toString();
+	}
+
+	/**
+	 * Method to build identities of network interfaces. Identities are built
+	 * once and kept until set of interfaces changes, every caller gets its own
+	 * copies.
+	 * 
+	 * @return list of network interface identities
+	 */
+	public List<NetworkInterfaceDescriptor> buildDescriptors() {
+		synchronized (NetworkInfo.class) {
+			if (descriptors == null) {
+				List<NetworkInterfaceDescriptor> descriptorList = new ArrayList<NetworkInterfaceDescriptor>();
+
+				Arrays.asList(getHardwareAbstractionLayer().getNetworkIFs())
+						.forEach(networkIF -> descriptorList.add(new NetworkInterfaceDescriptor(networkIF.getName(),
+								networkIF.getDisplayName(), networkIF.getMacaddr(), networkIF.getMTU(),
+								networkIF.getSpeed())));
+				descriptors = descriptorList;
+			}
+
+			List<NetworkInterfaceDescriptor> descriptorList = new ArrayList<NetworkInterfaceDescriptor>();
+			descriptors.forEach(descriptor -> descriptorList.add(new NetworkInterfaceDescriptor(descriptor.getId(),
+					descriptor.getDisplayName(), descriptor.getMac(), descriptor.getMtu(), descriptor.getSpeed())));
+
+			return descriptorList;
+		}
+	}
+
+	/**
+	 * Method to build dynamic counters and addresses of network interfaces. If
+	 * set of interfaces is different than in kept identities, identities are
+	 * built again on next call of {@link #buildDescriptors()}.
+	 * 
+	 * @return list of network interface samples
+	 */
+	public List<NetworkInterfaceSample> buildSamples() {
+		List<NetworkInterfaceSample> sampleList = new ArrayList<NetworkInterfaceSample>();
+
+		Arrays.asList(getHardwareAbstractionLayer().getNetworkIFs())
+				.forEach(networkIF -> sampleList.add(new NetworkInterfaceSample(networkIF.getName(),
+						networkIF.getIPv4addr(), networkIF.getIPv6addr(), networkIF.getBytesRecv(),
+						networkIF.getBytesSent(), networkIF.getPacketsRecv(), networkIF.getPacketsSent(),
+						networkIF.getInErrors(), networkIF.getOutErrors(), networkIF.getTimeStamp())));
+
+		synchronized (NetworkInfo.class) {
+			if (descriptors != null && !sameIds(descriptors, sampleList)) {
+				descriptors = null;
+			}
+		}
+
+		return sampleList;
+	}
+
+	/**
+	 * Method to remove kept identities of network interfaces, so they are
+	 * built again on next call of {@link #buildDescriptors()}.
+	 */
+	public static void invalidateDescriptors() {
+		synchronized (NetworkInfo.class) {
+			descriptors = null;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.network;
+
+import pcd.Component;
+
+/**
+ * Class representation of network interface identity which does not change
+ * while interface is present. Should be collected once and sent before
+ * {@link NetworkInterfaceSample} objects. Addresses may change at runtime, so
+ * they are kept in samples.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class NetworkInterfaceDescriptor extends Component {
+	private static final long serialVersionUID = 5214009860813917637L;
+	private String displayName, mac;
+	private int mtu;
+	private long speed;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _displayName
+	 * @param _mac
+	 * @param _mtu
+	 * @param _speed
+	 */
+	public NetworkInterfaceDescriptor(String _id, String _displayName, String _mac, int _mtu, long _speed) {
+		super(_id);
+		this.displayName = _displayName;
+		this.mac = _mac;
+		this.mtu = _mtu;
+		this.speed = _speed;
+	}
+
+	/**
+	 * Method to get display name of network interface.
+	 * 
+	 * @return displayName
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Method to set display name of network interface.
+	 * 
+	 * @param _displayName
+	 */
+	public void setDisplayName(String _displayName) {
+		this.displayName = _displayName;
+	}
+
+	/**
+	 * Method to get MAC address.
+	 * 
+	 * @return mac
+	 */
+	public String getMac() {
+		return mac;
+	}
+
+	/**
+	 * Method to set MAC address.
+	 * 
+	 * @param _mac
+	 */
+	public void setMac(String _mac) {
+		this.mac = _mac;
+	}
+
+	/**
+	 * Method to get Maximum Transmission Unit(MTU).
+	 * 
+	 * @return mtu
+	 */
+	public int getMtu() {
+		return mtu;
+	}
+
+	/**
+	 * Method to set Maximum Transmission Unit(MTU).
+	 * 
+	 * @param _mtu
+	 */
+	public void setMtu(int _mtu) {
+		this.mtu = _mtu;
+	}
+
+	/**
+	 * Method to get speed of network interface in bits per second.
+	 * 
+	 * @return speed
+	 */
+	public long getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Method to set speed of network interface in bits per second.
+	 * 
+	 * @param _speed
+	 */
+	public void setSpeed(long _speed) {
+		this.speed = _speed;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== Network Interface Descriptor ===");
+
+		sb.append("\nNetwork Name: ");
+		sb.append(getId());
+		sb.append("\nNetwork Display Name: ");
+		sb.append(getDisplayName());
+		sb.append("\nNetwork MAC: ");
+		sb.append(getMac());
+		sb.append("\nNetwork MTU: ");
+		sb.append(getMtu());
+		sb.append("\nNetwork Speed: ");
+		sb.append(getSpeed());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
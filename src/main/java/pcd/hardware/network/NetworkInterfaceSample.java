@@ -0,0 +1,250 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.network;
+
+import java.util.Arrays;
+
+import pcd.Component;
+
+/**
+ * Class representation of dynamic network interface counters and addresses of
+ * one moment. Identity of interface is kept in
+ * {@link NetworkInterfaceDescriptor} with the same id.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class NetworkInterfaceSample extends Component {
+	private static final long serialVersionUID = -4632791125587436127L;
+	private String[] ipv4, ipv6;
+	private long bytesRecv, bytesSent, packetsRecv, packetsSent, inErrors, outErrors, timeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 * @param _ipv4
+	 * @param _ipv6
+	 * @param _bytesRecv
+	 * @param _bytesSent
+	 * @param _packetsRecv
+	 * @param _packetsSent
+	 * @param _inErrors
+	 * @param _outErrors
+	 * @param _timeStamp
+	 */
+	public NetworkInterfaceSample(String _id, String[] _ipv4, String[] _ipv6, long _bytesRecv, long _bytesSent,
+			long _packetsRecv, long _packetsSent, long _inErrors, long _outErrors, long _timeStamp) {
+		super(_id);
+		this.ipv4 = _ipv4;
+		this.ipv6 = _ipv6;
+		this.bytesRecv = _bytesRecv;
+		this.bytesSent = _bytesSent;
+		this.packetsRecv = _packetsRecv;
+		this.packetsSent = _packetsSent;
+		this.inErrors = _inErrors;
+		this.outErrors = _outErrors;
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get IPv4 addresses.
+	 * 
+	 * @return ipv4
+	 */
+	public String[] getIpv4() {
+		return ipv4;
+	}
+
+	/**
+	 * Method to set IPv4 addresses.
+	 * 
+	 * @param _ipv4
+	 */
+	public void setIpv4(String[] _ipv4) {
+		this.ipv4 = _ipv4;
+	}
+
+	/**
+	 * Method to get IPv6 addresses.
+	 * 
+	 * @return ipv6
+	 */
+	public String[] getIpv6() {
+		return ipv6;
+	}
+
+	/**
+	 * Method to set IPv6 addresses.
+	 * 
+	 * @param _ipv6
+	 */
+	public void setIpv6(String[] _ipv6) {
+		this.ipv6 = _ipv6;
+	}
+
+	/**
+	 * Method to get number of received bytes.
+	 * 
+	 * @return bytesRecv
+	 */
+	public long getBytesRecv() {
+		return bytesRecv;
+	}
+
+	/**
+	 * Method to set number of received bytes.
+	 * 
+	 * @param _bytesRecv
+	 */
+	public void setBytesRecv(long _bytesRecv) {
+		this.bytesRecv = _bytesRecv;
+	}
+
+	/**
+	 * Method to get number of sent bytes.
+	 * 
+	 * @return bytesSent
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	/**
+	 * Method to set number of sent bytes.
+	 * 
+	 * @param _bytesSent
+	 */
+	public void setBytesSent(long _bytesSent) {
+		this.bytesSent = _bytesSent;
+	}
+
+	/**
+	 * Method to get number of received packets.
+	 * 
+	 * @return packetsRecv
+	 */
+	public long getPacketsRecv() {
+		return packetsRecv;
+	}
+
+	/**
+	 * Method to set number of received packets.
+	 * 
+	 * @param _packetsRecv
+	 */
+	public void setPacketsRecv(long _packetsRecv) {
+		this.packetsRecv = _packetsRecv;
+	}
+
+	/**
+	 * Method to get number of sent packets.
+	 * 
+	 * @return packetsSent
+	 */
+	public long getPacketsSent() {
+		return packetsSent;
+	}
+
+	/**
+	 * Method to set number of sent packets.
+	 * 
+	 * @param _packetsSent
+	 */
+	public void setPacketsSent(long _packetsSent) {
+		this.packetsSent = _packetsSent;
+	}
+
+	/**
+	 * Method to get number of input errors.
+	 * 
+	 * @return inErrors
+	 */
+	public long getInErrors() {
+		return inErrors;
+	}
+
+	/**
+	 * Method to set number of input errors.
+	 * 
+	 * @param _inErrors
+	 */
+	public void setInErrors(long _inErrors) {
+		this.inErrors = _inErrors;
+	}
+
+	/**
+	 * Method to get number of output errors.
+	 * 
+	 * @return outErrors
+	 */
+	public long getOutErrors() {
+		return outErrors;
+	}
+
+	/**
+	 * Method to set number of output errors.
+	 * 
+	 * @param _outErrors
+	 */
+	public void setOutErrors(long _outErrors) {
+		this.outErrors = _outErrors;
+	}
+
+	/**
+	 * Method to get time of sample in milliseconds.
+	 * 
+	 * @return timeStamp
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of sample in milliseconds.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== Network Interface Sample ===");
+
+		sb.append("\nNetwork Name: ");
+		sb.append(getId());
+		sb.append("\nNetwork IPv4: ");
+		sb.append(Arrays.toString(getIpv4()));
+		sb.append("\nNetwork IPv6: ");
+		sb.append(Arrays.toString(getIpv6()));
+		sb.append("\nNetwork Bytes Recv: ");
+		sb.append(getBytesRecv());
+		sb.append("\nNetwork Bytes Sent: ");
+		sb.append(getBytesSent());
+		sb.append("\nNetwork Packets Recv: ");
+		sb.append(getPacketsRecv());
+		sb.append("\nNetwork Packets Sent: ");
+		sb.append(getPacketsSent());
+		sb.append("\nNetwork In Errors: ");
+		sb.append(getInErrors());
+		sb.append("\nNetwork Out Errors: ");
+		sb.append(getOutErrors());
+		sb.append("\nNetwork Time Stamp: ");
+		sb.append(getTimeStamp());
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
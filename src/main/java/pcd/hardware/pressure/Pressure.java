@@ -0,0 +1,433 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.pressure;
+
+import pcd.Component;
+
+/**
+ * Class representation of Pressure Stall Information (PSI) of processor,
+ * memory and I/O. Resources not supported by kernel are null.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class Pressure extends Component {
+	private static final long serialVersionUID = 5460741287019442173L;
+	private ResourcePressure cpu, memory, io;
+	private long timeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _cpu
+	 * @param _memory
+	 * @param _io
+	 * @param _timeStamp
+	 *            - time of reading in milliseconds
+	 */
+	public Pressure(ResourcePressure _cpu, ResourcePressure _memory, ResourcePressure _io, long _timeStamp) {
+		super(null);
+		this.cpu = _cpu;
+		this.memory = _memory;
+		this.io = _io;
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get processor pressure.
+	 * 
+	 * @return processor pressure or null if not supported
+	 */
+	public ResourcePressure getCpu() {
+		return cpu;
+	}
+
+	/**
+	 * Method to set processor pressure.
+	 * 
+	 * @param _cpu
+	 */
+	public void setCpu(ResourcePressure _cpu) {
+		this.cpu = _cpu;
+	}
+
+	/**
+	 * Method to get memory pressure.
+	 * 
+	 * @return memory pressure or null if not supported
+	 */
+	public ResourcePressure getMemory() {
+		return memory;
+	}
+
+	/**
+	 * Method to set memory pressure.
+	 * 
+	 * @param _memory
+	 */
+	public void setMemory(ResourcePressure _memory) {
+		this.memory = _memory;
+	}
+
+	/**
+	 * Method to get I/O pressure.
+	 * 
+	 * @return I/O pressure or null if not supported
+	 */
+	public ResourcePressure getIo() {
+		return io;
+	}
+
+	/**
+	 * Method to set I/O pressure.
+	 * 
+	 * @param _io
+	 */
+	public void setIo(ResourcePressure _io) {
+		this.io = _io;
+	}
+
+	/**
+	 * Method to get time of reading in milliseconds.
+	 * 
+	 * @return timeStamp
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of reading in milliseconds.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("==== Pressure Stall Information ====");
+
+		for (ResourcePressure resource : new ResourcePressure[] { getCpu(), getMemory(), getIo() }) {
+			if (resource != null) {
+				sb.append("\n");
+				sb.append(resource.componentAsString());
+			}
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Class representation of pressure of one resource. Averages are
+	 * percentages of time in last 10, 60 and 300 seconds when some or all non
+	 * idle tasks were stalled. Totals are stall time in microseconds. Deltas
+	 * are stall time during interval since previous reading, so delta divided
+	 * by interval is share of interval when tasks were stalled.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public static final class ResourcePressure extends Component {
+		private static final long serialVersionUID = -3161850873625447071L;
+		private double someAvg10, someAvg60, someAvg300, fullAvg10, fullAvg60, fullAvg300;
+		private long someTotal, fullTotal, someTotalDelta, fullTotalDelta, interval;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param _id
+		 *            - name of resource e.g. cpu, memory, io
+		 * @param _someAvg10
+		 * @param _someAvg60
+		 * @param _someAvg300
+		 * @param _someTotal
+		 * @param _someTotalDelta
+		 * @param _fullAvg10
+		 * @param _fullAvg60
+		 * @param _fullAvg300
+		 * @param _fullTotal
+		 * @param _fullTotalDelta
+		 * @param _interval
+		 *            - time in microseconds since previous reading or 0 if
+		 *            there was no previous reading
+		 */
+		public ResourcePressure(String _id, double _someAvg10, double _someAvg60, double _someAvg300,
+				long _someTotal, long _someTotalDelta, double _fullAvg10, double _fullAvg60, double _fullAvg300,
+				long _fullTotal, long _fullTotalDelta, long _interval) {
+			super(_id);
+			this.someAvg10 = _someAvg10;
+			this.someAvg60 = _someAvg60;
+			this.someAvg300 = _someAvg300;
+			this.someTotal = _someTotal;
+			this.someTotalDelta = _someTotalDelta;
+			this.fullAvg10 = _fullAvg10;
+			this.fullAvg60 = _fullAvg60;
+			this.fullAvg300 = _fullAvg300;
+			this.fullTotal = _fullTotal;
+			this.fullTotalDelta = _fullTotalDelta;
+			this.interval = _interval;
+		}
+
+		/**
+		 * Method to get percentage of last 10 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @return some avg10
+		 */
+		public double getSomeAvg10() {
+			return someAvg10;
+		}
+
+		/**
+		 * Method to set percentage of last 10 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @param _someAvg10
+		 */
+		public void setSomeAvg10(double _someAvg10) {
+			this.someAvg10 = _someAvg10;
+		}
+
+		/**
+		 * Method to get percentage of last 60 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @return some avg60
+		 */
+		public double getSomeAvg60() {
+			return someAvg60;
+		}
+
+		/**
+		 * Method to set percentage of last 60 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @param _someAvg60
+		 */
+		public void setSomeAvg60(double _someAvg60) {
+			this.someAvg60 = _someAvg60;
+		}
+
+		/**
+		 * Method to get percentage of last 300 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @return some avg300
+		 */
+		public double getSomeAvg300() {
+			return someAvg300;
+		}
+
+		/**
+		 * Method to set percentage of last 300 seconds when some tasks were
+		 * stalled.
+		 * 
+		 * @param _someAvg300
+		 */
+		public void setSomeAvg300(double _someAvg300) {
+			this.someAvg300 = _someAvg300;
+		}
+
+		/**
+		 * Method to get total time in microseconds when some tasks were stalled.
+		 * 
+		 * @return some total
+		 */
+		public long getSomeTotal() {
+			return someTotal;
+		}
+
+		/**
+		 * Method to set total time in microseconds when some tasks were stalled.
+		 * 
+		 * @param _someTotal
+		 */
+		public void setSomeTotal(long _someTotal) {
+			this.someTotal = _someTotal;
+		}
+
+		/**
+		 * Method to get time in microseconds when some tasks were stalled since
+		 * previous collection.
+		 * 
+		 * @return some total delta
+		 */
+		public long getSomeTotalDelta() {
+			return someTotalDelta;
+		}
+
+		/**
+		 * Method to set time in microseconds when some tasks were stalled since
+		 * previous collection.
+		 * 
+		 * @param _someTotalDelta
+		 */
+		public void setSomeTotalDelta(long _someTotalDelta) {
+			this.someTotalDelta = _someTotalDelta;
+		}
+
+		/**
+		 * Method to get percentage of last 10 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @return full avg10
+		 */
+		public double getFullAvg10() {
+			return fullAvg10;
+		}
+
+		/**
+		 * Method to set percentage of last 10 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @param _fullAvg10
+		 */
+		public void setFullAvg10(double _fullAvg10) {
+			this.fullAvg10 = _fullAvg10;
+		}
+
+		/**
+		 * Method to get percentage of last 60 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @return full avg60
+		 */
+		public double getFullAvg60() {
+			return fullAvg60;
+		}
+
+		/**
+		 * Method to set percentage of last 60 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @param _fullAvg60
+		 */
+		public void setFullAvg60(double _fullAvg60) {
+			this.fullAvg60 = _fullAvg60;
+		}
+
+		/**
+		 * Method to get percentage of last 300 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @return full avg300
+		 */
+		public double getFullAvg300() {
+			return fullAvg300;
+		}
+
+		/**
+		 * Method to set percentage of last 300 seconds when all tasks were
+		 * stalled.
+		 * 
+		 * @param _fullAvg300
+		 */
+		public void setFullAvg300(double _fullAvg300) {
+			this.fullAvg300 = _fullAvg300;
+		}
+
+		/**
+		 * Method to get total time in microseconds when all tasks were stalled.
+		 * 
+		 * @return full total
+		 */
+		public long getFullTotal() {
+			return fullTotal;
+		}
+
+		/**
+		 * Method to set total time in microseconds when all tasks were stalled.
+		 * 
+		 * @param _fullTotal
+		 */
+		public void setFullTotal(long _fullTotal) {
+			this.fullTotal = _fullTotal;
+		}
+
+		/**
+		 * Method to get time in microseconds when all tasks were stalled since
+		 * previous collection.
+		 * 
+		 * @return full total delta
+		 */
+		public long getFullTotalDelta() {
+			return fullTotalDelta;
+		}
+
+		/**
+		 * Method to set time in microseconds when all tasks were stalled since
+		 * previous collection.
+		 * 
+		 * @param _fullTotalDelta
+		 */
+		public void setFullTotalDelta(long _fullTotalDelta) {
+			this.fullTotalDelta = _fullTotalDelta;
+		}
+
+		/**
+		 * Method to get time in microseconds since previous collection over
+		 * which deltas were counted.
+		 * 
+		 * @return interval or 0 if there was no previous collection
+		 */
+		public long getInterval() {
+			return interval;
+		}
+
+		/**
+		 * Method to set time in microseconds since previous collection over
+		 * which deltas were counted.
+		 * 
+		 * @param _interval
+		 */
+		public void setInterval(long _interval) {
+			this.interval = _interval;
+		}
+
+		@Override
+		public String componentAsString() {
+			StringBuilder sb = new StringBuilder("=== Pressure ===");
+
+			sb.append("\nPSI Resource: ");
+			sb.append(getId());
+			sb.append("\nPSI Some avg10/avg60/avg300: ");
+			sb.append(getSomeAvg10());
+			sb.append("/");
+			sb.append(getSomeAvg60());
+			sb.append("/");
+			sb.append(getSomeAvg300());
+			sb.append("\nPSI Some Total: ");
+			sb.append(getSomeTotal());
+			sb.append(" (+");
+			sb.append(getSomeTotalDelta());
+			sb.append(")");
+			sb.append("\nPSI Full avg10/avg60/avg300: ");
+			sb.append(getFullAvg10());
+			sb.append("/");
+			sb.append(getFullAvg60());
+			sb.append("/");
+			sb.append(getFullAvg300());
+			sb.append("\nPSI Full Total: ");
+			sb.append(getFullTotal());
+			sb.append(" (+");
+			sb.append(getFullTotalDelta());
+			sb.append(")");
+			sb.append("\nPSI Interval: ");
+			sb.append(getInterval());
+
+			return sb.toString();
+		}
+	}
+}
\ No newline at end of file
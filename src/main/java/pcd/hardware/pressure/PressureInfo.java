@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.pressure;
+
+import java.io.IOException;
+
+import oshi.SystemInfo;
+import pcd.hardware.HardwareAbstract;
+import pcd.hardware.HardwareInfo;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to build Pressure Stall Information from /proc/pressure on Linux.
+ * Should be use as command to build model component of pressure. Deltas of
+ * total stall time are counted since previous build of the same instance, so
+ * instance should be kept and rebuilt to get stall time over interval. First
+ * build has no previous totals and reports zero deltas and interval.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class PressureInfo extends HardwareAbstract implements HardwareInfo<Pressure> {
+	private static final String PRESSURE_PATH = "/proc/pressure/";
+	private static final String[] RESOURCES = { "cpu", "memory", "io" };
+	private static final byte[] SOME = { 's', 'o', 'm', 'e' };
+	private static final byte[] FULL = { 'f', 'u', 'l', 'l' };
+	private final long[][] previousTotals = new long[RESOURCES.length][2];
+	private final long[] previousTimes = new long[RESOURCES.length];
+	private final boolean[] sampled = new boolean[RESOURCES.length];
+
+	/**
+	 * Default constructor.
+	 */
+	public PressureInfo() {
+		super(null);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 */
+	public PressureInfo(SystemInfo _systemInfo) {
+		super(_systemInfo, null);
+	}
+
+	public Pressure buildHardware() {
+		ProcFileReader reader = new ProcFileReader();
+
+		return new Pressure(resourcePressure(reader, 0), resourcePressure(reader, 1), resourcePressure(reader, 2),
+				System.currentTimeMillis());
+	}
+
+	/**
+	 * Method to read pressure of one resource.
+	 * 
+	 * @param _reader
+	 * @param _resource
+	 *            - index of resource
+	 * @return pressure of resource or null if not supported
+	 */
+	private Pressure.ResourcePressure resourcePressure(ProcFileReader _reader, int _resource) {
+		try {
+			if (_reader.read(PRESSURE_PATH + RESOURCES[_resource]) == 0) {
+				return null;
+			}
+		} catch (IOException e) {
+			return null;
+		}
+
+		double[] some = new double[3], full = new double[3];
+		long someTotal = 0, fullTotal = 0;
+		do {
+			if (_reader.startsWith(SOME)) {
+				someTotal = parseLine(_reader, some);
+			} else if (_reader.startsWith(FULL)) {
+				fullTotal = parseLine(_reader, full);
+			}
+		} while (_reader.nextLine());
+
+		long time = System.nanoTime();
+		long someTotalDelta = 0, fullTotalDelta = 0, interval = 0;
+		synchronized (previousTotals) {
+			if (sampled[_resource]) {
+				someTotalDelta = someTotal - previousTotals[_resource][0];
+				fullTotalDelta = fullTotal - previousTotals[_resource][1];
+				interval = (time - previousTimes[_resource]) / 1000;
+			}
+			previousTotals[_resource][0] = someTotal;
+			previousTotals[_resource][1] = fullTotal;
+			previousTimes[_resource] = time;
+			sampled[_resource] = true;
+		}
+
+		return new Pressure.ResourcePressure(RESOURCES[_resource], some[0], some[1], some[2], someTotal,
+				someTotalDelta, full[0], full[1], full[2], fullTotal, fullTotalDelta, interval);
+	}
+
+	/**
+	 * Method to parse one line e.g. some avg10=0.00 avg60=0.00 avg300=0.00
+	 * total=0.
+	 * 
+	 * @param _reader
+	 * @param _averages
+	 *            - array for avg10, avg60 and avg300 values
+	 * @return total stall time in microseconds
+	 */
+	private static long parseLine(ProcFileReader _reader, double[] _averages) {
+		for (int i = 0; i < _averages.length; i++) {
+			_reader.skipPast((byte) '=');
+			_averages[i] = _reader.nextDouble();
+		}
+		_reader.skipPast((byte) '=');
+
+		return _reader.nextLong();
+	}
+}
\ No newline at end of file
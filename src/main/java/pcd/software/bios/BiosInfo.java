@@ -18,6 +18,7 @@ import oshi.SystemInfo;
 import oshi.util.FormatUtil;
 import pcd.software.SoftwareAbstract;
 import pcd.software.SoftwareInfo;
+import pcd.util.HardwareInfoCache;
 
 /**
  * Class to build BIOS informations. Should be use as command to build model
@@ -30,7 +31,7 @@ public final class BiosInfo extends SoftwareAbstract implements SoftwareInfo<Bio
 	 * Default constructor.
 	 */
 	public BiosInfo() {
-		super(org.jutils.jhardware.HardwareInfo.getBiosInfo().getFullInfo());
+		super(HardwareInfoCache.get(HardwareInfoCache.Type.BIOS));
 	}
 
 	/**
@@ -40,7 +41,7 @@ public final class BiosInfo extends SoftwareAbstract implements SoftwareInfo<Bio
 	 *            - system info object of OSHI API
 	 */
 	public BiosInfo(SystemInfo _systemInfo) {
-		super(_systemInfo, org.jutils.jhardware.HardwareInfo.getBiosInfo().getFullInfo());
+		super(_systemInfo, HardwareInfoCache.get(HardwareInfoCache.Type.BIOS));
 	}
 
 	public Bios buildSoftware() {
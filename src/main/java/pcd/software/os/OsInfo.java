@@ -17,6 +17,7 @@ package pcd.software.os;
 import oshi.SystemInfo;
 import pcd.software.SoftwareAbstract;
 import pcd.software.SoftwareInfo;
+import pcd.util.HardwareInfoCache;
 
 /**
  * Class to build Operating System informations. Should be use as command to
@@ -29,7 +30,7 @@ public final class OsInfo extends SoftwareAbstract implements SoftwareInfo<Opera
 	 * Default constructor.
 	 */
 	public OsInfo() {
-		super(org.jutils.jhardware.HardwareInfo.getOSInfo().getFullInfo());
+		super(HardwareInfoCache.get(HardwareInfoCache.Type.OS));
 	}
 
 	/**
@@ -39,7 +40,7 @@ public final class OsInfo extends SoftwareAbstract implements SoftwareInfo<Opera
 	 *            - system info object of OSHI API
 	 */
 	public OsInfo(SystemInfo _systemInfo) {
-		super(_systemInfo, org.jutils.jhardware.HardwareInfo.getOSInfo().getFullInfo());
+		super(_systemInfo, HardwareInfoCache.get(HardwareInfoCache.Type.OS));
 	}
 
 	public OperatingSystem buildSoftware() {
@@ -0,0 +1,994 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntBinaryOperator;
+
+import oshi.SystemInfo;
+import oshi.software.os.OperatingSystem.ProcessSort;
+import pcd.software.SoftwareAbstract;
+import pcd.software.SoftwareInfo;
+import pcd.util.AuxiliaryVector;
+import pcd.util.CollectorRuntime;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to build Process informations directly from /proc on Linux. Should be
+ * use as command to build model component of Process instead of
+ * {@link ProcessInfo} when there are tens of thousands of processes. Listed
+ * processes are split into chunks parsed in parallel on executor of
+ * {@link CollectorRuntime}, every chunk with reused buffer. Only stat
+ * file, and io file if I/O rates are built, is parsed for every process, other
+ * files are read only for processes tested by filter or selected to build.
+ * Processor usage since previous build is counted by
+ * {@link ProcessDeltaEngine} of this object, so the same object should be
+ * reused for periodic sampling.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class LinuxProcessInfo extends SoftwareAbstract implements SoftwareInfo<Process> {
+	private static final String PROC_PATH = "/proc/";
+	/**
+	 * Maximum number of processes parsed by one task.
+	 */
+	private static final int CHUNK_SIZE = 256;
+	/**
+	 * Maximum number of processes built by one task. Building reads up to five
+	 * files of every process.
+	 */
+	private static final int BUILD_CHUNK_SIZE = 32;
+	private static final String UNKNOWN = "unknown";
+	private static final byte[] UID = { 'U', 'i', 'd', ':' };
+	private static final byte[] GID = { 'G', 'i', 'd', ':' };
+	private static final byte[] READ_BYTES = { 'r', 'e', 'a', 'd', '_', 'b', 'y', 't', 'e', 's', ':' };
+	private static final byte[] WRITE_BYTES = { 'w', 'r', 'i', 't', 'e', '_', 'b', 'y', 't', 'e', 's', ':' };
+	private static final byte[] READ_SYSCALLS = { 's', 'y', 's', 'c', 'r', ':' };
+	private static final byte[] WRITE_SYSCALLS = { 's', 'y', 's', 'c', 'w', ':' };
+	/**
+	 * Readers with buffers reused by chunks. Chunks may run on new virtual
+	 * threads, so readers are not kept per thread.
+	 */
+	private static final Queue<ProcFileReader> READERS = new ConcurrentLinkedQueue<ProcFileReader>();
+	/**
+	 * Maximum size of buffer of reader kept in pool. Reader which grew bigger
+	 * e.g. for very long command line is dropped after use.
+	 */
+	private static final int MAX_POOLED_CAPACITY = 16384;
+	private static final Object LOCK = new Object();
+	private static long bootTime = -1;
+	private static Map<String, String> users, groups;
+	private ProcessSort processSort;
+	private ProcessField rateSort;
+	private int processesCount;
+	private EnumSet<ProcessField> fields;
+	private ProcessFilter filter;
+	private final ProcessDeltaEngine deltaEngine = new ProcessDeltaEngine();
+	private double[] cpuUsage = new double[0], readRates = new double[0], writeRates = new double[0];
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 */
+	public LinuxProcessInfo(ProcessSort _processSort, int _processesCount) {
+		this(_processSort, _processesCount, ProcessField.defaults(), ProcessFilter.all());
+	}
+
+	/**
+	 * Constructor with selected fields of processes to build and filter of
+	 * processes. Filter is applied before sorting and building of processes.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public LinuxProcessInfo(ProcessSort _processSort, int _processesCount, EnumSet<ProcessField> _fields,
+			ProcessFilter _filter) {
+		super(null);
+		init(_processSort, _processesCount, _fields, _filter);
+	}
+
+	/**
+	 * Constructor of processes sorted by rate since previous build, e.g.
+	 * processes with the highest I/O throughput first. Field of rate is built
+	 * too.
+	 * 
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE} to sort by sum of read and
+	 *            write rates
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public LinuxProcessInfo(int _processesCount, ProcessField _rateSort, EnumSet<ProcessField> _fields,
+			ProcessFilter _filter) {
+		super(null);
+		init(null, _processesCount, _fields, _filter);
+		this.rateSort = TopProcessCollector.rateSort(_rateSort);
+		this.fields.add(_rateSort);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 */
+	public LinuxProcessInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount) {
+		this(_systemInfo, _processSort, _processesCount, ProcessField.defaults(), ProcessFilter.all());
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API, selected fields of
+	 * processes to build and filter of processes. Filter is applied before
+	 * sorting and building of processes.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public LinuxProcessInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		super(_systemInfo, null);
+		init(_processSort, _processesCount, _fields, _filter);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API of processes sorted
+	 * by rate since previous build. Field of rate is built too.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE} to sort by sum of read and
+	 *            write rates
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public LinuxProcessInfo(SystemInfo _systemInfo, int _processesCount, ProcessField _rateSort,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		super(_systemInfo, null);
+		init(null, _processesCount, _fields, _filter);
+		this.rateSort = TopProcessCollector.rateSort(_rateSort);
+		this.fields.add(_rateSort);
+	}
+
+	/**
+	 * Method to check arguments and system.
+	 * 
+	 * @param _processSort
+	 * @param _processesCount
+	 * @param _fields
+	 * @param _filter
+	 */
+	private void init(ProcessSort _processSort, int _processesCount, EnumSet<ProcessField> _fields,
+			ProcessFilter _filter) {
+		if (_fields == null) {
+			throw new IllegalArgumentException("Fields of processes can not be null!");
+		}
+		if (_filter == null) {
+			throw new IllegalArgumentException("Filter of processes can not be null!");
+		}
+		if (!new File(PROC_PATH + "self/stat").isFile()) {
+			throw new UnsupportedOperationException("There is no /proc file system on this system!");
+		}
+		this.processSort = _processSort;
+		this.processesCount = _processesCount;
+		this.fields = EnumSet.copyOf(_fields);
+		this.filter = _filter;
+	}
+
+	/**
+	 * Method to get selected fields of processes.
+	 * 
+	 * @return fields to build
+	 */
+	public EnumSet<ProcessField> getFields() {
+		return EnumSet.copyOf(fields);
+	}
+
+	/**
+	 * Method to get filter of processes.
+	 * 
+	 * @return filter of processes
+	 */
+	public ProcessFilter getFilter() {
+		return filter;
+	}
+
+	public synchronized Process buildSoftware() {
+		// io files of all processes are needed for rates
+		Scan scan = new Scan(listProcessIds(), bootTime(), AuxiliaryVector.getPageSize(), has(ProcessField.IO_RATE));
+		runInChunks(scan.size, CHUNK_SIZE, this::scanProcess, scan);
+
+		intervalUsage(scan);
+		int[] selected = TopProcessCollector.select(scan.size, candidates(scan), comparator(scan), processesCount);
+
+		Process.OSProcess[] processes = new Process.OSProcess[selected.length];
+		runInChunks(selected.length, BUILD_CHUNK_SIZE,
+				(reader, position, built) -> processes[position] = osProcess(reader, built, selected[position]),
+				scan);
+
+		List<Process.OSProcess> processList = new ArrayList<Process.OSProcess>(processes.length);
+		for (Process.OSProcess process : processes) {
+			if (process != null) {
+				processList.add(process);
+			}
+		}
+
+		return new Process(processList);
+	}
+
+	/**
+	 * Method to run action for every position of range in parallel chunks on
+	 * executor of {@link CollectorRuntime}. Action gets reader reused only by
+	 * its chunk.
+	 * 
+	 * @param _size
+	 *            - number of positions
+	 * @param _chunkSize
+	 *            - maximum number of positions of one chunk
+	 * @param _action
+	 * @param _scan
+	 */
+	private static void runInChunks(int _size, int _chunkSize, ChunkAction _action, Scan _scan) {
+		CollectorRuntime.runInChunks(_size, _chunkSize, (from, to) -> {
+			ProcFileReader reader = READERS.poll();
+			if (reader == null) {
+				reader = new ProcFileReader();
+			}
+			try {
+				for (int position = from; position < to; position++) {
+					_action.run(reader, position, _scan);
+				}
+			} finally {
+				if (reader.getCapacity() <= MAX_POOLED_CAPACITY) {
+					READERS.offer(reader);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Method to list ids of processes from directories of /proc.
+	 * 
+	 * @return process ids
+	 */
+	private static int[] listProcessIds() {
+		String[] entries = new File(PROC_PATH).list();
+		if (entries == null) {
+			return new int[0];
+		}
+
+		int[] processIds = new int[entries.length];
+		int count = 0;
+		for (String entry : entries) {
+			if (!entry.isEmpty() && entry.charAt(0) >= '0' && entry.charAt(0) <= '9') {
+				try {
+					processIds[count++] = Integer.parseInt(entry);
+				} catch (NumberFormatException e) {
+					count--;
+				}
+			}
+		}
+
+		return Arrays.copyOf(processIds, count);
+	}
+
+	/**
+	 * Method to parse stat file of one process into columns of scan and test
+	 * process by filter.
+	 * 
+	 * @param _reader
+	 *            - reader of current thread
+	 * @param _row
+	 *            - position of process in scan
+	 * @param _scan
+	 */
+	private void scanProcess(ProcFileReader _reader, int _row, Scan _scan) {
+		if (!readStat(_reader, _scan, _row)) {
+			// process ended after listing
+			return;
+		}
+		_scan.exists[_row] = true;
+		if (_scan.ioScanned) {
+			readIo(_reader, _scan.processIds[_row], _scan.bytesRead, _scan.bytesWritten, _scan.readSyscalls,
+					_scan.writeSyscalls, _row);
+		}
+		_scan.accepted[_row] = filter == ProcessFilter.all()
+				|| filter.test(new ProcCandidate(_reader, _scan, _row));
+	}
+
+	/**
+	 * Method to read stat file of one process e.g. 1234 (name) S 1 ... into
+	 * columns of scan.
+	 * 
+	 * @param _reader
+	 * @param _scan
+	 * @param _row
+	 *            - position of process in scan
+	 * @return false if process does not exist anymore
+	 */
+	private static boolean readStat(ProcFileReader _reader, Scan _scan, int _row) {
+		try {
+			if (_reader.read(PROC_PATH + _scan.processIds[_row] + "/stat") == 0) {
+				return false;
+			}
+		} catch (IOException e) {
+			return false;
+		}
+
+		// name may contain spaces and parentheses so it ends at last ')'
+		_reader.skipPast((byte) '(');
+		int nameStart = _reader.getPosition();
+		_reader.skipPastLast((byte) ')');
+		_scan.names[_row] = _reader.substring(nameStart, _reader.getPosition() - 1);
+
+		_reader.skipSpaces();
+		_scan.states[_row] = (char) _reader.peek();
+		_reader.skipToken();
+		_scan.parentProcessIds[_row] = (int) _reader.nextLong();
+		// skip pgrp, session, tty_nr, tpgid, flags, minflt, cminflt, majflt
+		// and cmajflt
+		for (int field = 0; field < 9; field++) {
+			_reader.skipToken();
+		}
+		_scan.userTimes[_row] = AuxiliaryVector.ticksToMillis(_reader.nextLong());
+		_scan.kernelTimes[_row] = AuxiliaryVector.ticksToMillis(_reader.nextLong());
+		// skip cutime and cstime
+		_reader.skipToken();
+		_reader.skipToken();
+		_scan.priorities[_row] = (int) _reader.nextLong();
+		// skip nice
+		_reader.skipToken();
+		_scan.threadCounts[_row] = (int) _reader.nextLong();
+		// skip itrealvalue
+		_reader.skipToken();
+		_scan.startTimes[_row] = _scan.bootTime + AuxiliaryVector.ticksToMillis(_reader.nextLong());
+		_scan.virtualSizes[_row] = _reader.nextLong();
+		_scan.residentSetSizes[_row] = _reader.nextLong() * _scan.pageSize;
+
+		return true;
+	}
+
+	/**
+	 * Method to get positions of existing processes accepted by filter.
+	 * 
+	 * @param _scan
+	 * @return positions of accepted processes
+	 */
+	private static int[] candidates(Scan _scan) {
+		int[] candidates = new int[_scan.size];
+		int count = 0;
+		for (int row = 0; row < _scan.size; row++) {
+			if (_scan.accepted[row]) {
+				candidates[count++] = row;
+			}
+		}
+
+		return Arrays.copyOf(candidates, count);
+	}
+
+	/**
+	 * Method to count processor usage and I/O rates since previous scan of all
+	 * existing processes into arrays reused by next scans.
+	 * 
+	 * @param _scan
+	 */
+	private void intervalUsage(Scan _scan) {
+		if (!has(ProcessField.INTERVAL_CPU_USAGE) && !has(ProcessField.IO_RATE)) {
+			return;
+		}
+		if (cpuUsage.length < _scan.size) {
+			int capacity = _scan.size + _scan.size / 2;
+			cpuUsage = new double[capacity];
+			readRates = new double[capacity];
+			writeRates = new double[capacity];
+		}
+
+		deltaEngine.beginScan();
+		for (int row = 0; row < _scan.size; row++) {
+			if (_scan.exists[row]) {
+				deltaEngine.update(_scan.processIds[row], _scan.startTimes[row],
+						_scan.kernelTimes[row] + _scan.userTimes[row], _scan.bytesRead[row], _scan.bytesWritten[row]);
+				cpuUsage[row] = deltaEngine.getCpuUsage();
+				readRates[row] = deltaEngine.getReadRate();
+				writeRates[row] = deltaEngine.getWriteRate();
+			}
+		}
+		deltaEngine.endScan();
+	}
+
+	/**
+	 * Method to create comparator of positions of processes in order of
+	 * sorting of this object.
+	 * 
+	 * @param _scan
+	 * @return comparator of positions or null if there is no sorting
+	 */
+	private IntBinaryOperator comparator(Scan _scan) {
+		if (rateSort == ProcessField.IO_RATE) {
+			return TopProcessCollector.byRate(readRates, writeRates, row -> _scan.processIds[row]);
+		} else if (rateSort != null) {
+			return TopProcessCollector.byRate(cpuUsage, null, row -> _scan.processIds[row]);
+		}
+
+		return processSort != null
+				? comparator(_scan, has(ProcessField.INTERVAL_CPU_USAGE) ? cpuUsage : null, processSort)
+				: null;
+	}
+
+	/**
+	 * Method to create comparator of positions of processes in order of
+	 * sorting, the same as order of {@link ProcessInfo}. Processes equal in
+	 * order of sorting are sorted by id.
+	 * 
+	 * @param _scan
+	 * @param _cpuUsage
+	 * @param _processSort
+	 * @return comparator of positions
+	 */
+	private static IntBinaryOperator comparator(Scan _scan, double[] _cpuUsage, ProcessSort _processSort) {
+		IntBinaryOperator order;
+		switch (_processSort) {
+		case CPU:
+			order = _cpuUsage != null ? (a, b) -> Double.compare(_cpuUsage[b], _cpuUsage[a])
+					: (a, b) -> Double.compare(_scan.lifetimeCpuUsage(b), _scan.lifetimeCpuUsage(a));
+			break;
+		case MEMORY:
+			order = (a, b) -> Long.compare(_scan.residentSetSizes[b], _scan.residentSetSizes[a]);
+			break;
+		case OLDEST:
+			order = (a, b) -> Long.compare(_scan.startTimes[a], _scan.startTimes[b]);
+			break;
+		case NEWEST:
+			order = (a, b) -> Long.compare(_scan.startTimes[b], _scan.startTimes[a]);
+			break;
+		case PARENTPID:
+			order = (a, b) -> Integer.compare(_scan.parentProcessIds[a], _scan.parentProcessIds[b]);
+			break;
+		case NAME:
+			order = (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(_scan.names[a], _scan.names[b]);
+			break;
+		case PID:
+		default:
+			// sorted by id below
+			order = (a, b) -> 0;
+		}
+
+		return (a, b) -> {
+			int result = order.applyAsInt(a, b);
+			return result != 0 ? result : Integer.compare(_scan.processIds[a], _scan.processIds[b]);
+		};
+	}
+
+	/**
+	 * Method to create process with selected fields. Files other than stat
+	 * are read only for selected fields.
+	 * 
+	 * @param _reader
+	 *            - reader of current thread
+	 * @param _scan
+	 * @param _row
+	 *            - position of process in scan
+	 * @return process
+	 */
+	private Process.OSProcess osProcess(ProcFileReader _reader, Scan _scan, int _row) {
+		int processId = _scan.processIds[_row];
+		String[] ids = has(ProcessField.USER) || has(ProcessField.USER_ID) || has(ProcessField.GROUP)
+				|| has(ProcessField.GROUP_ID) ? readIds(_reader, processId) : null;
+		if (!_scan.ioScanned && (has(ProcessField.BYTES_READ) || has(ProcessField.BYTES_WRITTEN)
+				|| has(ProcessField.IO_SYSCALLS))) {
+			readIo(_reader, processId, _scan.bytesRead, _scan.bytesWritten, _scan.readSyscalls, _scan.writeSyscalls,
+					_row);
+		}
+
+		Process.OSProcess process = new Process.OSProcess(String.valueOf(processId),
+				has(ProcessField.NAME) ? _scan.names[_row] : null,
+				has(ProcessField.PATH) ? readLink(processId, "/exe") : null,
+				has(ProcessField.COMMAND_LINE) ? readCommandLine(_reader, processId) : null,
+				has(ProcessField.CURRENT_WORKING_DIRECTORY) ? readLink(processId, "/cwd") : null,
+				has(ProcessField.USER) ? name(users(), ids[0]) : null, has(ProcessField.USER_ID) ? ids[0] : null,
+				has(ProcessField.GROUP) ? name(groups(), ids[1]) : null, has(ProcessField.GROUP_ID) ? ids[1] : null,
+				has(ProcessField.STATE) ? state(_scan.states[_row]) : null,
+				has(ProcessField.PARENT_PROCESS_ID) ? _scan.parentProcessIds[_row] : 0,
+				has(ProcessField.THREAD_COUNT) ? _scan.threadCounts[_row] : 0,
+				has(ProcessField.PRIORITY) ? _scan.priorities[_row] : 0,
+				has(ProcessField.VIRTUAL_SIZE) ? _scan.virtualSizes[_row] : 0,
+				has(ProcessField.RESIDENT_SET_SIZE) ? _scan.residentSetSizes[_row] : 0,
+				has(ProcessField.KERNEL_TIME) ? _scan.kernelTimes[_row] : 0,
+				has(ProcessField.USER_TIME) ? _scan.userTimes[_row] : 0,
+				has(ProcessField.START_TIME) ? _scan.startTimes[_row] : 0,
+				has(ProcessField.UP_TIME) ? _scan.upTime(_row) : 0,
+				has(ProcessField.BYTES_READ) ? _scan.bytesRead[_row] : 0,
+				has(ProcessField.BYTES_WRITTEN) ? _scan.bytesWritten[_row] : 0);
+		if (has(ProcessField.INTERVAL_CPU_USAGE)) {
+			process.setIntervalCpuUsage(cpuUsage[_row]);
+		}
+		if (has(ProcessField.IO_RATE)) {
+			process.setReadRate(readRates[_row]);
+			process.setWriteRate(writeRates[_row]);
+		}
+		if (has(ProcessField.IO_SYSCALLS)) {
+			process.setReadSyscalls(_scan.readSyscalls[_row]);
+			process.setWriteSyscalls(_scan.writeSyscalls[_row]);
+		}
+
+		return process;
+	}
+
+	/**
+	 * Method to read real user id and group id from status file, the same ids
+	 * as reported by OSHI API, so filters select the same processes.
+	 * 
+	 * @param _reader
+	 * @param _processId
+	 * @return user id and group id, empty if process does not exist anymore
+	 */
+	private static String[] readIds(ProcFileReader _reader, int _processId) {
+		String[] ids = { "", "" };
+		try {
+			if (_reader.read(PROC_PATH + _processId + "/status") == 0) {
+				return ids;
+			}
+		} catch (IOException e) {
+			return ids;
+		}
+
+		do {
+			if (_reader.startsWith(UID)) {
+				ids[0] = realId(_reader);
+			} else if (_reader.startsWith(GID)) {
+				ids[1] = realId(_reader);
+				break;
+			}
+		} while (_reader.nextLine());
+
+		return ids;
+	}
+
+	/**
+	 * Method to parse real id from line e.g. Uid: 1000 1000 1000 1000, the
+	 * first of real, effective, saved and file system ids.
+	 * 
+	 * @param _reader
+	 * @return real id
+	 */
+	private static String realId(ProcFileReader _reader) {
+		_reader.skipToken();
+
+		return String.valueOf(_reader.nextLong());
+	}
+
+	/**
+	 * Method to read bytes read from and written to storage and number of read
+	 * and write system calls from io file into arrays at given position. Only
+	 * owner of process may read this file.
+	 * 
+	 * @param _reader
+	 * @param _processId
+	 * @param _bytesRead
+	 * @param _bytesWritten
+	 * @param _readSyscalls
+	 *            - set to -1 if file could not be read
+	 * @param _writeSyscalls
+	 *            - set to -1 if file could not be read
+	 * @param _index
+	 *            - position in arrays
+	 */
+	static void readIo(ProcFileReader _reader, int _processId, long[] _bytesRead, long[] _bytesWritten,
+			long[] _readSyscalls, long[] _writeSyscalls, int _index) {
+		_bytesRead[_index] = 0;
+		_bytesWritten[_index] = 0;
+		_readSyscalls[_index] = -1;
+		_writeSyscalls[_index] = -1;
+		try {
+			if (_reader.read(PROC_PATH + _processId + "/io") == 0) {
+				return;
+			}
+		} catch (IOException e) {
+			return;
+		}
+
+		do {
+			if (_reader.startsWith(READ_SYSCALLS)) {
+				_reader.skip(READ_SYSCALLS.length);
+				_readSyscalls[_index] = _reader.nextLong();
+			} else if (_reader.startsWith(WRITE_SYSCALLS)) {
+				_reader.skip(WRITE_SYSCALLS.length);
+				_writeSyscalls[_index] = _reader.nextLong();
+			} else if (_reader.startsWith(READ_BYTES)) {
+				_reader.skip(READ_BYTES.length);
+				_bytesRead[_index] = _reader.nextLong();
+			} else if (_reader.startsWith(WRITE_BYTES)) {
+				_reader.skip(WRITE_BYTES.length);
+				_bytesWritten[_index] = _reader.nextLong();
+			}
+		} while (_reader.nextLine());
+	}
+
+	/**
+	 * Method to read command line. Arguments stay terminated by NUL the same
+	 * as in command line of process of OSHI API.
+	 * 
+	 * @param _reader
+	 * @param _processId
+	 * @return command line, empty for kernel threads or if process does not
+	 *         exist anymore
+	 */
+	private static String readCommandLine(ProcFileReader _reader, int _processId) {
+		try {
+			return _reader.substring(0, _reader.read(PROC_PATH + _processId + "/cmdline"));
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Method to read target of symbolic link of process e.g. /exe or /cwd.
+	 * 
+	 * @param _processId
+	 * @param _link
+	 * @return target of link or empty string if it could not be read
+	 */
+	private static String readLink(int _processId, String _link) {
+		try {
+			return Files.readSymbolicLink(Paths.get(PROC_PATH + _processId + _link)).toString();
+		} catch (IOException | SecurityException | UnsupportedOperationException e) {
+			return "";
+		}
+	}
+
+	/**
+	 * Method to get name of state of process the same as state of process of
+	 * OSHI API.
+	 * 
+	 * @param _state
+	 *            - state letter of kernel
+	 * @return name of state
+	 */
+	private static String state(char _state) {
+		switch (_state) {
+		case 'R':
+			return oshi.software.os.OSProcess.State.RUNNING.name();
+		case 'S':
+			return oshi.software.os.OSProcess.State.SLEEPING.name();
+		case 'D':
+			return oshi.software.os.OSProcess.State.WAITING.name();
+		case 'Z':
+			return oshi.software.os.OSProcess.State.ZOMBIE.name();
+		case 'T':
+			return oshi.software.os.OSProcess.State.STOPPED.name();
+		default:
+			return oshi.software.os.OSProcess.State.OTHER.name();
+		}
+	}
+
+	/**
+	 * Method to get name of user or group.
+	 * 
+	 * @param _names
+	 *            - names by id
+	 * @param _id
+	 * @return name or unknown if there is no name of id
+	 */
+	private static String name(Map<String, String> _names, String _id) {
+		String name = _names.get(_id);
+
+		return name != null ? name : UNKNOWN;
+	}
+
+	/**
+	 * Method to get names of users by id from /etc/passwd. Names are read with
+	 * first call.
+	 * 
+	 * @return names of users
+	 */
+	private static Map<String, String> users() {
+		synchronized (LOCK) {
+			if (users == null) {
+				users = readNames("/etc/passwd");
+			}
+			return users;
+		}
+	}
+
+	/**
+	 * Method to get names of groups by id from /etc/group. Names are read with
+	 * first call.
+	 * 
+	 * @return names of groups
+	 */
+	private static Map<String, String> groups() {
+		synchronized (LOCK) {
+			if (groups == null) {
+				groups = readNames("/etc/group");
+			}
+			return groups;
+		}
+	}
+
+	/**
+	 * Method to read names by id from file with lines e.g. name:x:id:...
+	 * 
+	 * @param _path
+	 * @return names by id
+	 */
+	private static Map<String, String> readNames(String _path) {
+		Map<String, String> names = new HashMap<String, String>();
+		try {
+			for (String line : Files.readAllLines(Paths.get(_path))) {
+				String[] split = line.split(":");
+				if (split.length > 2) {
+					names.putIfAbsent(split[2], split[0]);
+				}
+			}
+		} catch (IOException e) {
+			// names stay unknown
+		}
+
+		return names;
+	}
+
+	/**
+	 * Method to get boot time in milliseconds since epoch from /proc/uptime,
+	 * which is more precise than btime line of /proc/stat in whole seconds.
+	 * Boot time is read with first call, so start times of processes do not
+	 * change between scans.
+	 * 
+	 * @return boot time
+	 */
+	private static long bootTime() {
+		synchronized (LOCK) {
+			if (bootTime < 0) {
+				bootTime = 0;
+				ProcFileReader reader = new ProcFileReader();
+				try {
+					if (reader.read(PROC_PATH + "uptime") > 0) {
+						bootTime = System.currentTimeMillis() - (long) (reader.nextDouble() * 1000);
+					}
+				} catch (IOException e) {
+					// start times are counted from epoch
+				}
+			}
+			return bootTime;
+		}
+	}
+
+	/**
+	 * Method to check if field of processes is selected to build.
+	 * 
+	 * @param _field
+	 * @return true if field should be built
+	 */
+	private boolean has(ProcessField _field) {
+		return fields.contains(_field);
+	}
+
+	/**
+	 * Class of columns of values parsed from stat files of all listed
+	 * processes. Every task writes only rows of its own chunk.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class Scan {
+		private final int size;
+		private final long bootTime, pageSize, timeStamp = System.currentTimeMillis();
+		private final boolean ioScanned;
+		private final int[] processIds, parentProcessIds, priorities, threadCounts;
+		private final long[] userTimes, kernelTimes, startTimes, virtualSizes, residentSetSizes;
+		private final long[] bytesRead, bytesWritten, readSyscalls, writeSyscalls;
+		private final char[] states;
+		private final String[] names;
+		private final boolean[] exists, accepted;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param _processIds
+		 *            - listed process ids
+		 * @param _bootTime
+		 * @param _pageSize
+		 * @param _ioScanned
+		 *            - true if io file is read for every process
+		 */
+		private Scan(int[] _processIds, long _bootTime, long _pageSize, boolean _ioScanned) {
+			this.size = _processIds.length;
+			this.bootTime = _bootTime;
+			this.pageSize = _pageSize;
+			this.ioScanned = _ioScanned;
+			this.processIds = _processIds;
+			this.parentProcessIds = new int[size];
+			this.priorities = new int[size];
+			this.threadCounts = new int[size];
+			this.userTimes = new long[size];
+			this.kernelTimes = new long[size];
+			this.startTimes = new long[size];
+			this.virtualSizes = new long[size];
+			this.residentSetSizes = new long[size];
+			this.bytesRead = new long[size];
+			this.bytesWritten = new long[size];
+			this.readSyscalls = new long[size];
+			this.writeSyscalls = new long[size];
+			this.states = new char[size];
+			this.names = new String[size];
+			this.exists = new boolean[size];
+			this.accepted = new boolean[size];
+		}
+
+		/**
+		 * Method to get time in milliseconds since start of process.
+		 * 
+		 * @param _row
+		 * @return up time
+		 */
+		private long upTime(int _row) {
+			return timeStamp - startTimes[_row];
+		}
+
+		/**
+		 * Method to count processor usage over whole life of process.
+		 * 
+		 * @param _row
+		 * @return processor usage
+		 */
+		private double lifetimeCpuUsage(int _row) {
+			long upTime = upTime(_row);
+			return upTime > 0 ? (double) (kernelTimes[_row] + userTimes[_row]) / upTime : 0;
+		}
+	}
+
+	/**
+	 * Interface of action run by {@link #runInChunks(int, int, ChunkAction, Scan)}
+	 * for one position.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	@FunctionalInterface
+	private interface ChunkAction {
+		/**
+		 * Method to run action.
+		 * 
+		 * @param _reader
+		 *            - reader of current thread
+		 * @param _position
+		 * @param _scan
+		 */
+		void run(ProcFileReader _reader, int _position, Scan _scan);
+	}
+
+	/**
+	 * Class to test process of scan by filter. Files other than stat are read
+	 * only if filter asks for their values.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class ProcCandidate implements ProcessFilter.Candidate {
+		private final ProcFileReader reader;
+		private final Scan scan;
+		private final int row;
+		private String userID, path, commandLine;
+
+		/**
+		 * Default constructor.
+		 * 
+		 * @param _reader
+		 *            - reader of current thread
+		 * @param _scan
+		 * @param _row
+		 *            - position of process in scan
+		 */
+		private ProcCandidate(ProcFileReader _reader, Scan _scan, int _row) {
+			this.reader = _reader;
+			this.scan = _scan;
+			this.row = _row;
+		}
+
+		public int getProcessID() {
+			return scan.processIds[row];
+		}
+
+		public int getParentProcessID() {
+			return scan.parentProcessIds[row];
+		}
+
+		public String getName() {
+			return scan.names[row];
+		}
+
+		public String getState() {
+			return state(scan.states[row]);
+		}
+
+		public long getResidentSetSize() {
+			return scan.residentSetSizes[row];
+		}
+
+		public String getUserID() {
+			if (userID == null) {
+				userID = readIds(reader, scan.processIds[row])[0];
+			}
+			return userID;
+		}
+
+		public String getUser() {
+			return name(users(), getUserID());
+		}
+
+		public String getPath() {
+			if (path == null) {
+				path = readLink(scan.processIds[row], "/exe");
+			}
+			return path;
+		}
+
+		public String getCommandLine() {
+			if (commandLine == null) {
+				commandLine = readCommandLine(reader, scan.processIds[row]);
+			}
+			return commandLine;
+		}
+	}
+}
\ No newline at end of file
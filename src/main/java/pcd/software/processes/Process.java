@@ -77,6 +77,8 @@ public class Process extends Component {
 		private String name, path, commandLine, currentWorkingDirectory, user, userID, group, groupID, state;
 		private int parentProcessID, threadCount, priority;
 		private long virtualSize, residentSetSize, kernelTime, userTime, startTime, upTime, bytesRead, bytesWritten;
+		private long readSyscalls, writeSyscalls;
+		private double intervalCpuUsage, readRate, writeRate;
 
 		/**
 		 * Default constructor.
@@ -128,6 +130,11 @@ public class Process extends Component {
 			this.upTime = _upTime;
 			this.bytesRead = _bytesRead;
 			this.bytesWritten = _bytesWritten;
+			this.intervalCpuUsage = -1;
+			this.readRate = -1;
+			this.writeRate = -1;
+			this.readSyscalls = -1;
+			this.writeSyscalls = -1;
 		}
 
 		/**
@@ -491,7 +498,99 @@ public class Process extends Component {
 		}
 
 		/**
-		 * Method to get CPU % usage.
+		 * Method to get processor usage since previous scan in percents of one
+		 * logical processor.
+		 * 
+		 * @return processor usage since previous scan or -1 if not counted
+		 */
+		public double getIntervalCpuUsage() {
+			return intervalCpuUsage;
+		}
+
+		/**
+		 * Method to set processor usage since previous scan.
+		 * 
+		 * @param _intervalCpuUsage
+		 */
+		public void setIntervalCpuUsage(double _intervalCpuUsage) {
+			this.intervalCpuUsage = _intervalCpuUsage;
+		}
+
+		/**
+		 * Method to get bytes read per second since previous scan.
+		 * 
+		 * @return read rate or -1 if not counted
+		 */
+		public double getReadRate() {
+			return readRate;
+		}
+
+		/**
+		 * Method to set bytes read per second since previous scan.
+		 * 
+		 * @param _readRate
+		 */
+		public void setReadRate(double _readRate) {
+			this.readRate = _readRate;
+		}
+
+		/**
+		 * Method to get bytes written per second since previous scan.
+		 * 
+		 * @return write rate or -1 if not counted
+		 */
+		public double getWriteRate() {
+			return writeRate;
+		}
+
+		/**
+		 * Method to set bytes written per second since previous scan.
+		 * 
+		 * @param _writeRate
+		 */
+		public void setWriteRate(double _writeRate) {
+			this.writeRate = _writeRate;
+		}
+
+		/**
+		 * Method to get number of read system calls since start of process.
+		 * 
+		 * @return read system calls or -1 if not available
+		 */
+		public long getReadSyscalls() {
+			return readSyscalls;
+		}
+
+		/**
+		 * Method to set number of read system calls.
+		 * 
+		 * @param _readSyscalls
+		 */
+		public void setReadSyscalls(long _readSyscalls) {
+			this.readSyscalls = _readSyscalls;
+		}
+
+		/**
+		 * Method to get number of write system calls since start of process.
+		 * 
+		 * @return write system calls or -1 if not available
+		 */
+		public long getWriteSyscalls() {
+			return writeSyscalls;
+		}
+
+		/**
+		 * Method to set number of write system calls.
+		 * 
+		 * @param _writeSyscalls
+		 */
+		public void setWriteSyscalls(long _writeSyscalls) {
+			this.writeSyscalls = _writeSyscalls;
+		}
+
+		/**
+		 * Method to get CPU % usage. It is average over whole life of process,
+		 * see {@link #getIntervalCpuUsage()} for current usage.
 		 * 
 		 * @return CPU % usage
 		 */
@@ -535,11 +634,23 @@ public class Process extends Component {
 			sb.append(", Name: ");
 			sb.append(getName());
 			sb.append(", %CPU: ");
-			sb.append(FormatUtil.toPercentage3Digits((getKernelTime() + getUserTime()) / getUpTime()));
+			if (getIntervalCpuUsage() >= 0) {
+				sb.append(FormatUtil.toPercentage3Digits(getIntervalCpuUsage() / 100));
+			} else {
+				sb.append(FormatUtil
+						.toPercentage3Digits(getUpTime() > 0 ? (getKernelTime() + getUserTime()) / getUpTime() : 0));
+			}
 			sb.append(", VSZ: ");
 			sb.append(FormatUtil.toBytes(getVirtualSize()));
 			sb.append(", RSS: ");
 			sb.append(FormatUtil.toBytes(getResidentSetSize()));
+			if (getReadRate() >= 0) {
+				sb.append(", Read: ");
+				sb.append(FormatUtil.toBytes((long) getReadRate()));
+				sb.append("/s, Write: ");
+				sb.append(FormatUtil.toBytes((long) getWriteRate()));
+				sb.append("/s");
+			}
 			sb.append(", User: ");
 			sb.append(getUser());
 			sb.append(", State: ");
@@ -0,0 +1,321 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.Arrays;
+
+/**
+ * Class to count processor usage and I/O rates of processes over interval
+ * between two scans, not over whole life of process. Previous times of
+ * processes are kept in open addressing hash table indexed by process id, with
+ * start time of process to detect process id reused by another process. Table
+ * is reused, so scans do not allocate memory while number of processes does
+ * not grow.
+ * 
+ * Every scan is started by {@link #beginScan()}, then usage of every process
+ * is counted by {@link #cpuUsage(int, long, long)} or
+ * {@link #update(int, long, long, long, long)} and scan is ended by
+ * {@link #endScan()}, which removes processes not seen in scan. Object is not
+ * thread safe.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessDeltaEngine {
+	private static final int DEFAULT_EXPECTED_PROCESSES = 512;
+	/**
+	 * Start time is counted from boot time, which could differ by few
+	 * milliseconds between reads.
+	 */
+	static final long START_TIME_TOLERANCE = 1000;
+	// slot is empty if scan number is 0
+	private int[] pids, scans, sparePids, spareScans;
+	private long[] startTimes, cpuTimes, bytesRead, bytesWritten;
+	private long[] spareStartTimes, spareCpuTimes, spareBytesRead, spareBytesWritten;
+	// results of last updated process
+	private double cpuUsage, readRate, writeRate;
+	private int size, scan;
+	private long scanTime, previousScanTime;
+
+	/**
+	 * Default constructor.
+	 */
+	public ProcessDeltaEngine() {
+		this(DEFAULT_EXPECTED_PROCESSES);
+	}
+
+	/**
+	 * Constructor with expected number of processes, table grows if there
+	 * are more processes.
+	 * 
+	 * @param _expectedProcesses
+	 */
+	public ProcessDeltaEngine(int _expectedProcesses) {
+		if (_expectedProcesses < 0) {
+			throw new IllegalArgumentException("Expected number of processes can not be negative!");
+		}
+		int capacity = 16;
+		while (capacity < _expectedProcesses * 2) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Method to start new scan of processes.
+	 */
+	public void beginScan() {
+		if (++scan == 0) {
+			scan = 1;
+		}
+		previousScanTime = scanTime;
+		scanTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Method to count processor usage of process since previous scan. For
+	 * process which was not seen in previous scan usage is counted since start
+	 * of process.
+	 * 
+	 * @param _processId
+	 * @param _startTime
+	 *            - start time of process in milliseconds since epoch
+	 * @param _cpuTime
+	 *            - sum of kernel and user time of process in milliseconds
+	 * @return processor usage in percents of one logical processor
+	 */
+	public double cpuUsage(int _processId, long _startTime, long _cpuTime) {
+		update(_processId, _startTime, _cpuTime, 0, 0);
+
+		return cpuUsage;
+	}
+
+	/**
+	 * Method to count processor usage and I/O rates of process since previous
+	 * scan. For process which was not seen in previous scan they are counted
+	 * since start of process. Results are available by
+	 * {@link #getCpuUsage()}, {@link #getReadRate()} and
+	 * {@link #getWriteRate()} until next update.
+	 * 
+	 * @param _processId
+	 * @param _startTime
+	 *            - start time of process in milliseconds since epoch
+	 * @param _cpuTime
+	 *            - sum of kernel and user time of process in milliseconds
+	 * @param _bytesRead
+	 *            - bytes read by process since its start
+	 * @param _bytesWritten
+	 *            - bytes written by process since its start
+	 */
+	public void update(int _processId, long _startTime, long _cpuTime, long _bytesRead, long _bytesWritten) {
+		if (scan == 0) {
+			throw new IllegalStateException("Scan is not started!");
+		}
+
+		int slot = slot(pids, scans, _processId);
+		long baselineTime, baselineCpuTime, baselineBytesRead, baselineBytesWritten;
+		if (scans[slot] != 0 && Math.abs(startTimes[slot] - _startTime) <= START_TIME_TOLERANCE) {
+			baselineTime = previousScanTime;
+			baselineCpuTime = cpuTimes[slot];
+			baselineBytesRead = bytesRead[slot];
+			baselineBytesWritten = bytesWritten[slot];
+		} else {
+			// new process or process id reused by another process
+			if (scans[slot] == 0) {
+				size++;
+			}
+			baselineTime = _startTime;
+			baselineCpuTime = 0;
+			baselineBytesRead = 0;
+			baselineBytesWritten = 0;
+		}
+		pids[slot] = _processId;
+		scans[slot] = scan;
+		startTimes[slot] = _startTime;
+		cpuTimes[slot] = _cpuTime;
+		bytesRead[slot] = _bytesRead;
+		bytesWritten[slot] = _bytesWritten;
+
+		if (size * 2 > pids.length) {
+			grow();
+		}
+
+		double interval = Math.max(1, scanTime - baselineTime);
+		cpuUsage = 100d * Math.max(0, _cpuTime - baselineCpuTime) / interval;
+		readRate = 1000d * Math.max(0, _bytesRead - baselineBytesRead) / interval;
+		writeRate = 1000d * Math.max(0, _bytesWritten - baselineBytesWritten) / interval;
+	}
+
+	/**
+	 * Method to get processor usage of last updated process.
+	 * 
+	 * @return processor usage in percents of one logical processor
+	 */
+	public double getCpuUsage() {
+		return cpuUsage;
+	}
+
+	/**
+	 * Method to get read rate of last updated process.
+	 * 
+	 * @return bytes read per second
+	 */
+	public double getReadRate() {
+		return readRate;
+	}
+
+	/**
+	 * Method to get write rate of last updated process.
+	 * 
+	 * @return bytes written per second
+	 */
+	public double getWriteRate() {
+		return writeRate;
+	}
+
+	/**
+	 * Method to end scan of processes. Processes not seen in this scan are
+	 * removed.
+	 */
+	public void endScan() {
+		Arrays.fill(spareScans, 0);
+		size = 0;
+		for (int slot = 0; slot < pids.length; slot++) {
+			if (scans[slot] == scan) {
+				copy(slot, slot(sparePids, spareScans, pids[slot]));
+				size++;
+			}
+		}
+		swap();
+	}
+
+	/**
+	 * Method to get number of processes seen in last scan.
+	 * 
+	 * @return processes count
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method to get interval between two last scans in milliseconds.
+	 * 
+	 * @return interval or 0 if there was only one scan
+	 */
+	public long getInterval() {
+		return previousScanTime == 0 ? 0 : scanTime - previousScanTime;
+	}
+
+	/**
+	 * Method to find slot of process or empty slot where process should be
+	 * put.
+	 * 
+	 * @param _pids
+	 * @param _scans
+	 * @param _processId
+	 * @return slot in table
+	 */
+	private static int slot(int[] _pids, int[] _scans, int _processId) {
+		int mask = _pids.length - 1;
+		int hash = _processId * 0x9E3779B9;
+		int slot = (hash ^ hash >>> 16) & mask;
+		while (_scans[slot] != 0 && _pids[slot] != _processId) {
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Method to copy entry of table into spare table.
+	 * 
+	 * @param _from
+	 *            - slot in table
+	 * @param _to
+	 *            - slot in spare table
+	 */
+	private void copy(int _from, int _to) {
+		sparePids[_to] = pids[_from];
+		spareScans[_to] = scans[_from];
+		spareStartTimes[_to] = startTimes[_from];
+		spareCpuTimes[_to] = cpuTimes[_from];
+		spareBytesRead[_to] = bytesRead[_from];
+		spareBytesWritten[_to] = bytesWritten[_from];
+	}
+
+	/**
+	 * Method to swap table with spare table.
+	 */
+	private void swap() {
+		int[] pidsSwap = pids, scansSwap = scans;
+		long[] startTimesSwap = startTimes, cpuTimesSwap = cpuTimes;
+		long[] bytesReadSwap = bytesRead, bytesWrittenSwap = bytesWritten;
+		pids = sparePids;
+		scans = spareScans;
+		startTimes = spareStartTimes;
+		cpuTimes = spareCpuTimes;
+		bytesRead = spareBytesRead;
+		bytesWritten = spareBytesWritten;
+		sparePids = pidsSwap;
+		spareScans = scansSwap;
+		spareStartTimes = startTimesSwap;
+		spareCpuTimes = cpuTimesSwap;
+		spareBytesRead = bytesReadSwap;
+		spareBytesWritten = bytesWrittenSwap;
+	}
+
+	/**
+	 * Method to double size of table.
+	 */
+	private void grow() {
+		int[] oldPids = pids, oldScans = scans;
+		long[] oldStartTimes = startTimes, oldCpuTimes = cpuTimes;
+		long[] oldBytesRead = bytesRead, oldBytesWritten = bytesWritten;
+		allocate(pids.length * 2);
+
+		for (int from = 0; from < oldPids.length; from++) {
+			if (oldScans[from] != 0) {
+				int to = slot(pids, scans, oldPids[from]);
+				pids[to] = oldPids[from];
+				scans[to] = oldScans[from];
+				startTimes[to] = oldStartTimes[from];
+				cpuTimes[to] = oldCpuTimes[from];
+				bytesRead[to] = oldBytesRead[from];
+				bytesWritten[to] = oldBytesWritten[from];
+			}
+		}
+	}
+
+	/**
+	 * Method to create empty tables.
+	 * 
+	 * @param _capacity
+	 *            - size of tables, power of 2
+	 */
+	private void allocate(int _capacity) {
+		pids = new int[_capacity];
+		scans = new int[_capacity];
+		startTimes = new long[_capacity];
+		cpuTimes = new long[_capacity];
+		sparePids = new int[_capacity];
+		spareScans = new int[_capacity];
+		spareStartTimes = new long[_capacity];
+		spareCpuTimes = new long[_capacity];
+		bytesRead = new long[_capacity];
+		bytesWritten = new long[_capacity];
+		spareBytesRead = new long[_capacity];
+		spareBytesWritten = new long[_capacity];
+	}
+}
\ No newline at end of file
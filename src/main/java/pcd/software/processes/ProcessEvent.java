@@ -0,0 +1,260 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import pcd.Component;
+
+/**
+ * Class representation of lifecycle event of one process found by
+ * {@link ProcessWatcher} between two scans of processes. Id of event is id of
+ * process.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessEvent extends Component {
+	private static final long serialVersionUID = -7215083260541389346L;
+	private Type type;
+	private String name, commandLine, previousCommandLine;
+	private int parentProcessID;
+	private long startTime, timeStamp, lifetime;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 *            - process id
+	 * @param _type
+	 * @param _parentProcessID
+	 * @param _name
+	 * @param _commandLine
+	 * @param _previousCommandLine
+	 *            - command line before exec or null for other events
+	 * @param _startTime
+	 * @param _timeStamp
+	 *            - time of scan which found event
+	 * @param _lifetime
+	 *            - life time of exited process or -1 for other events
+	 */
+	public ProcessEvent(String _id, Type _type, int _parentProcessID, String _name, String _commandLine,
+			String _previousCommandLine, long _startTime, long _timeStamp, long _lifetime) {
+		super(_id);
+		this.type = _type;
+		this.parentProcessID = _parentProcessID;
+		this.name = _name;
+		this.commandLine = _commandLine;
+		this.previousCommandLine = _previousCommandLine;
+		this.startTime = _startTime;
+		this.timeStamp = _timeStamp;
+		this.lifetime = _lifetime;
+	}
+
+	/**
+	 * Method to get type of event.
+	 * 
+	 * @return type of event
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Method to set type of event.
+	 * 
+	 * @param _type
+	 */
+	public void setType(Type _type) {
+		this.type = _type;
+	}
+
+	/**
+	 * Method to get parent process id.
+	 * 
+	 * @return parent process id
+	 */
+	public int getParentProcessID() {
+		return parentProcessID;
+	}
+
+	/**
+	 * Method to set parent process id.
+	 * 
+	 * @param _parentProcessID
+	 */
+	public void setParentProcessID(int _parentProcessID) {
+		this.parentProcessID = _parentProcessID;
+	}
+
+	/**
+	 * Method to get name of process. For exited process it is the last name
+	 * seen.
+	 * 
+	 * @return name of process
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Method to set name of process.
+	 * 
+	 * @param _name
+	 */
+	public void setName(String _name) {
+		this.name = _name;
+	}
+
+	/**
+	 * Method to get command line of process. For exec event it is command line
+	 * after exec.
+	 * 
+	 * @return command line
+	 */
+	public String getCommandLine() {
+		return commandLine;
+	}
+
+	/**
+	 * Method to set command line of process.
+	 * 
+	 * @param _commandLine
+	 */
+	public void setCommandLine(String _commandLine) {
+		this.commandLine = _commandLine;
+	}
+
+	/**
+	 * Method to get command line of process before exec.
+	 * 
+	 * @return previous command line or null if event is not exec
+	 */
+	public String getPreviousCommandLine() {
+		return previousCommandLine;
+	}
+
+	/**
+	 * Method to set command line of process before exec.
+	 * 
+	 * @param _previousCommandLine
+	 */
+	public void setPreviousCommandLine(String _previousCommandLine) {
+		this.previousCommandLine = _previousCommandLine;
+	}
+
+	/**
+	 * Method to get start time of process in milliseconds since epoch.
+	 * 
+	 * @return start time
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Method to set start time of process.
+	 * 
+	 * @param _startTime
+	 */
+	public void setStartTime(long _startTime) {
+		this.startTime = _startTime;
+	}
+
+	/**
+	 * Method to get time of scan which found event in milliseconds since
+	 * epoch.
+	 * 
+	 * @return time of event
+	 */
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * Method to set time of scan which found event.
+	 * 
+	 * @param _timeStamp
+	 */
+	public void setTimeStamp(long _timeStamp) {
+		this.timeStamp = _timeStamp;
+	}
+
+	/**
+	 * Method to get life time of exited process in milliseconds, from start of
+	 * process to scan which did not find it. Process ended after the last scan
+	 * which found it, so real life time could be shorter by at most one
+	 * interval between scans.
+	 * 
+	 * @return life time or -1 if event is not exit
+	 */
+	public long getLifetime() {
+		return lifetime;
+	}
+
+	/**
+	 * Method to set life time of exited process.
+	 * 
+	 * @param _lifetime
+	 */
+	public void setLifetime(long _lifetime) {
+		this.lifetime = _lifetime;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("=== Process Event ===");
+
+		sb.append("\nEvent: ");
+		sb.append(getType());
+		sb.append(", PID: ");
+		sb.append(getId());
+		sb.append(", PPID: ");
+		sb.append(getParentProcessID());
+		sb.append(", Name: ");
+		sb.append(getName());
+		if (getType() == Type.EXIT) {
+			sb.append(", Lifetime: ");
+			sb.append(getLifetime());
+			sb.append("ms");
+		}
+		sb.append(", Command Line: ");
+		sb.append(getCommandLine());
+		if (getType() == Type.EXEC) {
+			sb.append(", Previous Command Line: ");
+			sb.append(getPreviousCommandLine());
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Types of lifecycle events of processes.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public enum Type {
+		/**
+		 * Process started since previous scan.
+		 */
+		SPAWN,
+		/**
+		 * Process ended since previous scan.
+		 */
+		EXIT,
+		/**
+		 * Command line of process changed since previous scan, e.g. after
+		 * exec.
+		 */
+		EXEC
+	}
+}
\ No newline at end of file
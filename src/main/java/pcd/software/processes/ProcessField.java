@@ -0,0 +1,42 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.EnumSet;
+
+/**
+ * Enumerate type represents fields of process which could be selected to
+ * build. Fields which are not selected stay empty in {@link Process.OSProcess},
+ * id is always filled. I/O rates and system calls need extra file of every
+ * process, so they are built only if selected explicitly and they are not in
+ * {@link #defaults()}.
+ * 
+ * @author Mateusz Mucha
+ */
+public enum ProcessField {
+	NAME, PATH, COMMAND_LINE, CURRENT_WORKING_DIRECTORY, USER, USER_ID, GROUP, GROUP_ID, STATE, PARENT_PROCESS_ID,
+	THREAD_COUNT, PRIORITY, VIRTUAL_SIZE, RESIDENT_SET_SIZE, KERNEL_TIME, USER_TIME, START_TIME, UP_TIME, BYTES_READ,
+	BYTES_WRITTEN, INTERVAL_CPU_USAGE, IO_RATE, IO_SYSCALLS;
+
+	/**
+	 * Method to get fields built by constructors without selected fields. All
+	 * fields are built except {@link #IO_RATE} and {@link #IO_SYSCALLS}.
+	 * 
+	 * @return default fields
+	 */
+	public static EnumSet<ProcessField> defaults() {
+		return EnumSet.complementOf(EnumSet.of(IO_RATE, IO_SYSCALLS));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,552 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Class representation of filter of processes. Filters are created by static
+ * methods and joined by {@link #and(ProcessFilter)},
+ * {@link #or(ProcessFilter)} and {@link #negate()}. Every filter has cost of
+ * reading fields it tests, joined filters test cheaper filters first, so
+ * expensive fields like path or command line are read only for processes not
+ * rejected before. Filters are equal if they are built by the same methods
+ * with equal parameters.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessFilter {
+	/**
+	 * Cost of fields read from stat, statm and status files of process.
+	 */
+	private static final int COST_STAT = 1;
+	/**
+	 * Cost of user name, which is looked up by user id.
+	 */
+	private static final int COST_USER = 2;
+	/**
+	 * Cost of path, which is read from link of executable.
+	 */
+	private static final int COST_PATH = 3;
+	/**
+	 * Cost of command line, which is read from separate file.
+	 */
+	private static final int COST_COMMAND_LINE = 4;
+	private static final ProcessFilter ALL = new ProcessFilter(0, "all", candidate -> true, "all");
+	private final int cost;
+	private final String description;
+	private final Predicate<Candidate> predicate;
+	/**
+	 * Name of method which built filter and its parameters, used to compare
+	 * filters.
+	 */
+	private final String operator;
+	private final Object[] operands;
+	/**
+	 * Filters joined by allOf, kept to join them again into one list.
+	 */
+	private ProcessFilter[] allOf;
+
+	/**
+	 * Process tested by filter. Fields should be read when they are asked
+	 * first time.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public interface Candidate {
+		/**
+		 * Method to get process id.
+		 * 
+		 * @return process id
+		 */
+		int getProcessID();
+
+		/**
+		 * Method to get parent process id.
+		 * 
+		 * @return parent process id
+		 */
+		int getParentProcessID();
+
+		/**
+		 * Method to get name.
+		 * 
+		 * @return name
+		 */
+		String getName();
+
+		/**
+		 * Method to get state e.g. RUNNING, SLEEPING.
+		 * 
+		 * @return state
+		 */
+		String getState();
+
+		/**
+		 * Method to get resident set size in bytes.
+		 * 
+		 * @return resident set size
+		 */
+		long getResidentSetSize();
+
+		/**
+		 * Method to get user id.
+		 * 
+		 * @return user id
+		 */
+		String getUserID();
+
+		/**
+		 * Method to get user name.
+		 * 
+		 * @return user name
+		 */
+		String getUser();
+
+		/**
+		 * Method to get path of executable.
+		 * 
+		 * @return path
+		 */
+		String getPath();
+
+		/**
+		 * Method to get command line.
+		 * 
+		 * @return command line
+		 */
+		String getCommandLine();
+	}
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _cost
+	 *            - cost of reading tested fields
+	 * @param _description
+	 * @param _predicate
+	 * @param _operator
+	 *            - name of method which built filter
+	 * @param _operands
+	 *            - parameters of method which built filter
+	 */
+	private ProcessFilter(int _cost, String _description, Predicate<Candidate> _predicate, String _operator,
+			Object... _operands) {
+		this.cost = _cost;
+		this.description = _description;
+		this.predicate = _predicate;
+		this.operator = _operator;
+		this.operands = _operands;
+	}
+
+	/**
+	 * Method to test process.
+	 * 
+	 * @param _candidate
+	 * @return true if process is accepted
+	 */
+	public boolean test(Candidate _candidate) {
+		return predicate.test(_candidate);
+	}
+
+	/**
+	 * Method to get cost of reading fields tested by filter.
+	 * 
+	 * @return cost of filter
+	 */
+	public int getCost() {
+		return cost;
+	}
+
+	/**
+	 * Method to join filter with other filter, both must accept process.
+	 * 
+	 * @param _other
+	 * @return joined filter
+	 */
+	public ProcessFilter and(ProcessFilter _other) {
+		return allOf(this, _other);
+	}
+
+	/**
+	 * Method to join filter with other filter, one of them must accept
+	 * process.
+	 * 
+	 * @param _other
+	 * @return joined filter
+	 */
+	public ProcessFilter or(ProcessFilter _other) {
+		return anyOf(this, _other);
+	}
+
+	/**
+	 * Method to get filter accepting processes rejected by this filter.
+	 * 
+	 * @return negated filter
+	 */
+	public ProcessFilter negate() {
+		return new ProcessFilter(cost, "not(" + description + ")", predicate.negate(), "not", this);
+	}
+
+	/**
+	 * Method to get filter accepting all processes.
+	 * 
+	 * @return filter accepting all processes
+	 */
+	public static ProcessFilter all() {
+		return ALL;
+	}
+
+	/**
+	 * Method to join filters, all of them must accept process. Cheaper
+	 * filters are tested first.
+	 * 
+	 * @param _filters
+	 * @return joined filter
+	 */
+	public static ProcessFilter allOf(ProcessFilter... _filters) {
+		ProcessFilter[] filters = sorted(flatten(_filters));
+
+		ProcessFilter joined = new ProcessFilter(maxCost(filters), join("and", filters), candidate -> {
+			for (ProcessFilter filter : filters) {
+				if (!filter.test(candidate)) {
+					return false;
+				}
+			}
+			return true;
+		}, "and", (Object[]) filters);
+		joined.allOf = filters;
+
+		return joined;
+	}
+
+	/**
+	 * Method to join filters, one of them must accept process. Cheaper
+	 * filters are tested first.
+	 * 
+	 * @param _filters
+	 * @return joined filter
+	 */
+	public static ProcessFilter anyOf(ProcessFilter... _filters) {
+		ProcessFilter[] filters = sorted(_filters);
+
+		return new ProcessFilter(maxCost(filters), join("or", filters), candidate -> {
+			for (ProcessFilter filter : filters) {
+				if (filter.test(candidate)) {
+					return true;
+				}
+			}
+			return false;
+		}, "or", (Object[]) filters);
+	}
+
+	/**
+	 * Method to get filter of processes of user.
+	 * 
+	 * @param _user
+	 *            - user name
+	 * @return filter of user
+	 */
+	public static ProcessFilter user(String _user) {
+		String user = checked(_user, "User");
+
+		return new ProcessFilter(COST_USER, "user=" + user, candidate -> user.equals(candidate.getUser()),
+				"user", user);
+	}
+
+	/**
+	 * Method to get filter of processes of user id.
+	 * 
+	 * @param _userId
+	 * @return filter of user id
+	 */
+	public static ProcessFilter userId(String _userId) {
+		String userId = checked(_userId, "User id");
+
+		return new ProcessFilter(COST_STAT, "uid=" + userId, candidate -> userId.equals(candidate.getUserID()),
+				"userId", userId);
+	}
+
+	/**
+	 * Method to get filter of processes with name matching glob pattern, where
+	 * * is any text and ? is any character.
+	 * 
+	 * @param _glob
+	 * @return filter of name
+	 */
+	public static ProcessFilter nameGlob(String _glob) {
+		Pattern pattern = glob(_glob);
+
+		return new ProcessFilter(COST_STAT, "name~" + _glob, candidate -> matches(pattern, candidate.getName()),
+				"nameGlob", _glob);
+	}
+
+	/**
+	 * Method to get filter of processes with name containing match of regular
+	 * expression.
+	 * 
+	 * @param _regex
+	 * @return filter of name
+	 */
+	public static ProcessFilter nameRegex(String _regex) {
+		Pattern pattern = Pattern.compile(checked(_regex, "Regular expression"));
+
+		return new ProcessFilter(COST_STAT, "name=~" + _regex, candidate -> finds(pattern, candidate.getName()),
+				"nameRegex", _regex);
+	}
+
+	/**
+	 * Method to get filter of processes with path matching glob pattern, where
+	 * * is any text and ? is any character.
+	 * 
+	 * @param _glob
+	 * @return filter of path
+	 */
+	public static ProcessFilter pathGlob(String _glob) {
+		Pattern pattern = glob(_glob);
+
+		return new ProcessFilter(COST_PATH, "path~" + _glob, candidate -> matches(pattern, candidate.getPath()),
+				"pathGlob", _glob);
+	}
+
+	/**
+	 * Method to get filter of processes with path containing match of regular
+	 * expression.
+	 * 
+	 * @param _regex
+	 * @return filter of path
+	 */
+	public static ProcessFilter pathRegex(String _regex) {
+		Pattern pattern = Pattern.compile(checked(_regex, "Regular expression"));
+
+		return new ProcessFilter(COST_PATH, "path=~" + _regex, candidate -> finds(pattern, candidate.getPath()),
+				"pathRegex", _regex);
+	}
+
+	/**
+	 * Method to get filter of processes with command line containing match of
+	 * regular expression.
+	 * 
+	 * @param _regex
+	 * @return filter of command line
+	 */
+	public static ProcessFilter commandLineRegex(String _regex) {
+		Pattern pattern = Pattern.compile(checked(_regex, "Regular expression"));
+
+		return new ProcessFilter(COST_COMMAND_LINE, "cmd=~" + _regex,
+				candidate -> finds(pattern, candidate.getCommandLine()), "commandLineRegex", _regex);
+	}
+
+	/**
+	 * Method to get filter of processes in one of states e.g. RUNNING,
+	 * SLEEPING, ZOMBIE.
+	 * 
+	 * @param _states
+	 * @return filter of state
+	 */
+	public static ProcessFilter state(String... _states) {
+		if (_states == null || _states.length == 0) {
+			throw new IllegalArgumentException("States can not be empty!");
+		}
+		Set<String> states = new HashSet<String>(Arrays.asList(_states));
+
+		return new ProcessFilter(COST_STAT, "state=" + Arrays.toString(_states),
+				candidate -> states.contains(candidate.getState()), "state", states);
+	}
+
+	/**
+	 * Method to get filter of processes using at least given physical memory.
+	 * 
+	 * @param _bytes
+	 *            - minimal resident set size in bytes
+	 * @return filter of resident set size
+	 */
+	public static ProcessFilter minResidentSetSize(long _bytes) {
+		return new ProcessFilter(COST_STAT, "rss>=" + _bytes, candidate -> candidate.getResidentSetSize() >= _bytes,
+				"minResidentSetSize", _bytes);
+	}
+
+	/**
+	 * Method to get filter of children of process.
+	 * 
+	 * @param _parentProcessId
+	 * @return filter of parent process id
+	 */
+	public static ProcessFilter parentProcessId(int _parentProcessId) {
+		return new ProcessFilter(COST_STAT, "ppid=" + _parentProcessId,
+				candidate -> candidate.getParentProcessID() == _parentProcessId, "parentProcessId", _parentProcessId);
+	}
+
+	/**
+	 * Method to check text parameter.
+	 * 
+	 * @param _text
+	 * @param _name
+	 *            - name of parameter
+	 * @return checked text
+	 */
+	private static String checked(String _text, String _name) {
+		if (_text == null) {
+			throw new IllegalArgumentException(_name + " can not be null!");
+		}
+
+		return _text;
+	}
+
+	/**
+	 * Method to convert glob pattern to regular expression.
+	 * 
+	 * @param _glob
+	 * @return compiled pattern
+	 */
+	private static Pattern glob(String _glob) {
+		StringBuilder regex = new StringBuilder();
+		for (char character : checked(_glob, "Glob pattern").toCharArray()) {
+			if (character == '*') {
+				regex.append(".*");
+			} else if (character == '?') {
+				regex.append('.');
+			} else {
+				regex.append(Pattern.quote(String.valueOf(character)));
+			}
+		}
+
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+
+	/**
+	 * Method to check if whole text matches pattern.
+	 * 
+	 * @param _pattern
+	 * @param _text
+	 * @return false if text is null or does not match
+	 */
+	private static boolean matches(Pattern _pattern, String _text) {
+		return _text != null && _pattern.matcher(_text).matches();
+	}
+
+	/**
+	 * Method to check if text contains match of pattern.
+	 * 
+	 * @param _pattern
+	 * @param _text
+	 * @return false if text is null or does not contain match
+	 */
+	private static boolean finds(Pattern _pattern, String _text) {
+		return _text != null && _pattern.matcher(_text).find();
+	}
+
+	/**
+	 * Method to replace filters joined by allOf with their filters, so all
+	 * filters are sorted by cost together.
+	 * 
+	 * @param _filters
+	 * @return filters without filters joined by allOf
+	 */
+	private static ProcessFilter[] flatten(ProcessFilter[] _filters) {
+		if (_filters == null) {
+			return null;
+		}
+		List<ProcessFilter> filters = new ArrayList<ProcessFilter>();
+		for (ProcessFilter filter : _filters) {
+			if (filter != null && filter.allOf != null) {
+				filters.addAll(Arrays.asList(filter.allOf));
+			} else {
+				filters.add(filter);
+			}
+		}
+
+		return filters.toArray(new ProcessFilter[0]);
+	}
+
+	/**
+	 * Method to copy filters sorted by cost.
+	 * 
+	 * @param _filters
+	 * @return sorted filters
+	 */
+	private static ProcessFilter[] sorted(ProcessFilter[] _filters) {
+		if (_filters == null || _filters.length == 0) {
+			throw new IllegalArgumentException("Filters can not be empty!");
+		}
+		ProcessFilter[] filters = _filters.clone();
+		Arrays.sort(filters, Comparator.comparingInt(ProcessFilter::getCost));
+
+		return filters;
+	}
+
+	/**
+	 * Method to get highest cost of filters.
+	 * 
+	 * @param _filters
+	 * @return highest cost
+	 */
+	private static int maxCost(ProcessFilter[] _filters) {
+		return _filters[_filters.length - 1].cost;
+	}
+
+	/**
+	 * Method to join descriptions of filters.
+	 * 
+	 * @param _operator
+	 * @param _filters
+	 * @return joined description
+	 */
+	private static String join(String _operator, ProcessFilter[] _filters) {
+		StringBuilder sb = new StringBuilder("(");
+		for (int i = 0; i < _filters.length; i++) {
+			if (i > 0) {
+				sb.append(" ");
+				sb.append(_operator);
+				sb.append(" ");
+			}
+			sb.append(_filters[i].description);
+		}
+		sb.append(")");
+
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object _object) {
+		if (this == _object) {
+			return true;
+		}
+		if (!(_object instanceof ProcessFilter)) {
+			return false;
+		}
+		ProcessFilter filter = (ProcessFilter) _object;
+
+		return operator.equals(filter.operator) && Arrays.deepEquals(operands, filter.operands);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(operator, Arrays.deepHashCode(operands));
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+}
\ No newline at end of file
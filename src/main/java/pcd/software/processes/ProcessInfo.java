@@ -16,22 +16,37 @@ package pcd.software.processes;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import oshi.SystemInfo;
 import oshi.software.os.OperatingSystem.ProcessSort;
+import pcd.Refreshable;
 import pcd.software.SoftwareAbstract;
 import pcd.software.SoftwareInfo;
+import pcd.util.ProcFileReader;
 
 /**
  * Class to build Process informations. Should be use as command to build model
- * component of Process.
+ * component of Process. Processor usage and I/O rates since previous build or
+ * refresh are counted by {@link ProcessDeltaEngine} of this object, so the
+ * same object should be reused for periodic sampling.
  * 
  * @author Mateusz Mucha
  */
-public final class ProcessInfo extends SoftwareAbstract implements SoftwareInfo<Process> {
+public final class ProcessInfo extends SoftwareAbstract implements SoftwareInfo<Process>, Refreshable<Process> {
 	private ProcessSort processSort;
+	private ProcessField rateSort;
 	private Integer processesCount;
+	private EnumSet<ProcessField> fields;
+	private ProcessFilter filter;
+	private final ProcessDeltaEngine deltaEngine = new ProcessDeltaEngine();
+	private double[] cpuUsage = new double[0], readRates = new double[0], writeRates = new double[0];
+	private final ProcFileReader ioReader = new ProcFileReader();
+	private final long[] bytesRead = new long[1], bytesWritten = new long[1], readSyscalls = new long[1],
+			writeSyscalls = new long[1];
 
 	/**
 	 * Default constructor.
@@ -44,9 +59,71 @@ public final class ProcessInfo extends SoftwareAbstract implements SoftwareInfo<
 	 *            be created.
 	 */
 	public ProcessInfo(ProcessSort _processSort, int _processesCount) {
+		this(_processSort, _processesCount, ProcessField.defaults());
+	}
+
+	/**
+	 * Constructor with selected fields of processes to build.
+	 * 
+	 * @param processSort
+	 *            - type of sorting processes. Could be sorted by e.g. name, cpu
+	 *            usage etc. If is null theen there is no sorting.
+	 * @param processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 */
+	public ProcessInfo(ProcessSort _processSort, int _processesCount, EnumSet<ProcessField> _fields) {
+		this(_processSort, _processesCount, _fields, ProcessFilter.all());
+	}
+
+	/**
+	 * Constructor with selected fields of processes to build and filter of
+	 * processes. Filter is applied before sorting and building of processes.
+	 * 
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public ProcessInfo(ProcessSort _processSort, int _processesCount, EnumSet<ProcessField> _fields,
+			ProcessFilter _filter) {
 		super(null);
 		this.processSort = _processSort;
 		this.processesCount = _processesCount;
+		this.fields = fields(_fields);
+		this.filter = filter(_filter);
+	}
+
+	/**
+	 * Constructor of processes sorted by rate since previous build or refresh,
+	 * e.g. processes with the highest I/O throughput first. Field of rate is
+	 * built too.
+	 * 
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE} to sort by sum of read and
+	 *            write rates
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public ProcessInfo(int _processesCount, ProcessField _rateSort, EnumSet<ProcessField> _fields,
+			ProcessFilter _filter) {
+		this((ProcessSort) null, _processesCount, _fields, _filter);
+		this.rateSort = TopProcessCollector.rateSort(_rateSort);
+		this.fields.add(_rateSort);
 	}
 
 	/**
@@ -62,27 +139,415 @@ public final class ProcessInfo extends SoftwareAbstract implements SoftwareInfo<
 	 *            be created.
 	 */
 	public ProcessInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount) {
+		this(_systemInfo, _processSort, _processesCount, ProcessField.defaults());
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API and selected fields of
+	 * processes to build.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param processSort
+	 *            - type of sorting processes. Could be sorted by e.g. name, cpu
+	 *            usage etc. If is null theen there is no sorting.
+	 * @param processesCount
+	 *            - number of processes to create. If 0 then all processes will
+	 *            be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 */
+	public ProcessInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields) {
+		this(_systemInfo, _processSort, _processesCount, _fields, ProcessFilter.all());
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API, selected fields of
+	 * processes to build and filter of processes. Filter is applied before
+	 * sorting and building of processes.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public ProcessInfo(SystemInfo _systemInfo, ProcessSort _processSort, int _processesCount,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
 		super(_systemInfo, null);
 		this.processSort = _processSort;
 		this.processesCount = _processesCount;
+		this.fields = fields(_fields);
+		this.filter = filter(_filter);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API of processes sorted
+	 * by rate since previous build or refresh. Field of rate is built too.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processesCount
+	 *            - number of processes to create. If 0 then all accepted
+	 *            processes will be created.
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE} to sort by sum of read and
+	 *            write rates
+	 * @param _fields
+	 *            - fields to build, other fields stay empty
+	 * @param _filter
+	 *            - filter of processes
+	 */
+	public ProcessInfo(SystemInfo _systemInfo, int _processesCount, ProcessField _rateSort,
+			EnumSet<ProcessField> _fields, ProcessFilter _filter) {
+		this(_systemInfo, (ProcessSort) null, _processesCount, _fields, _filter);
+		this.rateSort = TopProcessCollector.rateSort(_rateSort);
+		this.fields.add(_rateSort);
+	}
+
+	/**
+	 * Method to copy selected fields of processes.
+	 * 
+	 * @param _fields
+	 * @return copy of selected fields
+	 */
+	private static EnumSet<ProcessField> fields(EnumSet<ProcessField> _fields) {
+		if (_fields == null) {
+			throw new IllegalArgumentException("Fields of processes can not be null!");
+		}
+
+		return EnumSet.copyOf(_fields);
+	}
+
+	/**
+	 * Method to check filter of processes.
+	 * 
+	 * @param _filter
+	 * @return checked filter
+	 */
+	private static ProcessFilter filter(ProcessFilter _filter) {
+		if (_filter == null) {
+			throw new IllegalArgumentException("Filter of processes can not be null!");
+		}
+
+		return _filter;
+	}
+
+	/**
+	 * Method to get selected fields of processes.
+	 * 
+	 * @return fields to build
+	 */
+	public EnumSet<ProcessField> getFields() {
+		return EnumSet.copyOf(fields);
 	}
 
-	public Process buildSoftware() {
-		List<Process.OSProcess> processList = new ArrayList<Process.OSProcess>();
+	/**
+	 * Method to get filter of processes.
+	 * 
+	 * @return filter of processes
+	 */
+	public ProcessFilter getFilter() {
+		return filter;
+	}
 
-		Arrays.asList(getOperatingSystem().getProcesses(processesCount, processSort)).forEach(osProcess -> {
-			Process.OSProcess process = new Process.OSProcess(String.valueOf(osProcess.getProcessID()),
-					osProcess.getName(), osProcess.getPath(), osProcess.getCommandLine(),
-					osProcess.getCurrentWorkingDirectory(), osProcess.getUser(), osProcess.getUserID(),
-					osProcess.getGroup(), osProcess.getGroupID(), osProcess.getState().name(),
-					osProcess.getParentProcessID(), osProcess.getThreadCount(), osProcess.getPriority(),
-					osProcess.getVirtualSize(), osProcess.getResidentSetSize(), osProcess.getKernelTime(),
-					osProcess.getUserTime(), osProcess.getStartTime(), osProcess.getUpTime(), osProcess.getBytesRead(),
-					osProcess.getBytesWritten());
+	public synchronized Process buildSoftware() {
+		oshi.software.os.OSProcess[] osProcesses = getOperatingSystem().getProcesses(0, null);
+		intervalUsage(osProcesses);
+		int[] selected = select(osProcesses);
+		List<Process.OSProcess> processList = new ArrayList<Process.OSProcess>(selected.length);
 
-			processList.add(process);
-		});
+		for (int index : selected) {
+			processList.add(osProcess(osProcesses[index], index));
+		}
 
 		return new Process(processList);
 	}
+
+	public synchronized void refresh(Process _process) {
+		Map<String, Process.OSProcess> previousProcesses = new HashMap<String, Process.OSProcess>();
+		_process.getProcessList().forEach(process -> previousProcesses.put(process.getId(), process));
+		_process.getProcessList().clear();
+
+		oshi.software.os.OSProcess[] osProcesses = getOperatingSystem().getProcesses(0, null);
+		intervalUsage(osProcesses);
+		for (int index : select(osProcesses)) {
+			oshi.software.os.OSProcess osProcess = osProcesses[index];
+			Process.OSProcess process = previousProcesses.get(String.valueOf(osProcess.getProcessID()));
+			if (process == null
+					|| (has(ProcessField.START_TIME) && process.getStartTime() != osProcess.getStartTime())) {
+				// new process or process id reused by another process
+				process = osProcess(osProcess, index);
+			} else {
+				refreshProcess(process, osProcess, index);
+			}
+			_process.getProcessList().add(process);
+		}
+	}
+
+	/**
+	 * Method to get positions of processes accepted by filter.
+	 * 
+	 * @param _osProcesses
+	 *            - all processes of OSHI API
+	 * @return positions of accepted processes or null if filter accepts all
+	 *         processes
+	 */
+	private int[] candidates(oshi.software.os.OSProcess[] _osProcesses) {
+		if (filter == ProcessFilter.all()) {
+			return null;
+		}
+
+		OshiCandidate candidate = new OshiCandidate();
+		int[] candidates = new int[_osProcesses.length];
+		int count = 0;
+		for (int i = 0; i < _osProcesses.length; i++) {
+			candidate.osProcess = _osProcesses[i];
+			if (filter.test(candidate)) {
+				candidates[count++] = i;
+			}
+		}
+
+		return Arrays.copyOf(candidates, count);
+	}
+
+	/**
+	 * Method to select positions of processes to build in order of sorting.
+	 * 
+	 * @param _osProcesses
+	 *            - all processes of OSHI API
+	 * @return sorted positions of selected processes
+	 */
+	private int[] select(oshi.software.os.OSProcess[] _osProcesses) {
+		if (rateSort != null) {
+			return TopProcessCollector.select(_osProcesses.length, candidates(_osProcesses),
+					rateSort == ProcessField.IO_RATE
+							? TopProcessCollector.byRate(readRates, writeRates, i -> _osProcesses[i].getProcessID())
+							: TopProcessCollector.byRate(cpuUsage, null, i -> _osProcesses[i].getProcessID()),
+					processesCount);
+		}
+
+		return TopProcessCollector.select(_osProcesses, candidates(_osProcesses),
+				has(ProcessField.INTERVAL_CPU_USAGE) ? cpuUsage : null, processSort, processesCount);
+	}
+
+	/**
+	 * Method to count processor usage and I/O rates since previous scan of all
+	 * processes. They are counted for every process, not only selected ones,
+	 * to keep previous values of all processes. Arrays are reused by next
+	 * scans.
+	 * 
+	 * @param _osProcesses
+	 *            - all processes of OSHI API
+	 */
+	private void intervalUsage(oshi.software.os.OSProcess[] _osProcesses) {
+		if (!has(ProcessField.INTERVAL_CPU_USAGE) && !has(ProcessField.IO_RATE)) {
+			return;
+		}
+		if (cpuUsage.length < _osProcesses.length) {
+			int capacity = _osProcesses.length + _osProcesses.length / 2;
+			cpuUsage = new double[capacity];
+			readRates = new double[capacity];
+			writeRates = new double[capacity];
+		}
+
+		deltaEngine.beginScan();
+		for (int i = 0; i < _osProcesses.length; i++) {
+			deltaEngine.update(_osProcesses[i].getProcessID(), _osProcesses[i].getStartTime(),
+					_osProcesses[i].getKernelTime() + _osProcesses[i].getUserTime(), _osProcesses[i].getBytesRead(),
+					_osProcesses[i].getBytesWritten());
+			cpuUsage[i] = deltaEngine.getCpuUsage();
+			readRates[i] = deltaEngine.getReadRate();
+			writeRates[i] = deltaEngine.getWriteRate();
+		}
+		deltaEngine.endScan();
+	}
+
+	/**
+	 * Method to set rates since previous scan and system calls of process.
+	 * Numbers of system calls are read from /proc on Linux only, OSHI API
+	 * does not provide them.
+	 * 
+	 * @param _process
+	 * @param _osProcess
+	 *            - process of OSHI API
+	 * @param _index
+	 *            - position of process in scan
+	 */
+	private void setRates(Process.OSProcess _process, oshi.software.os.OSProcess _osProcess, int _index) {
+		if (has(ProcessField.INTERVAL_CPU_USAGE)) {
+			_process.setIntervalCpuUsage(cpuUsage[_index]);
+		}
+		if (has(ProcessField.IO_RATE)) {
+			_process.setReadRate(readRates[_index]);
+			_process.setWriteRate(writeRates[_index]);
+		}
+		if (has(ProcessField.IO_SYSCALLS)) {
+			LinuxProcessInfo.readIo(ioReader, _osProcess.getProcessID(), bytesRead, bytesWritten, readSyscalls,
+					writeSyscalls, 0);
+			_process.setReadSyscalls(readSyscalls[0]);
+			_process.setWriteSyscalls(writeSyscalls[0]);
+		}
+	}
+
+	/**
+	 * Method to create process with selected fields.
+	 * 
+	 * @param _osProcess
+	 *            - process of OSHI API
+	 * @param _index
+	 *            - position of process in scan
+	 * @return process
+	 */
+	private Process.OSProcess osProcess(oshi.software.os.OSProcess _osProcess, int _index) {
+		Process.OSProcess process = new Process.OSProcess(String.valueOf(_osProcess.getProcessID()),
+				has(ProcessField.NAME) ? _osProcess.getName() : null,
+				has(ProcessField.PATH) ? _osProcess.getPath() : null,
+				has(ProcessField.COMMAND_LINE) ? _osProcess.getCommandLine() : null,
+				has(ProcessField.CURRENT_WORKING_DIRECTORY) ? _osProcess.getCurrentWorkingDirectory() : null,
+				has(ProcessField.USER) ? _osProcess.getUser() : null,
+				has(ProcessField.USER_ID) ? _osProcess.getUserID() : null,
+				has(ProcessField.GROUP) ? _osProcess.getGroup() : null,
+				has(ProcessField.GROUP_ID) ? _osProcess.getGroupID() : null,
+				has(ProcessField.STATE) ? _osProcess.getState().name() : null,
+				has(ProcessField.PARENT_PROCESS_ID) ? _osProcess.getParentProcessID() : 0,
+				has(ProcessField.THREAD_COUNT) ? _osProcess.getThreadCount() : 0,
+				has(ProcessField.PRIORITY) ? _osProcess.getPriority() : 0,
+				has(ProcessField.VIRTUAL_SIZE) ? _osProcess.getVirtualSize() : 0,
+				has(ProcessField.RESIDENT_SET_SIZE) ? _osProcess.getResidentSetSize() : 0,
+				has(ProcessField.KERNEL_TIME) ? _osProcess.getKernelTime() : 0,
+				has(ProcessField.USER_TIME) ? _osProcess.getUserTime() : 0,
+				has(ProcessField.START_TIME) ? _osProcess.getStartTime() : 0,
+				has(ProcessField.UP_TIME) ? _osProcess.getUpTime() : 0,
+				has(ProcessField.BYTES_READ) ? _osProcess.getBytesRead() : 0,
+				has(ProcessField.BYTES_WRITTEN) ? _osProcess.getBytesWritten() : 0);
+		setRates(process, _osProcess, _index);
+
+		return process;
+	}
+
+	/**
+	 * Method to update selected fields of process built before. Name, path and
+	 * command line are updated too, because they change after exec.
+	 * 
+	 * @param _process
+	 *            - process built before
+	 * @param _osProcess
+	 *            - process of OSHI API
+	 * @param _index
+	 *            - position of process in scan
+	 */
+	private void refreshProcess(Process.OSProcess _process, oshi.software.os.OSProcess _osProcess, int _index) {
+		if (has(ProcessField.NAME)) {
+			_process.setName(_osProcess.getName());
+		}
+		if (has(ProcessField.PATH)) {
+			_process.setPath(_osProcess.getPath());
+		}
+		if (has(ProcessField.COMMAND_LINE)) {
+			_process.setCommandLine(_osProcess.getCommandLine());
+		}
+		if (has(ProcessField.CURRENT_WORKING_DIRECTORY)) {
+			_process.setCurrentWorkingDirectory(_osProcess.getCurrentWorkingDirectory());
+		}
+		if (has(ProcessField.STATE)) {
+			_process.setState(_osProcess.getState().name());
+		}
+		if (has(ProcessField.PARENT_PROCESS_ID)) {
+			_process.setParentProcessID(_osProcess.getParentProcessID());
+		}
+		if (has(ProcessField.THREAD_COUNT)) {
+			_process.setThreadCount(_osProcess.getThreadCount());
+		}
+		if (has(ProcessField.PRIORITY)) {
+			_process.setPriority(_osProcess.getPriority());
+		}
+		if (has(ProcessField.VIRTUAL_SIZE)) {
+			_process.setVirtualSize(_osProcess.getVirtualSize());
+		}
+		if (has(ProcessField.RESIDENT_SET_SIZE)) {
+			_process.setResidentSetSize(_osProcess.getResidentSetSize());
+		}
+		if (has(ProcessField.KERNEL_TIME)) {
+			_process.setKernelTime(_osProcess.getKernelTime());
+		}
+		if (has(ProcessField.USER_TIME)) {
+			_process.setUserTime(_osProcess.getUserTime());
+		}
+		if (has(ProcessField.UP_TIME)) {
+			_process.setUpTime(_osProcess.getUpTime());
+		}
+		if (has(ProcessField.BYTES_READ)) {
+			_process.setBytesRead(_osProcess.getBytesRead());
+		}
+		if (has(ProcessField.BYTES_WRITTEN)) {
+			_process.setBytesWritten(_osProcess.getBytesWritten());
+		}
+		setRates(_process, _osProcess, _index);
+	}
+
+	/**
+	 * Method to check if field of processes is selected to build.
+	 * 
+	 * @param _field
+	 * @return true if field should be built
+	 */
+	private boolean has(ProcessField _field) {
+		return fields.contains(_field);
+	}
+
+	/**
+	 * Class to test process of OSHI API by filter. One object is reused for
+	 * all processes.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class OshiCandidate implements ProcessFilter.Candidate {
+		private oshi.software.os.OSProcess osProcess;
+
+		public int getProcessID() {
+			return osProcess.getProcessID();
+		}
+
+		public int getParentProcessID() {
+			return osProcess.getParentProcessID();
+		}
+
+		public String getName() {
+			return osProcess.getName();
+		}
+
+		public String getState() {
+			return osProcess.getState().name();
+		}
+
+		public long getResidentSetSize() {
+			return osProcess.getResidentSetSize();
+		}
+
+		public String getUserID() {
+			return osProcess.getUserID();
+		}
+
+		public String getUser() {
+			return osProcess.getUser();
+		}
+
+		public String getPath() {
+			return osProcess.getPath();
+		}
+
+		public String getCommandLine() {
+			return osProcess.getCommandLine();
+		}
+	}
 }
\ No newline at end of file
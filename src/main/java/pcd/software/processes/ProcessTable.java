@@ -0,0 +1,564 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+import pcd.Component;
+import pcd.util.FormatUtil;
+
+/**
+ * Class representation of processes kept in columns, one primitive array for
+ * every field indexed by row of process. Text fields are kept as codes of
+ * dictionary shared by all text columns, so the same user, group, state or
+ * name is kept once. Rows are sorted and filtered as arrays of row numbers
+ * without creating {@link Process.OSProcess} objects. Code -1 means empty
+ * text field.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessTable extends Component {
+	private static final long serialVersionUID = 8125098311947405563L;
+	private final String[] dictionary;
+	private final int[] processIds, parentProcessIds, threadCounts, priorities;
+	private final long[] virtualSizes, residentSetSizes, kernelTimes, userTimes, startTimes, upTimes, bytesRead,
+			bytesWritten;
+	private final double[] intervalCpuUsage;
+	private final int[] names, paths, commandLines, currentWorkingDirectories, users, userIds, groups, groupIds,
+			states;
+
+	/**
+	 * Default constructor. Every array has one value for every row.
+	 * 
+	 * @param _dictionary
+	 *            - texts of codes
+	 * @param _processIds
+	 * @param _parentProcessIds
+	 * @param _threadCounts
+	 * @param _priorities
+	 * @param _virtualSizes
+	 * @param _residentSetSizes
+	 * @param _kernelTimes
+	 * @param _userTimes
+	 * @param _startTimes
+	 * @param _upTimes
+	 * @param _bytesRead
+	 * @param _bytesWritten
+	 * @param _intervalCpuUsage
+	 * @param _names
+	 * @param _paths
+	 * @param _commandLines
+	 * @param _currentWorkingDirectories
+	 * @param _users
+	 * @param _userIds
+	 * @param _groups
+	 * @param _groupIds
+	 * @param _states
+	 */
+	public ProcessTable(String[] _dictionary, int[] _processIds, int[] _parentProcessIds, int[] _threadCounts,
+			int[] _priorities, long[] _virtualSizes, long[] _residentSetSizes, long[] _kernelTimes, long[] _userTimes,
+			long[] _startTimes, long[] _upTimes, long[] _bytesRead, long[] _bytesWritten, double[] _intervalCpuUsage,
+			int[] _names, int[] _paths, int[] _commandLines, int[] _currentWorkingDirectories, int[] _users,
+			int[] _userIds, int[] _groups, int[] _groupIds, int[] _states) {
+		super(null);
+		this.dictionary = _dictionary;
+		this.processIds = _processIds;
+		this.parentProcessIds = _parentProcessIds;
+		this.threadCounts = _threadCounts;
+		this.priorities = _priorities;
+		this.virtualSizes = _virtualSizes;
+		this.residentSetSizes = _residentSetSizes;
+		this.kernelTimes = _kernelTimes;
+		this.userTimes = _userTimes;
+		this.startTimes = _startTimes;
+		this.upTimes = _upTimes;
+		this.bytesRead = _bytesRead;
+		this.bytesWritten = _bytesWritten;
+		this.intervalCpuUsage = _intervalCpuUsage;
+		this.names = _names;
+		this.paths = _paths;
+		this.commandLines = _commandLines;
+		this.currentWorkingDirectories = _currentWorkingDirectories;
+		this.users = _users;
+		this.userIds = _userIds;
+		this.groups = _groups;
+		this.groupIds = _groupIds;
+		this.states = _states;
+	}
+
+	/**
+	 * Method to get number of rows.
+	 * 
+	 * @return processes count
+	 */
+	public int size() {
+		return processIds.length;
+	}
+
+	/**
+	 * Method to get numbers of all rows in order of table.
+	 * 
+	 * @return row numbers
+	 */
+	public int[] rows() {
+		int[] rows = new int[processIds.length];
+		for (int row = 0; row < rows.length; row++) {
+			rows[row] = row;
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Method to get rows which match predicate, in the same order.
+	 * 
+	 * @param _rows
+	 *            - row numbers to filter
+	 * @param _predicate
+	 *            - predicate of row number
+	 * @return matching row numbers
+	 */
+	public int[] filter(int[] _rows, IntPredicate _predicate) {
+		int[] result = new int[_rows.length];
+		int count = 0;
+		for (int row : _rows) {
+			if (_predicate.test(row)) {
+				result[count++] = row;
+			}
+		}
+
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Method to sort rows by field. Sorting is stable, so rows could be sorted
+	 * by few fields starting from the least important one. Text fields are
+	 * sorted alphabetically with empty fields first. I/O rates and system
+	 * calls are not columns of table and can not be sorted by.
+	 * 
+	 * @param _rows
+	 *            - row numbers to sort
+	 * @param _field
+	 *            - field to sort by
+	 * @param _descending
+	 * @return sorted row numbers
+	 */
+	public int[] sort(int[] _rows, ProcessField _field, boolean _descending) {
+		IntBinaryOperator order = comparator(_field);
+		IntBinaryOperator comparator = _descending ? (a, b) -> order.applyAsInt(b, a) : order;
+		int[] result = _rows.clone();
+		mergeSort(result, _rows.clone(), 0, result.length, comparator);
+
+		return result;
+	}
+
+	/**
+	 * Method to sort rows by process id.
+	 * 
+	 * @param _rows
+	 *            - row numbers to sort
+	 * @param _descending
+	 * @return sorted row numbers
+	 */
+	public int[] sortByProcessId(int[] _rows, boolean _descending) {
+		IntBinaryOperator comparator = _descending ? (a, b) -> Integer.compare(processIds[b], processIds[a])
+				: (a, b) -> Integer.compare(processIds[a], processIds[b]);
+		int[] result = _rows.clone();
+		mergeSort(result, _rows.clone(), 0, result.length, comparator);
+
+		return result;
+	}
+
+	/**
+	 * Method to create comparator of rows by field.
+	 * 
+	 * @param _field
+	 * @return comparator of row numbers
+	 */
+	private IntBinaryOperator comparator(ProcessField _field) {
+		switch (_field) {
+		case PARENT_PROCESS_ID:
+			return (a, b) -> Integer.compare(parentProcessIds[a], parentProcessIds[b]);
+		case THREAD_COUNT:
+			return (a, b) -> Integer.compare(threadCounts[a], threadCounts[b]);
+		case PRIORITY:
+			return (a, b) -> Integer.compare(priorities[a], priorities[b]);
+		case VIRTUAL_SIZE:
+			return (a, b) -> Long.compare(virtualSizes[a], virtualSizes[b]);
+		case RESIDENT_SET_SIZE:
+			return (a, b) -> Long.compare(residentSetSizes[a], residentSetSizes[b]);
+		case KERNEL_TIME:
+			return (a, b) -> Long.compare(kernelTimes[a], kernelTimes[b]);
+		case USER_TIME:
+			return (a, b) -> Long.compare(userTimes[a], userTimes[b]);
+		case START_TIME:
+			return (a, b) -> Long.compare(startTimes[a], startTimes[b]);
+		case UP_TIME:
+			return (a, b) -> Long.compare(upTimes[a], upTimes[b]);
+		case BYTES_READ:
+			return (a, b) -> Long.compare(bytesRead[a], bytesRead[b]);
+		case BYTES_WRITTEN:
+			return (a, b) -> Long.compare(bytesWritten[a], bytesWritten[b]);
+		case INTERVAL_CPU_USAGE:
+			return (a, b) -> Double.compare(intervalCpuUsage[a], intervalCpuUsage[b]);
+		case IO_RATE:
+		case IO_SYSCALLS:
+			throw new IllegalArgumentException("Field " + _field + " is not column of process table!");
+		default:
+			int[] codes = codes(_field);
+			int[] ranks = ranks();
+			return (a, b) -> Integer.compare(codes[a] < 0 ? -1 : ranks[codes[a]], codes[b] < 0 ? -1 : ranks[codes[b]]);
+		}
+	}
+
+	/**
+	 * Method to get alphabetical rank of every text of dictionary.
+	 * 
+	 * @return ranks indexed by code
+	 */
+	private int[] ranks() {
+		int[] codes = new int[dictionary.length];
+		for (int code = 0; code < codes.length; code++) {
+			codes[code] = code;
+		}
+		mergeSort(codes, codes.clone(), 0, codes.length, (a, b) -> dictionary[a].compareTo(dictionary[b]));
+
+		int[] ranks = new int[dictionary.length];
+		for (int rank = 0; rank < codes.length; rank++) {
+			ranks[codes[rank]] = rank;
+		}
+
+		return ranks;
+	}
+
+	/**
+	 * Method to sort part of array with merge sort.
+	 * 
+	 * @param _array
+	 *            - array to sort
+	 * @param _copy
+	 *            - copy of array to sort
+	 * @param _from
+	 * @param _to
+	 * @param _comparator
+	 */
+	private static void mergeSort(int[] _array, int[] _copy, int _from, int _to, IntBinaryOperator _comparator) {
+		if (_to - _from < 2) {
+			return;
+		}
+		int middle = (_from + _to) >>> 1;
+		// sort halves of copy into array, then merge them back from copy
+		mergeSort(_copy, _array, _from, middle, _comparator);
+		mergeSort(_copy, _array, middle, _to, _comparator);
+
+		int left = _from, right = middle;
+		for (int i = _from; i < _to; i++) {
+			if (right >= _to || (left < middle && _comparator.applyAsInt(_copy[left], _copy[right]) <= 0)) {
+				_array[i] = _copy[left++];
+			} else {
+				_array[i] = _copy[right++];
+			}
+		}
+	}
+
+	/**
+	 * Method to get column of codes of text field.
+	 * 
+	 * @param _field
+	 * @return codes of every row
+	 */
+	private int[] codes(ProcessField _field) {
+		switch (_field) {
+		case NAME:
+			return names;
+		case PATH:
+			return paths;
+		case COMMAND_LINE:
+			return commandLines;
+		case CURRENT_WORKING_DIRECTORY:
+			return currentWorkingDirectories;
+		case USER:
+			return users;
+		case USER_ID:
+			return userIds;
+		case GROUP:
+			return groups;
+		case GROUP_ID:
+			return groupIds;
+		case STATE:
+			return states;
+		default:
+			throw new IllegalArgumentException("Field " + _field + " is not text field!");
+		}
+	}
+
+	/**
+	 * Method to get code of text.
+	 * 
+	 * @param _text
+	 * @return code of text or -1 if text is not in table
+	 */
+	public int codeOf(String _text) {
+		for (int code = 0; code < dictionary.length; code++) {
+			if (dictionary[code].equals(_text)) {
+				return code;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Method to get text of code.
+	 * 
+	 * @param _code
+	 * @return text or null for code -1
+	 */
+	public String textOf(int _code) {
+		return _code >= 0 ? dictionary[_code] : null;
+	}
+
+	/**
+	 * Method to get number of different texts.
+	 * 
+	 * @return dictionary size
+	 */
+	public int getDictionarySize() {
+		return dictionary.length;
+	}
+
+	/**
+	 * Method to get code of text field of row.
+	 * 
+	 * @param _row
+	 * @param _field
+	 *            - text field e.g. NAME, USER, STATE
+	 * @return code or -1 if field is empty
+	 */
+	public int getCode(int _row, ProcessField _field) {
+		return codes(_field)[_row];
+	}
+
+	/**
+	 * Method to get text field of row.
+	 * 
+	 * @param _row
+	 * @param _field
+	 *            - text field e.g. NAME, USER, STATE
+	 * @return text or null if field is empty
+	 */
+	public String getText(int _row, ProcessField _field) {
+		return textOf(getCode(_row, _field));
+	}
+
+	/**
+	 * Method to get process id.
+	 * 
+	 * @param _row
+	 * @return process id
+	 */
+	public int getProcessId(int _row) {
+		return processIds[_row];
+	}
+
+	/**
+	 * Method to get parent process id.
+	 * 
+	 * @param _row
+	 * @return parent process id
+	 */
+	public int getParentProcessId(int _row) {
+		return parentProcessIds[_row];
+	}
+
+	/**
+	 * Method to get threads count.
+	 * 
+	 * @param _row
+	 * @return threads count
+	 */
+	public int getThreadCount(int _row) {
+		return threadCounts[_row];
+	}
+
+	/**
+	 * Method to get priority.
+	 * 
+	 * @param _row
+	 * @return priority
+	 */
+	public int getPriority(int _row) {
+		return priorities[_row];
+	}
+
+	/**
+	 * Method to get virtual size in bytes.
+	 * 
+	 * @param _row
+	 * @return virtual size
+	 */
+	public long getVirtualSize(int _row) {
+		return virtualSizes[_row];
+	}
+
+	/**
+	 * Method to get resident set size in bytes.
+	 * 
+	 * @param _row
+	 * @return resident set size
+	 */
+	public long getResidentSetSize(int _row) {
+		return residentSetSizes[_row];
+	}
+
+	/**
+	 * Method to get kernel time in milliseconds.
+	 * 
+	 * @param _row
+	 * @return kernel time
+	 */
+	public long getKernelTime(int _row) {
+		return kernelTimes[_row];
+	}
+
+	/**
+	 * Method to get user time in milliseconds.
+	 * 
+	 * @param _row
+	 * @return user time
+	 */
+	public long getUserTime(int _row) {
+		return userTimes[_row];
+	}
+
+	/**
+	 * Method to get start time in milliseconds since epoch.
+	 * 
+	 * @param _row
+	 * @return start time
+	 */
+	public long getStartTime(int _row) {
+		return startTimes[_row];
+	}
+
+	/**
+	 * Method to get up time in milliseconds.
+	 * 
+	 * @param _row
+	 * @return up time
+	 */
+	public long getUpTime(int _row) {
+		return upTimes[_row];
+	}
+
+	/**
+	 * Method to get bytes read.
+	 * 
+	 * @param _row
+	 * @return bytes read
+	 */
+	public long getBytesRead(int _row) {
+		return bytesRead[_row];
+	}
+
+	/**
+	 * Method to get bytes written.
+	 * 
+	 * @param _row
+	 * @return bytes written
+	 */
+	public long getBytesWritten(int _row) {
+		return bytesWritten[_row];
+	}
+
+	/**
+	 * Method to get processor usage since previous scan in percents of one
+	 * logical processor.
+	 * 
+	 * @param _row
+	 * @return processor usage since previous scan or -1 if not counted
+	 */
+	public double getIntervalCpuUsage(int _row) {
+		return intervalCpuUsage[_row];
+	}
+
+	/**
+	 * Method to create process object of row.
+	 * 
+	 * @param _row
+	 * @return process
+	 */
+	public Process.OSProcess toOSProcess(int _row) {
+		Process.OSProcess process = new Process.OSProcess(String.valueOf(processIds[_row]), textOf(names[_row]),
+				textOf(paths[_row]), textOf(commandLines[_row]), textOf(currentWorkingDirectories[_row]),
+				textOf(users[_row]), textOf(userIds[_row]), textOf(groups[_row]), textOf(groupIds[_row]),
+				textOf(states[_row]), parentProcessIds[_row], threadCounts[_row], priorities[_row],
+				virtualSizes[_row], residentSetSizes[_row], kernelTimes[_row], userTimes[_row], startTimes[_row],
+				upTimes[_row], bytesRead[_row], bytesWritten[_row]);
+		process.setIntervalCpuUsage(intervalCpuUsage[_row]);
+
+		return process;
+	}
+
+	/**
+	 * Method to create processes of rows.
+	 * 
+	 * @param _rows
+	 * @return processes in order of rows
+	 */
+	public Process toProcess(int[] _rows) {
+		List<Process.OSProcess> processList = new ArrayList<Process.OSProcess>(_rows.length);
+		for (int row : _rows) {
+			processList.add(toOSProcess(row));
+		}
+
+		return new Process(processList);
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("==== Processes Table ====");
+
+		for (int row = 0; row < processIds.length; row++) {
+			sb.append("\nPID: ");
+			sb.append(processIds[row]);
+			sb.append(", Name: ");
+			sb.append(textOf(names[row]));
+			sb.append(", %CPU: ");
+			if (intervalCpuUsage[row] >= 0) {
+				sb.append(FormatUtil.toPercentage3Digits(intervalCpuUsage[row] / 100));
+			} else {
+				sb.append(FormatUtil.toPercentage3Digits(
+						upTimes[row] > 0 ? (double) (kernelTimes[row] + userTimes[row]) / upTimes[row] : 0));
+			}
+			sb.append(", VSZ: ");
+			sb.append(FormatUtil.toBytes(virtualSizes[row]));
+			sb.append(", RSS: ");
+			sb.append(FormatUtil.toBytes(residentSetSizes[row]));
+			sb.append(", User: ");
+			sb.append(textOf(users[row]));
+			sb.append(", State: ");
+			sb.append(textOf(states[row]));
+			sb.append(", Path: ");
+			sb.append(textOf(paths[row]));
+		}
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
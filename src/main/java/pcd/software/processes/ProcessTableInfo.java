@@ -0,0 +1,205 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import oshi.SystemInfo;
+import pcd.software.SoftwareAbstract;
+import pcd.software.SoftwareInfo;
+
+/**
+ * Class to build table of all processes kept in columns. Should be use as
+ * command to build model component of process table. Processor usage since
+ * previous build is counted by {@link ProcessDeltaEngine} of this object, so
+ * the same object should be reused for periodic sampling.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessTableInfo extends SoftwareAbstract implements SoftwareInfo<ProcessTable> {
+	private final EnumSet<ProcessField> fields;
+	private final ProcessDeltaEngine deltaEngine = new ProcessDeltaEngine();
+
+	/**
+	 * Default constructor.
+	 */
+	public ProcessTableInfo() {
+		this(ProcessField.defaults());
+	}
+
+	/**
+	 * Constructor with selected fields of processes to build.
+	 * 
+	 * @param _fields
+	 *            - fields to build, other columns stay empty, without
+	 *            {@link ProcessField#IO_RATE} and
+	 *            {@link ProcessField#IO_SYSCALLS}
+	 */
+	public ProcessTableInfo(EnumSet<ProcessField> _fields) {
+		super(null);
+		this.fields = fields(_fields);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 */
+	public ProcessTableInfo(SystemInfo _systemInfo) {
+		this(_systemInfo, ProcessField.defaults());
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API and selected fields of
+	 * processes to build.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _fields
+	 *            - fields to build, other columns stay empty, without
+	 *            {@link ProcessField#IO_RATE} and
+	 *            {@link ProcessField#IO_SYSCALLS}
+	 */
+	public ProcessTableInfo(SystemInfo _systemInfo, EnumSet<ProcessField> _fields) {
+		super(_systemInfo, null);
+		this.fields = fields(_fields);
+	}
+
+	/**
+	 * Method to copy selected fields of processes. I/O rates and system calls
+	 * are not columns of table.
+	 * 
+	 * @param _fields
+	 * @return copy of selected fields
+	 */
+	private static EnumSet<ProcessField> fields(EnumSet<ProcessField> _fields) {
+		if (_fields == null) {
+			throw new IllegalArgumentException("Fields of processes can not be null!");
+		}
+		for (ProcessField field : new ProcessField[] { ProcessField.IO_RATE, ProcessField.IO_SYSCALLS }) {
+			if (_fields.contains(field)) {
+				throw new IllegalArgumentException("Field " + field + " is not column of process table!");
+			}
+		}
+
+		return EnumSet.copyOf(_fields);
+	}
+
+	/**
+	 * Method to get selected fields of processes.
+	 * 
+	 * @return fields to build
+	 */
+	public EnumSet<ProcessField> getFields() {
+		return EnumSet.copyOf(fields);
+	}
+
+	public synchronized ProcessTable buildSoftware() {
+		oshi.software.os.OSProcess[] osProcesses = getOperatingSystem().getProcesses(0, null);
+		int size = osProcesses.length;
+		Map<String, Integer> codes = new HashMap<String, Integer>();
+
+		int[] processIds = new int[size], parentProcessIds = new int[size], threadCounts = new int[size],
+				priorities = new int[size];
+		long[] virtualSizes = new long[size], residentSetSizes = new long[size], kernelTimes = new long[size],
+				userTimes = new long[size], startTimes = new long[size], upTimes = new long[size],
+				bytesRead = new long[size], bytesWritten = new long[size];
+		double[] intervalCpuUsage = new double[size];
+		int[] names = new int[size], paths = new int[size], commandLines = new int[size],
+				currentWorkingDirectories = new int[size], users = new int[size], userIds = new int[size],
+				groups = new int[size], groupIds = new int[size], states = new int[size];
+
+		if (has(ProcessField.INTERVAL_CPU_USAGE)) {
+			deltaEngine.beginScan();
+		}
+		for (int row = 0; row < size; row++) {
+			oshi.software.os.OSProcess osProcess = osProcesses[row];
+			processIds[row] = osProcess.getProcessID();
+			parentProcessIds[row] = has(ProcessField.PARENT_PROCESS_ID) ? osProcess.getParentProcessID() : 0;
+			threadCounts[row] = has(ProcessField.THREAD_COUNT) ? osProcess.getThreadCount() : 0;
+			priorities[row] = has(ProcessField.PRIORITY) ? osProcess.getPriority() : 0;
+			virtualSizes[row] = has(ProcessField.VIRTUAL_SIZE) ? osProcess.getVirtualSize() : 0;
+			residentSetSizes[row] = has(ProcessField.RESIDENT_SET_SIZE) ? osProcess.getResidentSetSize() : 0;
+			kernelTimes[row] = has(ProcessField.KERNEL_TIME) ? osProcess.getKernelTime() : 0;
+			userTimes[row] = has(ProcessField.USER_TIME) ? osProcess.getUserTime() : 0;
+			startTimes[row] = has(ProcessField.START_TIME) ? osProcess.getStartTime() : 0;
+			upTimes[row] = has(ProcessField.UP_TIME) ? osProcess.getUpTime() : 0;
+			bytesRead[row] = has(ProcessField.BYTES_READ) ? osProcess.getBytesRead() : 0;
+			bytesWritten[row] = has(ProcessField.BYTES_WRITTEN) ? osProcess.getBytesWritten() : 0;
+			intervalCpuUsage[row] = has(ProcessField.INTERVAL_CPU_USAGE)
+					? deltaEngine.cpuUsage(osProcess.getProcessID(), osProcess.getStartTime(),
+							osProcess.getKernelTime() + osProcess.getUserTime())
+					: -1;
+
+			names[row] = code(codes, ProcessField.NAME, osProcess.getName());
+			paths[row] = code(codes, ProcessField.PATH, osProcess.getPath());
+			commandLines[row] = code(codes, ProcessField.COMMAND_LINE, osProcess.getCommandLine());
+			currentWorkingDirectories[row] = code(codes, ProcessField.CURRENT_WORKING_DIRECTORY,
+					osProcess.getCurrentWorkingDirectory());
+			users[row] = code(codes, ProcessField.USER, osProcess.getUser());
+			userIds[row] = code(codes, ProcessField.USER_ID, osProcess.getUserID());
+			groups[row] = code(codes, ProcessField.GROUP, osProcess.getGroup());
+			groupIds[row] = code(codes, ProcessField.GROUP_ID, osProcess.getGroupID());
+			states[row] = code(codes, ProcessField.STATE, osProcess.getState().name());
+		}
+		if (has(ProcessField.INTERVAL_CPU_USAGE)) {
+			deltaEngine.endScan();
+		}
+
+		String[] dictionary = new String[codes.size()];
+		codes.forEach((text, code) -> dictionary[code] = text);
+
+		return new ProcessTable(dictionary, processIds, parentProcessIds, threadCounts, priorities, virtualSizes,
+				residentSetSizes, kernelTimes, userTimes, startTimes, upTimes, bytesRead, bytesWritten,
+				intervalCpuUsage, names, paths, commandLines, currentWorkingDirectories, users, userIds, groups,
+				groupIds, states);
+	}
+
+	/**
+	 * Method to get code of text, new code is added to dictionary for new
+	 * text.
+	 * 
+	 * @param _codes
+	 *            - dictionary of texts and codes
+	 * @param _field
+	 * @param _text
+	 * @return code of text or -1 if field is not selected or text is null
+	 */
+	private int code(Map<String, Integer> _codes, ProcessField _field, String _text) {
+		if (_text == null || !has(_field)) {
+			return -1;
+		}
+		Integer code = _codes.get(_text);
+		if (code == null) {
+			code = _codes.size();
+			_codes.put(_text, code);
+		}
+
+		return code;
+	}
+
+	/**
+	 * Method to check if field of processes is selected to build.
+	 * 
+	 * @param _field
+	 * @return true if field should be built
+	 */
+	private boolean has(ProcessField _field) {
+		return fields.contains(_field);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import pcd.Component;
+import pcd.util.FormatUtil;
+
+/**
+ * Class representation of threads of one process with processor usage of every
+ * thread over sampled interval. Values are kept in parallel arrays indexed by
+ * thread position, sorted by thread id.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessThreads extends Component {
+	private static final long serialVersionUID = 4406718123652387562L;
+	private int[] threadIds;
+	private String[] names;
+	private char[] states;
+	private double[] userCpuUsage, systemCpuUsage;
+	private long interval;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _id
+	 *            - process id
+	 * @param _threadIds
+	 * @param _names
+	 * @param _states
+	 * @param _userCpuUsage
+	 * @param _systemCpuUsage
+	 * @param _interval
+	 */
+	public ProcessThreads(String _id, int[] _threadIds, String[] _names, char[] _states, double[] _userCpuUsage,
+			double[] _systemCpuUsage, long _interval) {
+		super(_id);
+		this.threadIds = _threadIds;
+		this.names = _names;
+		this.states = _states;
+		this.userCpuUsage = _userCpuUsage;
+		this.systemCpuUsage = _systemCpuUsage;
+		this.interval = _interval;
+	}
+
+	/**
+	 * Method to get number of threads.
+	 * 
+	 * @return threads count
+	 */
+	public int getThreadCount() {
+		return threadIds.length;
+	}
+
+	/**
+	 * Method to get thread ids.
+	 * 
+	 * @return thread ids
+	 */
+	public int[] getThreadIds() {
+		return threadIds;
+	}
+
+	/**
+	 * Method to set thread ids.
+	 * 
+	 * @param _threadIds
+	 */
+	public void setThreadIds(int[] _threadIds) {
+		this.threadIds = _threadIds;
+	}
+
+	/**
+	 * Method to get thread names.
+	 * 
+	 * @return thread names
+	 */
+	public String[] getNames() {
+		return names;
+	}
+
+	/**
+	 * Method to set thread names.
+	 * 
+	 * @param _names
+	 */
+	public void setNames(String[] _names) {
+		this.names = _names;
+	}
+
+	/**
+	 * Method to get thread states as kernel letters e.g. R, S, D.
+	 * 
+	 * @return thread states
+	 */
+	public char[] getStates() {
+		return states;
+	}
+
+	/**
+	 * Method to set thread states.
+	 * 
+	 * @param _states
+	 */
+	public void setStates(char[] _states) {
+		this.states = _states;
+	}
+
+	/**
+	 * Method to get user mode processor usage of every thread in percents of
+	 * one logical processor.
+	 * 
+	 * @return user mode processor usage
+	 */
+	public double[] getUserCpuUsage() {
+		return userCpuUsage;
+	}
+
+	/**
+	 * Method to set user mode processor usage of every thread.
+	 * 
+	 * @param _userCpuUsage
+	 */
+	public void setUserCpuUsage(double[] _userCpuUsage) {
+		this.userCpuUsage = _userCpuUsage;
+	}
+
+	/**
+	 * Method to get kernel mode processor usage of every thread in percents of
+	 * one logical processor.
+	 * 
+	 * @return kernel mode processor usage
+	 */
+	public double[] getSystemCpuUsage() {
+		return systemCpuUsage;
+	}
+
+	/**
+	 * Method to set kernel mode processor usage of every thread.
+	 * 
+	 * @param _systemCpuUsage
+	 */
+	public void setSystemCpuUsage(double[] _systemCpuUsage) {
+		this.systemCpuUsage = _systemCpuUsage;
+	}
+
+	/**
+	 * Method to get sampled interval in milliseconds.
+	 * 
+	 * @return sampled interval
+	 */
+	public long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Method to set sampled interval in milliseconds.
+	 * 
+	 * @param _interval
+	 */
+	public void setInterval(long _interval) {
+		this.interval = _interval;
+	}
+
+	/**
+	 * Method to get position of thread with highest total processor usage.
+	 * 
+	 * @return position of busiest thread or -1 if there are no threads
+	 */
+	public int getBusiestThread() {
+		int busiest = -1;
+		double max = -1;
+		for (int i = 0; i < threadIds.length; i++) {
+			double usage = userCpuUsage[i] + systemCpuUsage[i];
+			if (usage > max) {
+				max = usage;
+				busiest = i;
+			}
+		}
+
+		return busiest;
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("==== Process Threads ====");
+
+		sb.append("\nPID: ");
+		sb.append(getId());
+		sb.append(", Threads: ");
+		sb.append(getThreadCount());
+		sb.append(", Interval: ");
+		sb.append(getInterval());
+		sb.append("ms");
+		for (int i = 0; i < threadIds.length; i++) {
+			sb.append("\nTID: ");
+			sb.append(threadIds[i]);
+			sb.append(", Name: ");
+			sb.append(names[i]);
+			sb.append(", State: ");
+			sb.append(states[i]);
+			sb.append(", %USR: ");
+			sb.append(FormatUtil.toPercentage(userCpuUsage[i] / 100));
+			sb.append(", %SYS: ");
+			sb.append(FormatUtil.toPercentage(systemCpuUsage[i] / 100));
+		}
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,286 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import oshi.SystemInfo;
+import pcd.software.SoftwareAbstract;
+import pcd.software.SoftwareInfo;
+import pcd.util.AuxiliaryVector;
+import pcd.util.ProcFileReader;
+
+/**
+ * Class to build processor usage of every thread of one process from
+ * /proc/[pid]/task/[tid]/stat on Linux. Should be use as command to build
+ * model component of process threads. Baseline is sampled when object is
+ * created and every build returns usage since previous build, so the same
+ * object should be reused for periodic sampling.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessThreadsInfo extends SoftwareAbstract implements SoftwareInfo<ProcessThreads> {
+	private static final String PROC_PATH = "/proc/";
+	private final int processId;
+	private final String taskPath;
+	private final ProcFileReader reader = new ProcFileReader();
+	private int[] threadIds = new int[0], previousThreadIds = new int[0];
+	private long[] userTimes = new long[0], systemTimes = new long[0], previousUserTimes = new long[0],
+			previousSystemTimes = new long[0];
+	private String[] names = new String[0], previousNames = new String[0];
+	private char[] states = new char[0];
+	private double[] userCpuUsage = new double[0], systemCpuUsage = new double[0];
+	private int previousCount = 0;
+	private long previousTimeStamp;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _processId
+	 *            - id of process which threads are sampled
+	 */
+	public ProcessThreadsInfo(int _processId) {
+		super(null);
+		this.processId = _processId;
+		this.taskPath = PROC_PATH + _processId + "/task/";
+		baseline();
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 * @param _processId
+	 *            - id of process which threads are sampled
+	 */
+	public ProcessThreadsInfo(SystemInfo _systemInfo, int _processId) {
+		super(_systemInfo, null);
+		this.processId = _processId;
+		this.taskPath = PROC_PATH + _processId + "/task/";
+		baseline();
+	}
+
+	/**
+	 * Method to sample baseline of thread times.
+	 */
+	private void baseline() {
+		if (!new File(taskPath).isDirectory()) {
+			throw new IllegalArgumentException("There is no process with id: " + processId);
+		}
+		buildSoftware();
+	}
+
+	/**
+	 * Method to get id of sampled process.
+	 * 
+	 * @return process id
+	 */
+	public int getProcessId() {
+		return processId;
+	}
+
+	public synchronized ProcessThreads buildSoftware() {
+		long timeStamp = System.nanoTime();
+		int size = listThreadIds();
+		if (size < 0) {
+			// process exited, there are no threads to sample
+			previousCount = 0;
+			previousTimeStamp = timeStamp;
+			return new ProcessThreads(String.valueOf(processId), new int[0], new String[0], new char[0],
+					new double[0], new double[0], 0);
+		}
+		int count = 0;
+
+		double elapsedTicks = Math.max(1, timeStamp - previousTimeStamp) * AuxiliaryVector.getClockTicks() / 1e9;
+		for (int i = 0; i < size; i++) {
+			int previous = Arrays.binarySearch(previousThreadIds, 0, previousCount, threadIds[i]);
+			if (!readThread(threadIds[i], previous >= 0 ? previousNames[previous] : null, count)) {
+				// thread exited after listing
+				continue;
+			}
+			threadIds[count] = threadIds[i];
+			if (previous >= 0) {
+				userCpuUsage[count] = usage(userTimes[count] - previousUserTimes[previous], elapsedTicks);
+				systemCpuUsage[count] = usage(systemTimes[count] - previousSystemTimes[previous], elapsedTicks);
+			} else {
+				// thread started after previous sample so all its time belongs
+				// to this interval
+				userCpuUsage[count] = usage(userTimes[count], elapsedTicks);
+				systemCpuUsage[count] = usage(systemTimes[count], elapsedTicks);
+			}
+			count++;
+		}
+
+		long interval = previousTimeStamp == 0 ? 0 : (timeStamp - previousTimeStamp) / 1000000;
+		ProcessThreads processThreads = new ProcessThreads(String.valueOf(processId), Arrays.copyOf(threadIds, count),
+				Arrays.copyOf(names, count), Arrays.copyOf(states, count), Arrays.copyOf(userCpuUsage, count),
+				Arrays.copyOf(systemCpuUsage, count), interval);
+		swapBuffers();
+		previousCount = count;
+		previousTimeStamp = timeStamp;
+
+		return processThreads;
+	}
+
+	/**
+	 * Method to grow buffers of current sample if thread count does not fit.
+	 * Buffers of previous sample are grown together with them, because they
+	 * are swapped after every sample.
+	 * 
+	 * @param _size
+	 *            - number of listed threads
+	 */
+	private void ensureCapacity(int _size) {
+		if (threadIds.length >= _size) {
+			return;
+		}
+		int capacity = _size + _size / 2;
+		threadIds = Arrays.copyOf(threadIds, capacity);
+		userTimes = new long[capacity];
+		systemTimes = new long[capacity];
+		names = new String[capacity];
+		states = new char[capacity];
+		userCpuUsage = new double[capacity];
+		systemCpuUsage = new double[capacity];
+		previousThreadIds = Arrays.copyOf(previousThreadIds, capacity);
+		previousUserTimes = Arrays.copyOf(previousUserTimes, capacity);
+		previousSystemTimes = Arrays.copyOf(previousSystemTimes, capacity);
+		previousNames = Arrays.copyOf(previousNames, capacity);
+	}
+
+	/**
+	 * Method to make buffers of current sample buffers of previous sample.
+	 */
+	private void swapBuffers() {
+		int[] threadIdsSwap = previousThreadIds;
+		previousThreadIds = threadIds;
+		threadIds = threadIdsSwap;
+		long[] userTimesSwap = previousUserTimes;
+		previousUserTimes = userTimes;
+		userTimes = userTimesSwap;
+		long[] systemTimesSwap = previousSystemTimes;
+		previousSystemTimes = systemTimes;
+		systemTimes = systemTimesSwap;
+		String[] namesSwap = previousNames;
+		previousNames = names;
+		names = namesSwap;
+	}
+
+	/**
+	 * Method to count usage in percents of one logical processor.
+	 * 
+	 * @param _ticks
+	 *            - ticks used by thread in interval
+	 * @param _elapsedTicks
+	 *            - ticks elapsed in interval
+	 * @return processor usage
+	 */
+	private static double usage(long _ticks, double _elapsedTicks) {
+		return Math.max(0, _ticks) * 100d / _elapsedTicks;
+	}
+
+	/**
+	 * Method to list sorted ids of threads of process into buffer of thread
+	 * ids. Entries which are not numbers are skipped.
+	 * 
+	 * @return number of thread ids or -1 if process does not exist anymore
+	 */
+	private int listThreadIds() {
+		String[] tasks = new File(taskPath).list();
+		if (tasks == null) {
+			return -1;
+		}
+
+		ensureCapacity(tasks.length);
+		int count = 0;
+		for (String task : tasks) {
+			try {
+				threadIds[count] = Integer.parseInt(task);
+				count++;
+			} catch (NumberFormatException e) {
+				// not a thread directory
+			}
+		}
+		Arrays.sort(threadIds, 0, count);
+
+		return count;
+	}
+
+	/**
+	 * Method to read stat file of one thread e.g. 1234 (name) S 1 ... into
+	 * buffers of current sample at given position. Name from previous sample
+	 * is reused if thread was not renamed.
+	 * 
+	 * @param _threadId
+	 * @param _previousName
+	 *            - name from previous sample or null if thread is new
+	 * @param _index
+	 *            - position in arrays
+	 * @return false if thread does not exist anymore
+	 */
+	private boolean readThread(int _threadId, String _previousName, int _index) {
+		try {
+			if (reader.read(taskPath + _threadId + "/stat") == 0) {
+				return false;
+			}
+		} catch (IOException e) {
+			return false;
+		}
+
+		// name may contain spaces and parentheses so it ends at last ')'
+		reader.skipPast((byte) '(');
+		int nameStart = reader.getPosition();
+		reader.skipPastLast((byte) ')');
+		int nameEnd = reader.getPosition() - 1;
+		names[_index] = sameName(_previousName, nameStart, nameEnd) ? _previousName
+				: reader.substring(nameStart, nameEnd);
+
+		reader.skipSpaces();
+		states[_index] = (char) reader.peek();
+		// skip state, ppid, pgrp, session, tty_nr, tpgid, flags, minflt,
+		// cminflt, majflt and cmajflt
+		for (int field = 0; field < 11; field++) {
+			reader.skipToken();
+		}
+		userTimes[_index] = reader.nextLong();
+		systemTimes[_index] = reader.nextLong();
+
+		return true;
+	}
+
+	/**
+	 * Method to check if name in buffer is the same as previous one.
+	 * 
+	 * @param _previousName
+	 * @param _from
+	 * @param _to
+	 * @return true if names are equal
+	 */
+	private boolean sameName(String _previousName, int _from, int _to) {
+		if (_previousName == null || _previousName.length() != _to - _from) {
+			return false;
+		}
+		for (int i = _from; i < _to; i++) {
+			if (_previousName.charAt(i - _from) != reader.byteAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,474 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.Arrays;
+
+import pcd.Component;
+import pcd.util.FormatUtil;
+
+/**
+ * Class representation of tree of processes built from parent process ids of
+ * one scan. Tree is built in O(n) time into arrays indexed by position of
+ * process in scan: children of every process are kept in one array with start
+ * of children of every process, and processes are numbered in depth first
+ * order, so every subtree is continuous range of this order. Totals of
+ * subtree of every process are counted once when tree is built.
+ * 
+ * Tree should be built from scan of all processes with parent process id
+ * selected, otherwise missing parents become roots. Processes which are their
+ * own ancestors are possible only if process ids were reused during scan. In
+ * every such cycle of parents the process started last becomes root, because
+ * its parent process id must be the reused one, so other processes of cycle
+ * and their descendants keep their parents.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessTree extends Component {
+	private static final long serialVersionUID = -4218937522061574730L;
+	private final Process.OSProcess[] processes;
+	private final int[] processIds, parents, childStarts, children, order, positions, depths, subtreeSizes,
+			subtreeThreadCounts, table;
+	private final long[] subtreeResidentSetSizes, subtreeBytesRead, subtreeBytesWritten;
+	private final double[] subtreeCpuUsage;
+
+	/**
+	 * Default constructor.
+	 * 
+	 * @param _process
+	 *            - scan of processes
+	 */
+	public ProcessTree(Process _process) {
+		super(null);
+		processes = _process.getProcessList().toArray(new Process.OSProcess[0]);
+		int size = processes.length;
+
+		processIds = new int[size];
+		for (int i = 0; i < size; i++) {
+			processIds[i] = Integer.parseInt(processes[i].getId());
+		}
+		table = index(processIds);
+
+		parents = new int[size];
+		for (int i = 0; i < size; i++) {
+			int parent = indexOf(processes[i].getParentProcessID());
+			parents[i] = parent != i ? parent : -1;
+		}
+
+		childStarts = new int[size + 1];
+		children = new int[size];
+		order = new int[size];
+		positions = new int[size];
+		depths = new int[size];
+		if (number() < size) {
+			breakCycles();
+			number();
+		}
+
+		subtreeSizes = new int[size];
+		subtreeThreadCounts = new int[size];
+		subtreeResidentSetSizes = new long[size];
+		subtreeBytesRead = new long[size];
+		subtreeBytesWritten = new long[size];
+		subtreeCpuUsage = new double[size];
+		for (int position = size - 1; position >= 0; position--) {
+			int i = order[position];
+			subtreeSizes[i]++;
+			subtreeThreadCounts[i] += processes[i].getThreadCount();
+			subtreeResidentSetSizes[i] += processes[i].getResidentSetSize();
+			subtreeBytesRead[i] += processes[i].getBytesRead();
+			subtreeBytesWritten[i] += processes[i].getBytesWritten();
+			subtreeCpuUsage[i] += cpuUsage(processes[i]);
+
+			int parent = parents[i];
+			if (parent >= 0) {
+				subtreeSizes[parent] += subtreeSizes[i];
+				subtreeThreadCounts[parent] += subtreeThreadCounts[i];
+				subtreeResidentSetSizes[parent] += subtreeResidentSetSizes[i];
+				subtreeBytesRead[parent] += subtreeBytesRead[i];
+				subtreeBytesWritten[parent] += subtreeBytesWritten[i];
+				subtreeCpuUsage[parent] += subtreeCpuUsage[i];
+			}
+		}
+	}
+
+	/**
+	 * Method to build children arrays from parents and number processes in
+	 * depth first order.
+	 * 
+	 * @return number of numbered processes, less than number of processes if
+	 *         there is cycle of parents
+	 */
+	private int number() {
+		int size = processes.length;
+		Arrays.fill(childStarts, 0);
+		for (int i = 0; i < size; i++) {
+			if (parents[i] >= 0) {
+				childStarts[parents[i] + 1]++;
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			childStarts[i + 1] += childStarts[i];
+		}
+		int[] next = Arrays.copyOf(childStarts, size);
+		for (int i = 0; i < size; i++) {
+			if (parents[i] >= 0) {
+				children[next[parents[i]]++] = i;
+			}
+		}
+
+		// order array is used as stack, processes are numbered from its start
+		Arrays.fill(positions, -1);
+		int numbered = 0;
+		for (int root = 0; root < size; root++) {
+			if (parents[root] >= 0) {
+				continue;
+			}
+			int top = size;
+			order[--top] = root;
+			depths[root] = 0;
+			while (top < size) {
+				int i = order[top++];
+				positions[i] = numbered;
+				order[numbered++] = i;
+				for (int child = childStarts[i + 1] - 1; child >= childStarts[i]; child--) {
+					depths[children[child]] = depths[i] + 1;
+					order[--top] = children[child];
+				}
+			}
+		}
+
+		return numbered;
+	}
+
+	/**
+	 * Method to remove one parent link of every cycle of parents. Processes
+	 * not numbered by {@link #number()} are in cycle or below it, following
+	 * their parents always ends in cycle. Link of process of cycle started
+	 * last is removed.
+	 */
+	private void breakCycles() {
+		int size = processes.length;
+		// walk of every not numbered process marks visited processes with its
+		// number plus 1, reaching mark of the same walk means cycle
+		int[] walks = new int[size];
+		for (int start = 0; start < size; start++) {
+			if (positions[start] >= 0 || walks[start] != 0) {
+				continue;
+			}
+			int i = start;
+			while (i >= 0 && walks[i] == 0) {
+				walks[i] = start + 1;
+				i = parents[i];
+			}
+			if (i < 0 || walks[i] != start + 1) {
+				continue;
+			}
+
+			int latest = i;
+			for (int member = parents[i]; member != i; member = parents[member]) {
+				if (processes[member].getStartTime() > processes[latest].getStartTime()) {
+					latest = member;
+				}
+			}
+			parents[latest] = -1;
+		}
+	}
+
+	/**
+	 * Method to create open addressing table of positions of processes.
+	 * 
+	 * @param _processIds
+	 * @return table of process ids and positions plus 1, 0 for empty slot
+	 */
+	private static int[] index(int[] _processIds) {
+		int capacity = 16;
+		while (capacity < _processIds.length * 2) {
+			capacity <<= 1;
+		}
+		int[] table = new int[capacity * 2];
+		for (int i = 0; i < _processIds.length; i++) {
+			int slot = slot(table, _processIds[i]);
+			table[slot] = _processIds[i];
+			table[slot + 1] = i + 1;
+		}
+
+		return table;
+	}
+
+	/**
+	 * Method to find slot of process id or empty slot in table.
+	 * 
+	 * @param _table
+	 * @param _processId
+	 * @return slot in table
+	 */
+	private static int slot(int[] _table, int _processId) {
+		int mask = _table.length / 2 - 1;
+		int hash = _processId * 0x9E3779B9;
+		int slot = (hash ^ hash >>> 16) & mask;
+		while (_table[slot * 2 + 1] != 0 && _table[slot * 2] != _processId) {
+			slot = (slot + 1) & mask;
+		}
+
+		return slot * 2;
+	}
+
+	/**
+	 * Method to get position of process in scan.
+	 * 
+	 * @param _processId
+	 * @return position of process or -1 if there is no such process
+	 */
+	private int indexOf(int _processId) {
+		return table[slot(table, _processId) + 1] - 1;
+	}
+
+	/**
+	 * Method to get position of existing process in scan.
+	 * 
+	 * @param _processId
+	 * @return position of process
+	 */
+	private int checkedIndexOf(int _processId) {
+		int index = indexOf(_processId);
+		if (index < 0) {
+			throw new IllegalArgumentException("There is no process with id: " + _processId);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Method to count processor usage of process. Usage since previous scan
+	 * is used if it was counted.
+	 * 
+	 * @param _process
+	 * @return processor usage in percents of one logical processor
+	 */
+	private static double cpuUsage(Process.OSProcess _process) {
+		if (_process.getIntervalCpuUsage() >= 0) {
+			return _process.getIntervalCpuUsage();
+		}
+
+		return _process.getUpTime() > 0 ? _process.getCpuUsage() : 0;
+	}
+
+	/**
+	 * Method to get number of processes in tree.
+	 * 
+	 * @return processes count
+	 */
+	public int size() {
+		return processes.length;
+	}
+
+	/**
+	 * Method to check if process is in tree.
+	 * 
+	 * @param _processId
+	 * @return true if process is in tree
+	 */
+	public boolean contains(int _processId) {
+		return indexOf(_processId) >= 0;
+	}
+
+	/**
+	 * Method to get process.
+	 * 
+	 * @param _processId
+	 * @return process
+	 */
+	public Process.OSProcess getProcess(int _processId) {
+		return processes[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get ids of processes without parent in tree.
+	 * 
+	 * @return root process ids
+	 */
+	public int[] getRoots() {
+		int[] roots = new int[processes.length];
+		int count = 0;
+		for (int position = 0; position < order.length; position++) {
+			if (parents[order[position]] < 0) {
+				roots[count++] = processIds[order[position]];
+			}
+		}
+
+		return Arrays.copyOf(roots, count);
+	}
+
+	/**
+	 * Method to get id of parent of process.
+	 * 
+	 * @param _processId
+	 * @return parent process id or -1 if process is root
+	 */
+	public int getParent(int _processId) {
+		int parent = parents[checkedIndexOf(_processId)];
+
+		return parent >= 0 ? processIds[parent] : -1;
+	}
+
+	/**
+	 * Method to get ids of children of process.
+	 * 
+	 * @param _processId
+	 * @return children process ids
+	 */
+	public int[] getChildren(int _processId) {
+		int index = checkedIndexOf(_processId);
+		int[] result = new int[childStarts[index + 1] - childStarts[index]];
+		for (int child = 0; child < result.length; child++) {
+			result[child] = processIds[children[childStarts[index] + child]];
+		}
+
+		return result;
+	}
+
+	/**
+	 * Method to get ids of ancestors of process, from parent to root.
+	 * 
+	 * @param _processId
+	 * @return ancestor process ids
+	 */
+	public int[] getAncestors(int _processId) {
+		int index = checkedIndexOf(_processId);
+		int[] result = new int[depths[index]];
+		for (int ancestor = 0; ancestor < result.length; ancestor++) {
+			index = parents[index];
+			result[ancestor] = processIds[index];
+		}
+
+		return result;
+	}
+
+	/**
+	 * Method to get ids of all descendants of process in depth first order.
+	 * 
+	 * @param _processId
+	 * @return descendant process ids
+	 */
+	public int[] getDescendants(int _processId) {
+		int index = checkedIndexOf(_processId);
+		int[] result = new int[subtreeSizes[index] - 1];
+		for (int descendant = 0; descendant < result.length; descendant++) {
+			result[descendant] = processIds[order[positions[index] + 1 + descendant]];
+		}
+
+		return result;
+	}
+
+	/**
+	 * Method to get depth of process, 0 for root.
+	 * 
+	 * @param _processId
+	 * @return depth of process
+	 */
+	public int getDepth(int _processId) {
+		return depths[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get number of processes in subtree of process, including
+	 * itself.
+	 * 
+	 * @param _processId
+	 * @return subtree processes count
+	 */
+	public int getSubtreeSize(int _processId) {
+		return subtreeSizes[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get total resident set size of subtree of process.
+	 * 
+	 * @param _processId
+	 * @return subtree resident set size in bytes
+	 */
+	public long getSubtreeResidentSetSize(int _processId) {
+		return subtreeResidentSetSizes[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get total processor usage of subtree of process in percents
+	 * of one logical processor.
+	 * 
+	 * @param _processId
+	 * @return subtree processor usage
+	 */
+	public double getSubtreeCpuUsage(int _processId) {
+		return subtreeCpuUsage[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get total number of threads of subtree of process.
+	 * 
+	 * @param _processId
+	 * @return subtree threads count
+	 */
+	public int getSubtreeThreadCount(int _processId) {
+		return subtreeThreadCounts[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get total bytes read by subtree of process.
+	 * 
+	 * @param _processId
+	 * @return subtree bytes read
+	 */
+	public long getSubtreeBytesRead(int _processId) {
+		return subtreeBytesRead[checkedIndexOf(_processId)];
+	}
+
+	/**
+	 * Method to get total bytes written by subtree of process.
+	 * 
+	 * @param _processId
+	 * @return subtree bytes written
+	 */
+	public long getSubtreeBytesWritten(int _processId) {
+		return subtreeBytesWritten[checkedIndexOf(_processId)];
+	}
+
+	@Override
+	public String componentAsString() {
+		StringBuilder sb = new StringBuilder("==== Process Tree ====");
+
+		for (int position = 0; position < order.length; position++) {
+			int i = order[position];
+			sb.append("\n");
+			for (int depth = 0; depth < depths[i]; depth++) {
+				sb.append("  ");
+			}
+			sb.append("PID: ");
+			sb.append(processIds[i]);
+			sb.append(", Name: ");
+			sb.append(processes[i].getName());
+			sb.append(", Processes: ");
+			sb.append(subtreeSizes[i]);
+			sb.append(", Threads: ");
+			sb.append(subtreeThreadCounts[i]);
+			sb.append(", %CPU: ");
+			sb.append(FormatUtil.toPercentage3Digits(subtreeCpuUsage[i] / 100));
+			sb.append(", RSS: ");
+			sb.append(FormatUtil.toBytes(subtreeResidentSetSizes[i]));
+		}
+
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,411 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import oshi.SystemInfo;
+import pcd.software.SoftwareInfo;
+
+/**
+ * Class to watch lifecycle of processes by comparing two consecutive scans of
+ * processes. Processes are identified by id and start time, so process id
+ * reused by another process is found as exit of old process and spawn of new
+ * one. Every scan is compared in O(n) time with open addressing hash table
+ * of process ids, so it could be run every second.
+ * 
+ * Found events are sent to registered listeners. First scan only records
+ * processes. Processes which started and ended between two scans are not
+ * seen, so interval between scans should be shorter than life time of
+ * watched processes.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcessWatcher {
+	private static final EnumSet<ProcessField> WATCHED_FIELDS = EnumSet.of(ProcessField.NAME,
+			ProcessField.COMMAND_LINE, ProcessField.PARENT_PROCESS_ID, ProcessField.START_TIME);
+	private final SoftwareInfo<Process> source;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+	private final ProcessIndex index = new ProcessIndex();
+	private Scan previous = new Scan(), spare = new Scan();
+	private boolean scanned;
+	private long spawnCount, exitCount, execCount, measuredExitCount, totalLifetime;
+
+	/**
+	 * Default constructor. Processes are read directly from /proc on Linux or
+	 * by OSHI API on other systems.
+	 */
+	public ProcessWatcher() {
+		this.source = source(null);
+	}
+
+	/**
+	 * Constructor with new SystemInfo object of OSHI API.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API
+	 */
+	public ProcessWatcher(SystemInfo _systemInfo) {
+		this.source = source(_systemInfo);
+	}
+
+	/**
+	 * Constructor with own source of scans of processes, e.g.
+	 * {@link ProcessInfo} with filter. Source should build all processes
+	 * accepted by filter with start time and command line.
+	 * 
+	 * @param _source
+	 *            - source of scans of processes
+	 */
+	public ProcessWatcher(SoftwareInfo<Process> _source) {
+		if (_source == null) {
+			throw new IllegalArgumentException("Source of processes can not be null!");
+		}
+		this.source = _source;
+	}
+
+	/**
+	 * Method to create default source of scans of processes.
+	 * 
+	 * @param _systemInfo
+	 *            - system info object of OSHI API or null
+	 * @return source of scans of processes
+	 */
+	private static SoftwareInfo<Process> source(SystemInfo _systemInfo) {
+		try {
+			return _systemInfo != null
+					? new LinuxProcessInfo(_systemInfo, null, 0, WATCHED_FIELDS, ProcessFilter.all())
+					: new LinuxProcessInfo(null, 0, WATCHED_FIELDS, ProcessFilter.all());
+		} catch (UnsupportedOperationException e) {
+			// there is no /proc file system
+			return _systemInfo != null ? new ProcessInfo(_systemInfo, null, 0, WATCHED_FIELDS)
+					: new ProcessInfo(null, 0, WATCHED_FIELDS);
+		}
+	}
+
+	/**
+	 * Method to register listener of events.
+	 * 
+	 * @param _listener
+	 */
+	public void addListener(Listener _listener) {
+		if (_listener == null) {
+			throw new IllegalArgumentException("Listener can not be null!");
+		}
+		listeners.add(_listener);
+	}
+
+	/**
+	 * Method to unregister listener of events.
+	 * 
+	 * @param _listener
+	 */
+	public void removeListener(Listener _listener) {
+		listeners.remove(_listener);
+	}
+
+	/**
+	 * Method to scan processes by source of this watcher and compare them with
+	 * previous scan.
+	 * 
+	 * @return events found since previous scan, exits first
+	 */
+	public List<ProcessEvent> scan() {
+		return update(source.buildSoftware());
+	}
+
+	/**
+	 * Method to compare processes built outside of this watcher with previous
+	 * scan. Found events are sent to listeners in the calling thread, in the
+	 * same order as returned.
+	 * 
+	 * @param _process
+	 *            - all watched processes
+	 * @return events found since previous scan, exits first
+	 */
+	public List<ProcessEvent> update(Process _process) {
+		List<ProcessEvent> events;
+		synchronized (this) {
+			events = compare(_process.getProcessList(), System.currentTimeMillis());
+		}
+		for (ProcessEvent event : events) {
+			for (Listener listener : listeners) {
+				listener.processEvent(event);
+			}
+		}
+
+		return events;
+	}
+
+	/**
+	 * Method to compare processes with previous scan and keep them for next
+	 * scan.
+	 * 
+	 * @param _processList
+	 * @param _timeStamp
+	 *            - time of scan
+	 * @return found events
+	 */
+	private List<ProcessEvent> compare(List<Process.OSProcess> _processList, long _timeStamp) {
+		Scan current = spare;
+		current.load(_processList);
+		List<ProcessEvent> events = new ArrayList<ProcessEvent>();
+
+		if (scanned) {
+			List<ProcessEvent> spawnsAndExecs = new ArrayList<ProcessEvent>();
+			Arrays.fill(previous.seen, 0, previous.size, false);
+			for (int row = 0; row < current.size; row++) {
+				int previousRow = index.get(current.processIds[row]);
+				if (previousRow < 0 || Math.abs(previous.startTimes[previousRow]
+						- current.startTimes[row]) > ProcessDeltaEngine.START_TIME_TOLERANCE) {
+					// new process or process id reused by another process
+					spawnsAndExecs.add(current.event(row, ProcessEvent.Type.SPAWN, null, _timeStamp, -1));
+					spawnCount++;
+					continue;
+				}
+				previous.seen[previousRow] = true;
+				if (!Objects.equals(previous.commandLines[previousRow], current.commandLines[row])) {
+					spawnsAndExecs.add(current.event(row, ProcessEvent.Type.EXEC,
+							previous.commandLines[previousRow], _timeStamp, -1));
+					execCount++;
+				}
+			}
+
+			for (int row = 0; row < previous.size; row++) {
+				if (!previous.seen[row]) {
+					long lifetime = previous.startTimes[row] > 0 ? _timeStamp - previous.startTimes[row] : -1;
+					events.add(previous.event(row, ProcessEvent.Type.EXIT, null, _timeStamp, lifetime));
+					exitCount++;
+					if (lifetime >= 0) {
+						measuredExitCount++;
+						totalLifetime += lifetime;
+					}
+				}
+			}
+			events.addAll(spawnsAndExecs);
+		}
+
+		index.clear(current.size);
+		for (int row = 0; row < current.size; row++) {
+			index.put(current.processIds[row], row);
+		}
+		spare = previous;
+		previous = current;
+		scanned = true;
+
+		return events;
+	}
+
+	/**
+	 * Method to get number of processes found by last scan.
+	 * 
+	 * @return processes count
+	 */
+	public synchronized int getProcessCount() {
+		return previous.size;
+	}
+
+	/**
+	 * Method to get number of spawned processes found since creation of
+	 * watcher.
+	 * 
+	 * @return spawns count
+	 */
+	public synchronized long getSpawnCount() {
+		return spawnCount;
+	}
+
+	/**
+	 * Method to get number of exited processes found since creation of
+	 * watcher.
+	 * 
+	 * @return exits count
+	 */
+	public synchronized long getExitCount() {
+		return exitCount;
+	}
+
+	/**
+	 * Method to get number of changes of command line found since creation of
+	 * watcher.
+	 * 
+	 * @return execs count
+	 */
+	public synchronized long getExecCount() {
+		return execCount;
+	}
+
+	/**
+	 * Method to get average life time of exited processes in milliseconds.
+	 * 
+	 * @return average life time or 0 if no process with known start time
+	 *         exited
+	 */
+	public synchronized long getAverageLifetime() {
+		return measuredExitCount > 0 ? totalLifetime / measuredExitCount : 0;
+	}
+
+	/**
+	 * Interface of listener of lifecycle events of processes.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	@FunctionalInterface
+	public interface Listener {
+		/**
+		 * Method called for every found event.
+		 * 
+		 * @param _event
+		 */
+		void processEvent(ProcessEvent _event);
+	}
+
+	/**
+	 * Class of values of processes of one scan kept in arrays indexed by
+	 * position of process in scan. Arrays are reused by next scans.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class Scan {
+		private int size;
+		private int[] processIds = new int[0], parentProcessIds = new int[0];
+		private long[] startTimes = new long[0];
+		private String[] names = new String[0], commandLines = new String[0];
+		private boolean[] seen = new boolean[0];
+
+		/**
+		 * Method to load values of processes.
+		 * 
+		 * @param _processList
+		 */
+		private void load(List<Process.OSProcess> _processList) {
+			size = _processList.size();
+			if (processIds.length < size) {
+				int capacity = size + size / 2;
+				processIds = new int[capacity];
+				parentProcessIds = new int[capacity];
+				startTimes = new long[capacity];
+				names = new String[capacity];
+				commandLines = new String[capacity];
+				seen = new boolean[capacity];
+			}
+
+			int row = 0;
+			for (Process.OSProcess process : _processList) {
+				processIds[row] = Integer.parseInt(process.getId());
+				parentProcessIds[row] = process.getParentProcessID();
+				startTimes[row] = process.getStartTime();
+				names[row] = process.getName();
+				commandLines[row] = process.getCommandLine();
+				row++;
+			}
+			// release strings of processes not seen anymore
+			Arrays.fill(names, size, names.length, null);
+			Arrays.fill(commandLines, size, commandLines.length, null);
+		}
+
+		/**
+		 * Method to create event of process.
+		 * 
+		 * @param _row
+		 *            - position of process in scan
+		 * @param _type
+		 * @param _previousCommandLine
+		 * @param _timeStamp
+		 * @param _lifetime
+		 * @return event
+		 */
+		private ProcessEvent event(int _row, ProcessEvent.Type _type, String _previousCommandLine,
+				long _timeStamp, long _lifetime) {
+			return new ProcessEvent(String.valueOf(processIds[_row]), _type, parentProcessIds[_row], names[_row],
+					commandLines[_row], _previousCommandLine, startTimes[_row], _timeStamp, _lifetime);
+		}
+	}
+
+	/**
+	 * Class of open addressing hash table from process id to position of
+	 * process in scan. Table is reused by next scans.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class ProcessIndex {
+		// slot is empty if position is 0, positions are stored increased by 1
+		private int[] processIds = new int[16], positions = new int[16];
+
+		/**
+		 * Method to remove all processes and make place for expected number of
+		 * processes.
+		 * 
+		 * @param _expectedProcesses
+		 */
+		private void clear(int _expectedProcesses) {
+			if (processIds.length < _expectedProcesses * 2) {
+				int capacity = processIds.length;
+				while (capacity < _expectedProcesses * 2) {
+					capacity <<= 1;
+				}
+				processIds = new int[capacity];
+				positions = new int[capacity];
+			} else {
+				Arrays.fill(positions, 0);
+			}
+		}
+
+		/**
+		 * Method to put position of process.
+		 * 
+		 * @param _processId
+		 * @param _position
+		 */
+		private void put(int _processId, int _position) {
+			int slot = slot(_processId);
+			processIds[slot] = _processId;
+			positions[slot] = _position + 1;
+		}
+
+		/**
+		 * Method to get position of process.
+		 * 
+		 * @param _processId
+		 * @return position of process or -1 if there is no process
+		 */
+		private int get(int _processId) {
+			return positions[slot(_processId)] - 1;
+		}
+
+		/**
+		 * Method to find slot of process or empty slot where process should be
+		 * put.
+		 * 
+		 * @param _processId
+		 * @return slot in table
+		 */
+		private int slot(int _processId) {
+			int mask = processIds.length - 1;
+			int hash = _processId * 0x9E3779B9;
+			int slot = (hash ^ hash >>> 16) & mask;
+			while (positions[slot] != 0 && processIds[slot] != _processId) {
+				slot = (slot + 1) & mask;
+			}
+
+			return slot;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem.ProcessSort;
+
+/**
+ * Class to select first processes in order of sorting without sorting all
+ * processes. Processes are scanned once with heap of selected processes
+ * limited to number of processes to select, so selection takes O(n log N)
+ * time and only array of N positions is created.
+ * 
+ * @author Mateusz Mucha
+ */
+final class TopProcessCollector {
+	/**
+	 * Private constructor.
+	 */
+	private TopProcessCollector() {
+	}
+
+	/**
+	 * Method to select positions of first processes in order of sorting.
+	 * 
+	 * @param _processes
+	 *            - all processes of OSHI API
+	 * @param _candidates
+	 *            - positions of processes accepted by filter or null if all
+	 *            processes are accepted
+	 * @param _cpuUsage
+	 *            - processor usage since previous scan of every process used
+	 *            for sorting by cpu, or null to use average over life of
+	 *            process
+	 * @param _processSort
+	 *            - type of sorting processes. If is null then there is no
+	 *            sorting.
+	 * @param _processesCount
+	 *            - number of processes to select. If 0 then all processes will
+	 *            be selected.
+	 * @return sorted positions of selected processes
+	 */
+	static int[] select(OSProcess[] _processes, int[] _candidates, double[] _cpuUsage, ProcessSort _processSort,
+			int _processesCount) {
+		return select(_processes.length, _candidates,
+				_processSort != null ? comparator(_processes, _cpuUsage, _processSort) : null, _processesCount);
+	}
+
+	/**
+	 * Method to select positions of first processes in order of comparator.
+	 * 
+	 * @param _size
+	 *            - number of all processes
+	 * @param _candidates
+	 *            - positions of processes accepted by filter or null if all
+	 *            processes are accepted
+	 * @param _comparator
+	 *            - comparator of positions of processes or null if there is no
+	 *            sorting
+	 * @param _processesCount
+	 *            - number of processes to select. If 0 then all processes will
+	 *            be selected.
+	 * @return sorted positions of selected processes
+	 */
+	static int[] select(int _size, int[] _candidates, IntBinaryOperator _comparator, int _processesCount) {
+		int candidates = _candidates != null ? _candidates.length : _size;
+		int count = _processesCount > 0 ? Math.min(_processesCount, candidates) : candidates;
+		int[] heap = new int[count];
+		if (_comparator == null) {
+			for (int i = 0; i < count; i++) {
+				heap[i] = _candidates != null ? _candidates[i] : i;
+			}
+			return heap;
+		}
+
+		// root of heap is the last selected process in order of sorting
+		int size = 0;
+		for (int candidate = 0; candidate < candidates; candidate++) {
+			int i = _candidates != null ? _candidates[candidate] : candidate;
+			if (size < count) {
+				heap[size] = i;
+				siftUp(heap, size++, _comparator);
+			} else if (count > 0 && _comparator.applyAsInt(i, heap[0]) < 0) {
+				heap[0] = i;
+				siftDown(heap, size, _comparator);
+			}
+		}
+
+		// remove the last process from heap until heap is empty
+		for (int last = size - 1; last > 0; last--) {
+			int root = heap[0];
+			heap[0] = heap[last];
+			heap[last] = root;
+			siftDown(heap, last, _comparator);
+		}
+
+		return heap;
+	}
+
+	/**
+	 * Method to create comparator of positions of processes in order of
+	 * sorting. Processes equal in order of sorting are sorted by id.
+	 * 
+	 * @param _processes
+	 * @param _cpuUsage
+	 * @param _processSort
+	 * @return comparator of positions
+	 */
+	private static IntBinaryOperator comparator(OSProcess[] _processes, double[] _cpuUsage,
+			ProcessSort _processSort) {
+		IntBinaryOperator order;
+		switch (_processSort) {
+		case CPU:
+			order = _cpuUsage != null ? (a, b) -> Double.compare(_cpuUsage[b], _cpuUsage[a])
+					: (a, b) -> Double.compare(lifetimeCpuUsage(_processes[b]), lifetimeCpuUsage(_processes[a]));
+			break;
+		case MEMORY:
+			order = (a, b) -> Long.compare(_processes[b].getResidentSetSize(), _processes[a].getResidentSetSize());
+			break;
+		case OLDEST:
+			order = (a, b) -> Long.compare(_processes[a].getStartTime(), _processes[b].getStartTime());
+			break;
+		case NEWEST:
+			order = (a, b) -> Long.compare(_processes[b].getStartTime(), _processes[a].getStartTime());
+			break;
+		case PARENTPID:
+			order = (a, b) -> Integer.compare(_processes[a].getParentProcessID(),
+					_processes[b].getParentProcessID());
+			break;
+		case NAME:
+			order = (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(_processes[a].getName()),
+					String.valueOf(_processes[b].getName()));
+			break;
+		case PID:
+		default:
+			// sorted by id below
+			order = (a, b) -> 0;
+		}
+
+		return (a, b) -> {
+			int result = order.applyAsInt(a, b);
+			return result != 0 ? result
+					: Integer.compare(_processes[a].getProcessID(), _processes[b].getProcessID());
+		};
+	}
+
+	/**
+	 * Method to check field of rate used for sorting processes.
+	 * 
+	 * @param _rateSort
+	 *            - {@link ProcessField#INTERVAL_CPU_USAGE} or
+	 *            {@link ProcessField#IO_RATE}
+	 * @return checked field
+	 */
+	static ProcessField rateSort(ProcessField _rateSort) {
+		if (_rateSort != ProcessField.INTERVAL_CPU_USAGE && _rateSort != ProcessField.IO_RATE) {
+			throw new IllegalArgumentException("Processes could not be sorted by rate of: " + _rateSort);
+		}
+
+		return _rateSort;
+	}
+
+	/**
+	 * Method to create comparator of positions of processes in descending
+	 * order of sum of rates. Processes with equal rates are sorted by id.
+	 * 
+	 * @param _rates
+	 * @param _otherRates
+	 *            - rates added to first ones or null
+	 * @param _processIds
+	 *            - function of position to process id
+	 * @return comparator of positions
+	 */
+	static IntBinaryOperator byRate(double[] _rates, double[] _otherRates, IntUnaryOperator _processIds) {
+		return (a, b) -> {
+			int result = _otherRates != null ? Double.compare(_rates[b] + _otherRates[b], _rates[a] + _otherRates[a])
+					: Double.compare(_rates[b], _rates[a]);
+			return result != 0 ? result
+					: Integer.compare(_processIds.applyAsInt(a), _processIds.applyAsInt(b));
+		};
+	}
+
+	/**
+	 * Method to count processor usage over whole life of process.
+	 * 
+	 * @param _process
+	 * @return processor usage
+	 */
+	private static double lifetimeCpuUsage(OSProcess _process) {
+		return _process.getUpTime() > 0
+				? (double) (_process.getKernelTime() + _process.getUserTime()) / _process.getUpTime()
+				: 0;
+	}
+
+	/**
+	 * Method to move process up in heap.
+	 * 
+	 * @param _heap
+	 * @param _position
+	 *            - position of added process
+	 * @param _comparator
+	 */
+	private static void siftUp(int[] _heap, int _position, IntBinaryOperator _comparator) {
+		int process = _heap[_position];
+		while (_position > 0) {
+			int parent = (_position - 1) >>> 1;
+			if (_comparator.applyAsInt(process, _heap[parent]) <= 0) {
+				break;
+			}
+			_heap[_position] = _heap[parent];
+			_position = parent;
+		}
+		_heap[_position] = process;
+	}
+
+	/**
+	 * Method to move root process down in heap.
+	 * 
+	 * @param _heap
+	 * @param _size
+	 *            - number of processes in heap
+	 * @param _comparator
+	 */
+	private static void siftDown(int[] _heap, int _size, IntBinaryOperator _comparator) {
+		int process = _heap[0];
+		int position = 0;
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= _size) {
+				break;
+			}
+			if (child + 1 < _size && _comparator.applyAsInt(_heap[child + 1], _heap[child]) > 0) {
+				child++;
+			}
+			if (_comparator.applyAsInt(_heap[child], process) <= 0) {
+				break;
+			}
+			_heap[position] = _heap[child];
+			position = child;
+		}
+		_heap[position] = process;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Class to get values passed by Linux kernel to this process in auxiliary
+ * vector /proc/self/auxv, the same values as returned by sysconf e.g. clock
+ * ticks per second used for times in /proc/&lt;pid&gt;/stat files (USER_HZ)
+ * and size of memory page. Values are read once. If they can not be read,
+ * values of all common architectures are used.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class AuxiliaryVector {
+	/**
+	 * Clock ticks per second used if auxiliary vector can not be read.
+	 */
+	public static final long DEFAULT_CLOCK_TICKS = 100;
+	/**
+	 * Size of memory page in bytes used if auxiliary vector can not be read.
+	 */
+	public static final long DEFAULT_PAGE_SIZE = 4096;
+	private static final String AUXV_PATH = "/proc/self/auxv";
+	private static final long AT_NULL = 0;
+	private static final long AT_PAGESZ = 6;
+	private static final long AT_CLKTCK = 17;
+	private static final long CLOCK_TICKS, PAGE_SIZE;
+
+	static {
+		byte[] auxv = read();
+		CLOCK_TICKS = find(auxv, AT_CLKTCK, DEFAULT_CLOCK_TICKS);
+		PAGE_SIZE = find(auxv, AT_PAGESZ, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private AuxiliaryVector() {
+	}
+
+	/**
+	 * Method to get clock ticks per second (USER_HZ).
+	 * 
+	 * @return clock ticks per second
+	 */
+	public static long getClockTicks() {
+		return CLOCK_TICKS;
+	}
+
+	/**
+	 * Method to convert clock ticks to milliseconds.
+	 * 
+	 * @param _ticks
+	 * @return milliseconds
+	 */
+	public static long ticksToMillis(long _ticks) {
+		return _ticks * 1000 / CLOCK_TICKS;
+	}
+
+	/**
+	 * Method to get size of memory page.
+	 * 
+	 * @return page size in bytes
+	 */
+	public static long getPageSize() {
+		return PAGE_SIZE;
+	}
+
+	/**
+	 * Method to read auxiliary vector of this process.
+	 * 
+	 * @return content of auxiliary vector or empty array if it can not be read
+	 */
+	private static byte[] read() {
+		try {
+			return Files.readAllBytes(Paths.get(AUXV_PATH));
+		} catch (IOException | SecurityException e) {
+			return new byte[0];
+		}
+	}
+
+	/**
+	 * Method to find value of entry in auxiliary vector of this process.
+	 * 
+	 * @param _auxv
+	 * @param _type
+	 * @param _defaultValue
+	 * @return positive value of entry or default value
+	 */
+	private static long find(byte[] _auxv, long _type, long _defaultValue) {
+		int wordSize = "32".equals(System.getProperty("sun.arch.data.model")) ? 4 : 8;
+		long value = find(_auxv, wordSize, ByteOrder.nativeOrder(), _type);
+
+		return value > 0 ? value : _defaultValue;
+	}
+
+	/**
+	 * Method to find value of entry in auxiliary vector. Vector is list of type
+	 * and value pairs of native words ended by AT_NULL type.
+	 * 
+	 * @param _auxv
+	 *            - content of auxiliary vector
+	 * @param _wordSize
+	 *            - size of native word, 4 or 8 bytes
+	 * @param _byteOrder
+	 *            - native byte order
+	 * @param _type
+	 *            - type of entry e.g. 17 for AT_CLKTCK
+	 * @return value of entry or -1 if there is no entry of type
+	 */
+	static long find(byte[] _auxv, int _wordSize, ByteOrder _byteOrder, long _type) {
+		ByteBuffer buffer = ByteBuffer.wrap(_auxv).order(_byteOrder);
+
+		while (buffer.remaining() >= 2 * _wordSize) {
+			long type = _wordSize == 8 ? buffer.getLong() : buffer.getInt() & 0xFFFFFFFFL;
+			long value = _wordSize == 8 ? buffer.getLong() : buffer.getInt() & 0xFFFFFFFFL;
+			if (type == AT_NULL) {
+				break;
+			}
+			if (type == _type) {
+				return value;
+			}
+		}
+
+		return -1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class to keep executor running collectors of components. On Java 21+ every
+ * task runs on new virtual thread, so blocking reads of files and waiting for
+ * external commands do not hold platform threads. On older Java tasks run on
+ * fixed pool of daemon threads with size set by system property
+ * pcd.collector.threads (default is number of processors, at least 2).
+ * Executor could be also replaced by own one. Collectors splitting one scan
+ * into many small parsing tasks run chunks of it on the same executor, so
+ * blocking reads of these chunks do not hold platform threads on Java 21+
+ * either.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class CollectorRuntime {
+	/**
+	 * Name of system property with number of threads of fixed pool.
+	 */
+	public static final String THREADS_PROPERTY = "pcd.collector.threads";
+	private static final Object LOCK = new Object();
+	private static volatile ExecutorService executor;
+	private static volatile boolean custom;
+
+	/**
+	 * Action run for one chunk of range.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	@FunctionalInterface
+	public interface ChunkAction {
+		/**
+		 * Method to run action for chunk.
+		 * 
+		 * @param _from
+		 *            - first position, inclusive
+		 * @param _to
+		 *            - last position, exclusive
+		 */
+		void run(int _from, int _to);
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private CollectorRuntime() {
+	}
+
+	/**
+	 * Method to get executor running collectors. Default executor is created
+	 * with first call.
+	 * 
+	 * @return executor of collectors
+	 */
+	public static ExecutorService getExecutor() {
+		ExecutorService current = executor;
+		if (current == null) {
+			synchronized (LOCK) {
+				current = executor;
+				if (current == null) {
+					current = CollectorThreads.newExecutor(threads());
+					executor = current;
+				}
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * Method to replace executor running collectors. Previous executor is not
+	 * shut down.
+	 * 
+	 * @param _executor
+	 *            - own executor or null to use default one
+	 */
+	public static void setExecutor(ExecutorService _executor) {
+		synchronized (LOCK) {
+			executor = _executor;
+			custom = _executor != null;
+		}
+	}
+
+	/**
+	 * Method to run action for every chunk of range in parallel on executor of
+	 * collectors. At most as many chunks as threads of fixed pool run at the
+	 * same time. Calling thread runs chunks too and returns when all chunks
+	 * are done, so it may be a thread of the same executor without waiting for
+	 * free thread.
+	 * 
+	 * @param _size
+	 *            - number of positions of range
+	 * @param _chunkSize
+	 *            - maximum number of positions of one chunk
+	 * @param _action
+	 *            - action run once for every chunk with its first and last
+	 *            position, may run on many threads at the same time. First
+	 *            error of any chunk is thrown after all chunks are done
+	 */
+	public static void runInChunks(int _size, int _chunkSize, ChunkAction _action) {
+		int chunks = (_size + _chunkSize - 1) / _chunkSize;
+		if (chunks <= 1) {
+			if (_size > 0) {
+				_action.run(0, _size);
+			}
+			return;
+		}
+
+		AtomicInteger nextChunk = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(chunks);
+		AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		Runnable worker = () -> {
+			for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+				try {
+					_action.run(chunk * _chunkSize, Math.min(_size, (chunk + 1) * _chunkSize));
+				} catch (RuntimeException | Error e) {
+					error.compareAndSet(null, e);
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+
+		ExecutorService current = getExecutor();
+		int workers = Math.min(threads(), chunks) - 1;
+		try {
+			for (int i = 0; i < workers; i++) {
+				current.execute(worker);
+			}
+		} catch (RejectedExecutionException e) {
+			// chunks not taken by workers are run by calling thread
+		}
+		worker.run();
+
+		boolean interrupted = false;
+		while (done.getCount() > 0) {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		Throwable throwable = error.get();
+		if (throwable instanceof RuntimeException) {
+			throw (RuntimeException) throwable;
+		}
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+	}
+
+	/**
+	 * Method to check if collectors run on virtual threads.
+	 * 
+	 * @return true if default executor of virtual threads is used
+	 */
+	public static boolean isVirtual() {
+		return !custom && CollectorThreads.isVirtual();
+	}
+
+	/**
+	 * Method to get number of threads of fixed pool.
+	 * 
+	 * @return number of threads
+	 */
+	private static int threads() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		String property = System.getProperty(THREADS_PROPERTY);
+		if (property != null) {
+			try {
+				threads = Math.max(1, Integer.parseInt(property.trim()));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Wrong value of " + THREADS_PROPERTY + ": " + property);
+			}
+		}
+
+		return threads;
+	}
+}
\ No newline at end of file
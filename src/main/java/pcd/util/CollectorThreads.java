@@ -0,0 +1,65 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class to create threads of collectors on Java 8. Version for Java 21+ in
+ * META-INF/versions/21 of jar creates virtual threads.
+ * 
+ * @author Mateusz Mucha
+ */
+final class CollectorThreads {
+	/**
+	 * Private constructor.
+	 */
+	private CollectorThreads() {
+	}
+
+	/**
+	 * Method to create fixed pool of daemon threads. Idle threads end after
+	 * 30 seconds.
+	 * 
+	 * @param _threads
+	 *            - number of threads
+	 * @return executor of collectors
+	 */
+	static ExecutorService newExecutor(int _threads) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(_threads, _threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), runnable -> {
+					Thread thread = new Thread(runnable, "pcd-collector-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	/**
+	 * Method to check if created threads are virtual.
+	 * 
+	 * @return false
+	 */
+	static boolean isVirtual() {
+		return false;
+	}
+}
\ No newline at end of file
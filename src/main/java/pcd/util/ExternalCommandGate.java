@@ -0,0 +1,307 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Class to limit calls of jHardware API. These calls run external commands
+ * like dmidecode, lscpu or WMI queries, so only configured number of calls
+ * could run at the same time and every call has timeout. Time spent in calls
+ * is counted.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ExternalCommandGate {
+	/**
+	 * Default number of calls running at the same time.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENT_CALLS = 2;
+	/**
+	 * Default time in milliseconds to wait for one call.
+	 */
+	public static final long DEFAULT_TIMEOUT = 30000;
+	private static final Object LOCK = new Object();
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(callThreadFactory());
+	private static final Map<String, LongAdder> TIME_BY_CALL = new ConcurrentHashMap<String, LongAdder>();
+	private static final LongAdder CALLS = new LongAdder(), TIMEOUTS = new LongAdder(), FAILURES = new LongAdder(),
+			TOTAL_TIME = new LongAdder(), WAIT_TIME = new LongAdder();
+	private static int maxConcurrentCalls = DEFAULT_MAX_CONCURRENT_CALLS;
+	private static int runningCalls;
+	private static volatile long timeout = DEFAULT_TIMEOUT;
+
+	/**
+	 * Private constructor.
+	 */
+	private ExternalCommandGate() {
+	}
+
+	/**
+	 * Method to run call of jHardware API. Waits for free slot if maximum
+	 * number of calls is running. Slot is released when call really ends, so
+	 * call which timed out keeps its slot until external command finishes.
+	 * 
+	 * @param _name
+	 *            - name of call used for counters
+	 * @param _call
+	 *            - call of jHardware API
+	 * @return result of call
+	 * @throws IllegalStateException
+	 *             if call timed out, was interrupted or failed with checked
+	 *             exception
+	 */
+	public static <T> T call(String _name, Supplier<T> _call) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		long start = System.nanoTime();
+		acquire(_name, deadline);
+		WAIT_TIME.add(System.nanoTime() - start);
+
+		Future<T> future;
+		try {
+			future = EXECUTOR.submit(() -> {
+				long callStart = System.nanoTime();
+				try {
+					return _call.get();
+				} finally {
+					long time = System.nanoTime() - callStart;
+					TOTAL_TIME.add(time);
+					TIME_BY_CALL.computeIfAbsent(_name, name -> new LongAdder()).add(time);
+					release();
+				}
+			});
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+		CALLS.increment();
+
+		try {
+			return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			TIMEOUTS.increment();
+			future.cancel(true);
+			throw new IllegalStateException("Call of " + _name + " timed out!");
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Call of " + _name + " was interrupted!");
+		} catch (ExecutionException e) {
+			FAILURES.increment();
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Call of " + _name + " failed!", e.getCause());
+		}
+	}
+
+	/**
+	 * Method to wait for free slot until deadline.
+	 * 
+	 * @param _name
+	 * @param _deadline
+	 *            - deadline in nanoseconds of System.nanoTime()
+	 */
+	private static void acquire(String _name, long _deadline) {
+		synchronized (LOCK) {
+			try {
+				while (runningCalls >= maxConcurrentCalls) {
+					long remaining = TimeUnit.NANOSECONDS.toMillis(_deadline - System.nanoTime());
+					if (remaining <= 0) {
+						TIMEOUTS.increment();
+						throw new IllegalStateException("Call of " + _name + " timed out waiting for free slot!");
+					}
+					LOCK.wait(remaining);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Call of " + _name + " was interrupted!");
+			}
+			runningCalls++;
+		}
+	}
+
+	/**
+	 * Method to release slot of ended call.
+	 */
+	private static void release() {
+		synchronized (LOCK) {
+			runningCalls--;
+			LOCK.notifyAll();
+		}
+	}
+
+	/**
+	 * Method to create factory of daemon threads running calls.
+	 * 
+	 * @return thread factory
+	 */
+	private static ThreadFactory callThreadFactory() {
+		AtomicInteger number = new AtomicInteger();
+
+		return runnable -> {
+			Thread thread = new Thread(runnable, "pcd-external-" + number.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Method to get maximum number of calls running at the same time.
+	 * 
+	 * @return maximum number of calls
+	 */
+	public static int getMaxConcurrentCalls() {
+		synchronized (LOCK) {
+			return maxConcurrentCalls;
+		}
+	}
+
+	/**
+	 * Method to set maximum number of calls running at the same time. Running
+	 * calls are not stopped if new maximum is lower.
+	 * 
+	 * @param _maxConcurrentCalls
+	 */
+	public static void setMaxConcurrentCalls(int _maxConcurrentCalls) {
+		if (_maxConcurrentCalls < 1) {
+			throw new IllegalArgumentException("Maximum number of calls must be at least 1!");
+		}
+		synchronized (LOCK) {
+			maxConcurrentCalls = _maxConcurrentCalls;
+			LOCK.notifyAll();
+		}
+	}
+
+	/**
+	 * Method to get number of calls running now.
+	 * 
+	 * @return running calls count
+	 */
+	public static int getRunningCalls() {
+		synchronized (LOCK) {
+			return runningCalls;
+		}
+	}
+
+	/**
+	 * Method to get time in milliseconds to wait for one call, including
+	 * waiting for free slot.
+	 * 
+	 * @return timeout in milliseconds
+	 */
+	public static long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Method to set time in milliseconds to wait for one call, including
+	 * waiting for free slot.
+	 * 
+	 * @param _timeout
+	 *            - timeout in milliseconds
+	 */
+	public static void setTimeout(long _timeout) {
+		if (_timeout <= 0) {
+			throw new IllegalArgumentException("Timeout must be positive!");
+		}
+		timeout = _timeout;
+	}
+
+	/**
+	 * Method to get number of started calls.
+	 * 
+	 * @return calls count
+	 */
+	public static long getCallCount() {
+		return CALLS.sum();
+	}
+
+	/**
+	 * Method to get number of calls which timed out.
+	 * 
+	 * @return timed out calls count
+	 */
+	public static long getTimeoutCount() {
+		return TIMEOUTS.sum();
+	}
+
+	/**
+	 * Method to get number of calls which failed with exception.
+	 * 
+	 * @return failed calls count
+	 */
+	public static long getFailureCount() {
+		return FAILURES.sum();
+	}
+
+	/**
+	 * Method to get total time in milliseconds spent in ended calls.
+	 * 
+	 * @return time spent in external commands
+	 */
+	public static long getTotalTime() {
+		return TimeUnit.NANOSECONDS.toMillis(TOTAL_TIME.sum());
+	}
+
+	/**
+	 * Method to get total time in milliseconds spent waiting for free slot.
+	 * 
+	 * @return time spent waiting
+	 */
+	public static long getWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(WAIT_TIME.sum());
+	}
+
+	/**
+	 * Method to get time in milliseconds spent in ended calls by name of
+	 * call.
+	 * 
+	 * @return sorted map of name of call and time spent
+	 */
+	public static Map<String, Long> getTimeByCall() {
+		Map<String, Long> times = new TreeMap<String, Long>();
+		TIME_BY_CALL.forEach((name, time) -> times.put(name, TimeUnit.NANOSECONDS.toMillis(time.sum())));
+
+		return Collections.unmodifiableMap(times);
+	}
+
+	/**
+	 * Method to reset all counters.
+	 */
+	public static void resetCounters() {
+		CALLS.reset();
+		TIMEOUTS.reset();
+		FAILURES.reset();
+		TOTAL_TIME.reset();
+		WAIT_TIME.reset();
+		TIME_BY_CALL.clear();
+	}
+}
\ No newline at end of file
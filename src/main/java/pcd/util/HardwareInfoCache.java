@@ -0,0 +1,187 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Class to cache maps of details from jHardware API. Reading these details
+ * runs external commands or WMI queries, while values like BIOS vendor or
+ * cache sizes do not change, so maps are kept for configured time to live.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class HardwareInfoCache {
+	/**
+	 * Default time to live of cached map in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 600000;
+	private static final Map<Type, Entry> CACHE = new ConcurrentHashMap<Type, Entry>();
+	private static volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	/**
+	 * Types of components with details from jHardware API.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	public enum Type {
+		PROCESSOR(() -> org.jutils.jhardware.HardwareInfo.getProcessorInfo().getFullInfo()),
+		MEMORY(() -> org.jutils.jhardware.HardwareInfo.getMemoryInfo().getFullInfo()),
+		MOTHERBOARD(() -> org.jutils.jhardware.HardwareInfo.getMotherboardInfo().getFullInfo()),
+		OS(() -> org.jutils.jhardware.HardwareInfo.getOSInfo().getFullInfo()),
+		BIOS(() -> org.jutils.jhardware.HardwareInfo.getBiosInfo().getFullInfo());
+
+		private final Supplier<Map<String, String>> loader;
+
+		private Type(Supplier<Map<String, String>> _loader) {
+			this.loader = _loader;
+		}
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private HardwareInfoCache() {
+	}
+
+	/**
+	 * Method to get map of details of component. Map is loaded from jHardware
+	 * API if there is no cached map or cached map is expired. Concurrent calls
+	 * for the same type wait for one load. Fresh maps are returned without
+	 * locking and load runs outside of the cache map, so slow load of one type
+	 * does not block other types.
+	 * 
+	 * @param _type
+	 * @return unmodifiable map of details of component
+	 */
+	public static Map<String, String> get(Type _type) {
+		if (_type == null) {
+			throw new IllegalArgumentException("Type of component can not be null!");
+		}
+
+		while (true) {
+			Entry entry = CACHE.get(_type);
+			if (entry != null && (!entry.future.isDone()
+					|| System.currentTimeMillis() - entry.loadTime < timeToLive)) {
+				return join(entry.future);
+			}
+
+			Entry loading = new Entry();
+			boolean installed = entry == null ? CACHE.putIfAbsent(_type, loading) == null
+					: CACHE.replace(_type, entry, loading);
+			if (!installed) {
+				continue;
+			}
+
+			try {
+				Map<String, String> map = load(_type);
+				loading.loadTime = System.currentTimeMillis();
+				loading.future.complete(map);
+
+				return map;
+			} catch (RuntimeException | Error e) {
+				CACHE.remove(_type, loading);
+				loading.future.completeExceptionally(e);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Method to wait for map loaded by other caller.
+	 * 
+	 * @param _future
+	 * @return loaded map
+	 */
+	private static Map<String, String> join(CompletableFuture<Map<String, String>> _future) {
+		try {
+			return _future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Method to load map of details from jHardware API. Call is limited by
+	 * {@link ExternalCommandGate}.
+	 * 
+	 * @param _type
+	 * @return unmodifiable copy of loaded map
+	 */
+	private static Map<String, String> load(Type _type) {
+		Map<String, String> map = ExternalCommandGate.call(_type.name(), _type.loader);
+
+		return Collections.unmodifiableMap(map != null ? new HashMap<String, String>(map)
+				: Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * Method to remove cached map of component.
+	 * 
+	 * @param _type
+	 */
+	public static void invalidate(Type _type) {
+		CACHE.remove(_type);
+	}
+
+	/**
+	 * Method to remove all cached maps.
+	 */
+	public static void invalidateAll() {
+		CACHE.clear();
+	}
+
+	/**
+	 * Method to get time to live of cached maps.
+	 * 
+	 * @return time to live in milliseconds
+	 */
+	public static long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Method to set time to live of cached maps. Already cached maps use new
+	 * time to live too.
+	 * 
+	 * @param _timeToLive
+	 *            - time to live in milliseconds, 0 disables caching
+	 */
+	public static void setTimeToLive(long _timeToLive) {
+		if (_timeToLive < 0) {
+			throw new IllegalArgumentException("Time to live can not be negative!");
+		}
+		timeToLive = _timeToLive;
+	}
+
+	/**
+	 * Class to keep cached or loading map with time of load.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class Entry {
+		private final CompletableFuture<Map<String, String>> future = new CompletableFuture<>();
+		private volatile long loadTime;
+	}
+}
\ No newline at end of file
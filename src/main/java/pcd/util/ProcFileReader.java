@@ -0,0 +1,355 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class to read small pseudo files like /proc or /sys entries into reused byte
+ * buffer and parse them without creating strings. One reader should be used
+ * by one thread at a time.
+ * 
+ * @author Mateusz Mucha
+ */
+public final class ProcFileReader {
+	private static final int DEFAULT_CAPACITY = 4096;
+	private final String path;
+	private RandomAccessFile file = null;
+	private byte[] buffer;
+	private int length, position;
+
+	/**
+	 * Default constructor. Reader is not bound to any file so only
+	 * {@link #read(String)} may be used.
+	 */
+	public ProcFileReader() {
+		this(null, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor of reader bound to one file. File is kept open between reads.
+	 * 
+	 * @param _path
+	 *            - path of file to read
+	 * @param _capacity
+	 *            - initial size of buffer, buffer grows if file is bigger
+	 */
+	public ProcFileReader(String _path, int _capacity) {
+		this.path = _path;
+		this.buffer = new byte[Math.max(64, _capacity)];
+	}
+
+	/**
+	 * Method to read whole bound file into buffer. Position is moved to the
+	 * beginning of buffer.
+	 * 
+	 * @return number of bytes read
+	 * @throws IOException
+	 *             if file can not be read
+	 */
+	public int read() throws IOException {
+		if (file == null) {
+			file = new RandomAccessFile(path, "r");
+		}
+		file.seek(0);
+
+		return fill(file);
+	}
+
+	/**
+	 * Method to read whole file into buffer. File is closed after read.
+	 * Position is moved to the beginning of buffer.
+	 * 
+	 * @param _path
+	 * @return number of bytes read
+	 * @throws IOException
+	 *             if file can not be read
+	 */
+	public int read(String _path) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(_path, "r")) {
+			return fill(randomAccessFile);
+		}
+	}
+
+	/**
+	 * Method to close bound file.
+	 */
+	public void close() {
+		if (file != null) {
+			try {
+				file.close();
+			} catch (IOException e) {
+				// nothing to do with file which can not be closed
+			}
+			file = null;
+		}
+	}
+
+	/**
+	 * Method to check if there are bytes left after current position.
+	 * 
+	 * @return true if not whole buffer was parsed
+	 */
+	public boolean hasRemaining() {
+		return position < length;
+	}
+
+	/**
+	 * Method to get byte at current position without moving it.
+	 * 
+	 * @return byte at current position or -1 if there is nothing left
+	 */
+	public int peek() {
+		return position < length ? buffer[position] : -1;
+	}
+
+	/**
+	 * Method to get current position.
+	 * 
+	 * @return current position
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Method to set current position.
+	 * 
+	 * @param _position
+	 */
+	public void setPosition(int _position) {
+		this.position = _position;
+	}
+
+	/**
+	 * Method to get number of bytes read by last read.
+	 * 
+	 * @return number of bytes in buffer
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Method to get current size of buffer.
+	 * 
+	 * @return size of buffer in bytes
+	 */
+	public int getCapacity() {
+		return buffer.length;
+	}
+
+	/**
+	 * Method to get byte at specific index of buffer.
+	 * 
+	 * @param _index
+	 * @return byte at index
+	 */
+	public byte byteAt(int _index) {
+		return buffer[_index];
+	}
+
+	/**
+	 * Method to check if bytes from current position starts with prefix.
+	 * 
+	 * @param _prefix
+	 * @return true if prefix matches
+	 */
+	public boolean startsWith(byte[] _prefix) {
+		if (position + _prefix.length > length) {
+			return false;
+		}
+		for (int i = 0; i < _prefix.length; i++) {
+			if (buffer[position + i] != _prefix[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Method to move position by number of bytes.
+	 * 
+	 * @param _count
+	 */
+	public void skip(int _count) {
+		position = Math.min(length, position + _count);
+	}
+
+	/**
+	 * Method to move position to first byte which is not space or tab.
+	 */
+	public void skipSpaces() {
+		while (position < length && (buffer[position] == ' ' || buffer[position] == '\t')) {
+			position++;
+		}
+	}
+
+	/**
+	 * Method to move position after next token separated by spaces or tabs.
+	 */
+	public void skipToken() {
+		skipSpaces();
+		while (position < length && buffer[position] != ' ' && buffer[position] != '\t'
+				&& buffer[position] != '\n') {
+			position++;
+		}
+	}
+
+	/**
+	 * Method to move position to the beginning of next line.
+	 * 
+	 * @return true if there is next line
+	 */
+	public boolean nextLine() {
+		while (position < length && buffer[position] != '\n') {
+			position++;
+		}
+		if (position < length) {
+			position++;
+		}
+
+		return position < length;
+	}
+
+	/**
+	 * Method to move position just after first occurrence of byte.
+	 * 
+	 * @param _byte
+	 * @return true if byte was found
+	 */
+	public boolean skipPast(byte _byte) {
+		while (position < length) {
+			if (buffer[position++] == _byte) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Method to move position just after last occurrence of byte in buffer.
+	 * 
+	 * @param _byte
+	 * @return true if byte was found
+	 */
+	public boolean skipPastLast(byte _byte) {
+		for (int i = length - 1; i >= position; i--) {
+			if (buffer[i] == _byte) {
+				position = i + 1;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Method to parse next decimal number after optional spaces. Parsing stops
+	 * at first byte which is not digit.
+	 * 
+	 * @return parsed number or 0 if there is no number at position
+	 */
+	public long nextLong() {
+		skipSpaces();
+		boolean negative = false;
+		if (position < length && buffer[position] == '-') {
+			negative = true;
+			position++;
+		}
+		long value = 0;
+		while (position < length) {
+			int digit = buffer[position] - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			value = value * 10 + digit;
+			position++;
+		}
+
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Method to parse next decimal number with optional fraction e.g. 12.34
+	 * after optional spaces.
+	 * 
+	 * @return parsed number or 0 if there is no number at position
+	 */
+	public double nextDouble() {
+		skipSpaces();
+		boolean negative = position < length && buffer[position] == '-';
+		double value = nextLong();
+		if (negative) {
+			value = -value;
+		}
+		if (position < length && buffer[position] == '.') {
+			position++;
+			long fraction = 0, scale = 1;
+			while (position < length) {
+				int digit = buffer[position] - '0';
+				if (digit < 0 || digit > 9) {
+					break;
+				}
+				fraction = fraction * 10 + digit;
+				scale *= 10;
+				position++;
+			}
+			value += (double) fraction / scale;
+		}
+
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Method to create string from bytes between indexes. Should be used only
+	 * when string is really needed.
+	 * 
+	 * @param _from
+	 *            - index of first byte, inclusive
+	 * @param _to
+	 *            - index of last byte, exclusive
+	 * @return string from buffer
+	 */
+	public String substring(int _from, int _to) {
+		return new String(buffer, _from, _to - _from, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Method to fill buffer with content of file.
+	 * 
+	 * @param _file
+	 * @return number of bytes read
+	 * @throws IOException
+	 */
+	private int fill(RandomAccessFile _file) throws IOException {
+		length = 0;
+		position = 0;
+		int count;
+		while ((count = _file.read(buffer, length, buffer.length - length)) > 0) {
+			length += count;
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+
+		return length;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class to create threads of collectors on Java 21+. Every task runs on new
+ * virtual thread, number of carrier threads could be limited by system
+ * property jdk.virtualThreadScheduler.parallelism.
+ * 
+ * @author Mateusz Mucha
+ */
+final class CollectorThreads {
+	/**
+	 * Private constructor.
+	 */
+	private CollectorThreads() {
+	}
+
+	/**
+	 * Method to create executor starting virtual thread for every task.
+	 * 
+	 * @param _threads
+	 *            - not used, virtual threads are not pooled
+	 * @return executor of collectors
+	 */
+	static ExecutorService newExecutor(int _threads) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pcd-collector-", 1).factory());
+	}
+
+	/**
+	 * Method to check if created threads are virtual.
+	 * 
+	 * @return true
+	 */
+	static boolean isVirtual() {
+		return true;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import oshi.hardware.CentralProcessor.TickType;
+import pcd.hardware.cpu.CpuLoadTracker.Window;
+
+/**
+ * Tests of rolling processor load averages.
+ * 
+ * @author Mateusz Mucha
+ */
+public class CpuLoadTrackerTest {
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void firstSampleInitializesAllWindows() {
+		CpuLoadTracker tracker = new CpuLoadTracker(2);
+		assertFalse(tracker.isInitialized());
+
+		tracker.update(0.5, new double[] { 0.25, 0.75 }, 1000);
+
+		assertTrue(tracker.isInitialized());
+		for (Window window : Window.values()) {
+			assertEquals(0.5, tracker.getSystemAverage(window), DELTA);
+			assertEquals(0.25, tracker.getProcessorAverage(0, window), DELTA);
+			assertEquals(0.75, tracker.getProcessorAverage(1, window), DELTA);
+		}
+	}
+
+	@Test
+	public void averageDecaysExponentiallyWithLengthOfWindow() {
+		CpuLoadTracker tracker = new CpuLoadTracker(1);
+		tracker.update(1, new double[] { 1 }, 1000);
+
+		tracker.update(0, new double[] { 0 }, 60000);
+
+		assertEquals(Math.exp(-1), tracker.getSystemAverage(Window.ONE_MINUTE), DELTA);
+		assertEquals(Math.exp(-0.2), tracker.getSystemAverage(Window.FIVE_MINUTES), DELTA);
+		assertEquals(Math.exp(-60000d / 900000), tracker.getSystemAverage(Window.FIFTEEN_MINUTES), DELTA);
+		assertEquals(Math.exp(-1), tracker.getProcessorAverage(0, Window.ONE_MINUTE), DELTA);
+	}
+
+	@Test
+	public void samplesSplitInTimeGiveTheSameAverageAsOneSample() {
+		CpuLoadTracker once = new CpuLoadTracker(0), split = new CpuLoadTracker(0);
+		once.update(1, new double[0], 1000);
+		split.update(1, new double[0], 1000);
+
+		once.update(0, new double[0], 30000);
+		split.update(0, new double[0], 10000);
+		split.update(0, new double[0], 20000);
+
+		for (Window window : Window.values()) {
+			assertEquals(once.getSystemAverage(window), split.getSystemAverage(window), DELTA);
+		}
+	}
+
+	@Test
+	public void processorsOverTrackedCountAreIgnored() {
+		CpuLoadTracker tracker = new CpuLoadTracker(1);
+
+		tracker.update(0.5, new double[] { 0.1, 0.9 }, 1000);
+
+		assertEquals(1, tracker.getProcessorCount());
+		assertEquals(0.1, tracker.fillProcessorAverages(new double[1], Window.ONE_MINUTE)[0], DELTA);
+	}
+
+	@Test
+	public void idleAndIoWaitTicksAreNotLoad() {
+		long[] previous = new long[TickType.values().length];
+		long[] latest = new long[TickType.values().length];
+		latest[TickType.USER.getIndex()] = 30;
+		latest[TickType.SYSTEM.getIndex()] = 10;
+		latest[TickType.IDLE.getIndex()] = 50;
+		latest[TickType.IOWAIT.getIndex()] = 10;
+
+		assertEquals(0.4, CpuLoadTracker.load(previous, latest), DELTA);
+		assertEquals(0, CpuLoadTracker.load(latest, latest), DELTA);
+	}
+}
\ No newline at end of file
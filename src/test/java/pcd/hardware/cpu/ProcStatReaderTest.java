@@ -0,0 +1,113 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.hardware.cpu;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of parsing ticks from file in /proc/stat format.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcStatReaderTest {
+	private static final String STAT = "cpu  100 2 30 400 5 6 7 8 0 0\n"
+			+ "cpu0 60 1 20 200 3 4 5 6 0 0\n"
+			+ "cpu2 40 1 10 200 2 2 2 2 0 0\n"
+			+ "intr 12345 1 2 3\n"
+			+ "ctxt 987654\n"
+			+ "btime 1500000000\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void readsSystemAndProcessorTicks() throws IOException {
+		ProcStatReader reader = new ProcStatReader(write(STAT));
+		long[] ticks = new long[8];
+		long[][] processorTicks = new long[3][8];
+
+		assertTrue(reader.read(ticks, processorTicks));
+
+		assertArrayEquals(new long[] { 100, 2, 30, 400, 5, 6, 7, 8 }, ticks);
+		assertArrayEquals(new long[] { 60, 1, 20, 200, 3, 4, 5, 6 }, processorTicks[0]);
+		assertArrayEquals(new long[] { 40, 1, 10, 200, 2, 2, 2, 2 }, processorTicks[2]);
+	}
+
+	@Test
+	public void missingProcessorKeepsPreviousTicks() throws IOException {
+		ProcStatReader reader = new ProcStatReader(write(STAT));
+		long[][] processorTicks = { new long[8], { 1, 2, 3, 4, 5, 6, 7, 8 }, new long[8] };
+
+		reader.read(new long[8], processorTicks);
+
+		assertArrayEquals(new long[] { 1, 2, 3, 4, 5, 6, 7, 8 }, processorTicks[1]);
+	}
+
+	@Test
+	public void processorsOverMatrixSizeAreSkipped() throws IOException {
+		ProcStatReader reader = new ProcStatReader(write(STAT));
+		long[][] processorTicks = new long[1][8];
+
+		assertTrue(reader.read(new long[8], processorTicks));
+		assertTrue(reader.read(new long[8], null));
+
+		assertArrayEquals(new long[] { 60, 1, 20, 200, 3, 4, 5, 6 }, processorTicks[0]);
+	}
+
+	@Test
+	public void fileIsReadAgainOnEveryRead() throws IOException {
+		String path = write(STAT);
+		ProcStatReader reader = new ProcStatReader(path);
+		long[] ticks = new long[8];
+		reader.read(ticks, null);
+
+		Files.write(new File(path).toPath(), "cpu  200 0 0 0 0 0 0 0 0 0\n".getBytes(StandardCharsets.US_ASCII));
+
+		assertTrue(reader.read(ticks, null));
+		assertArrayEquals(new long[] { 200, 0, 0, 0, 0, 0, 0, 0 }, ticks);
+	}
+
+	@Test
+	public void missingOrEmptyFileIsNotRead() throws IOException {
+		assertFalse(new ProcStatReader(new File(folder.getRoot(), "missing").getPath()).read(new long[8], null));
+		assertFalse(new ProcStatReader(write("")).read(new long[8], null));
+		assertFalse(new ProcStatReader(write("intr 1 2 3\n")).read(new long[8], null));
+	}
+
+	/**
+	 * Method to write fixture into temporary file.
+	 * 
+	 * @param _content
+	 * @return path of file
+	 * @throws IOException
+	 */
+	private String write(String _content) throws IOException {
+		File file = folder.newFile();
+		Files.write(file.toPath(), _content.getBytes(StandardCharsets.US_ASCII));
+
+		return file.getPath();
+	}
+}
\ No newline at end of file
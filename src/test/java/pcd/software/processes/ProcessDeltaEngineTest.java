@@ -0,0 +1,153 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests of counting processor usage and I/O rates between scans.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcessDeltaEngineTest {
+	/**
+	 * Tolerance of rates counted since start of process, scan time is read
+	 * from clock.
+	 */
+	private static final double DELTA = 0.5;
+
+	@Test
+	public void newProcessIsCountedSinceItsStart() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long now = System.currentTimeMillis();
+
+		engine.beginScan();
+		engine.update(42, now - 10000, 2000, 10000, 20000);
+
+		assertEquals(20, engine.getCpuUsage(), DELTA);
+		assertEquals(1000, engine.getReadRate(), 10 * DELTA);
+		assertEquals(2000, engine.getWriteRate(), 10 * DELTA);
+	}
+
+	@Test
+	public void knownProcessIsCountedSincePreviousScan() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long start = System.currentTimeMillis() - 10000;
+		scan(engine, 42, start, 2000);
+
+		engine.beginScan();
+		engine.update(42, start, 2000, 0, 0);
+		engine.endScan();
+
+		assertEquals(0, engine.getCpuUsage(), 0);
+		assertEquals(1, engine.size());
+	}
+
+	@Test
+	public void reusedProcessIdIsCountedSinceStartOfNewProcess() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long now = System.currentTimeMillis();
+		scan(engine, 42, now - 100000, 90000);
+
+		engine.beginScan();
+		double usage = engine.cpuUsage(42, now - 10000, 1000);
+
+		assertEquals(10, usage, DELTA);
+	}
+
+	@Test
+	public void startTimeWithinToleranceIsTheSameProcess() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long start = System.currentTimeMillis() - 10000;
+		scan(engine, 42, start, 2000);
+
+		engine.beginScan();
+		double usage = engine.cpuUsage(42, start + ProcessDeltaEngine.START_TIME_TOLERANCE / 2, 2000);
+
+		assertEquals(0, usage, 0);
+	}
+
+	@Test
+	public void processMissingFromScanIsForgotten() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long start = System.currentTimeMillis() - 10000;
+		engine.beginScan();
+		engine.update(1, start, 1000, 0, 0);
+		engine.update(2, start, 1000, 0, 0);
+		engine.endScan();
+		assertEquals(2, engine.size());
+
+		scan(engine, 1, start, 1000);
+		assertEquals(1, engine.size());
+
+		engine.beginScan();
+		assertEquals(10, engine.cpuUsage(2, start, 1000), DELTA);
+	}
+
+	@Test
+	public void decreasingCountersGiveZeroRates() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine();
+		long start = System.currentTimeMillis() - 10000;
+		engine.beginScan();
+		engine.update(42, start, 2000, 5000, 5000);
+		engine.endScan();
+
+		engine.beginScan();
+		engine.update(42, start, 1000, 100, 100);
+
+		assertEquals(0, engine.getCpuUsage(), 0);
+		assertEquals(0, engine.getReadRate(), 0);
+		assertEquals(0, engine.getWriteRate(), 0);
+	}
+
+	@Test
+	public void tableGrowsAndKeepsAllProcesses() {
+		ProcessDeltaEngine engine = new ProcessDeltaEngine(0);
+		long start = System.currentTimeMillis() - 10000;
+		engine.beginScan();
+		for (int pid = 1; pid <= 10000; pid++) {
+			engine.update(pid, start, pid, 0, 0);
+		}
+		engine.endScan();
+
+		engine.beginScan();
+		for (int pid = 1; pid <= 10000; pid++) {
+			assertEquals(0, engine.cpuUsage(pid, start, pid), 0);
+		}
+		engine.endScan();
+		assertEquals(10000, engine.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void updateBeforeScanIsRejected() {
+		new ProcessDeltaEngine().cpuUsage(1, 0, 0);
+	}
+
+	/**
+	 * Method to run scan with one process.
+	 * 
+	 * @param _engine
+	 * @param _processId
+	 * @param _startTime
+	 * @param _cpuTime
+	 */
+	private static void scan(ProcessDeltaEngine _engine, int _processId, long _startTime, long _cpuTime) {
+		_engine.beginScan();
+		_engine.update(_processId, _startTime, _cpuTime, 0, 0);
+		_engine.endScan();
+	}
+}
\ No newline at end of file
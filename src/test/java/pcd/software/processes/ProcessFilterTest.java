@@ -0,0 +1,181 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of order of testing and equality of process filters.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcessFilterTest {
+	@Test
+	public void cheaperFiltersAreTestedFirst() {
+		ProcessFilter filter = ProcessFilter.commandLineRegex("--server").and(ProcessFilter.user("root"))
+				.and(ProcessFilter.userId("0"));
+		TestCandidate candidate = new TestCandidate("1000", "svc", "/bin/java", "java --server");
+
+		assertFalse(filter.test(candidate));
+		assertEquals(Arrays.asList("userId"), candidate.reads);
+		assertEquals("(uid=0 and user=root and cmd=~--server)", filter.toString());
+		assertEquals(4, filter.getCost());
+	}
+
+	@Test
+	public void expensiveFieldsAreReadOnlyForNotRejectedProcesses() {
+		ProcessFilter filter = ProcessFilter.pathGlob("/usr/*").and(ProcessFilter.nameGlob("ja?a*"));
+		TestCandidate candidate = new TestCandidate("0", "root", "/usr/bin/javac", "");
+
+		assertTrue(filter.test(candidate));
+		assertEquals(Arrays.asList("name", "path"), candidate.reads);
+	}
+
+	@Test
+	public void anyOfStopsAtFirstAcceptingFilter() {
+		ProcessFilter filter = ProcessFilter.commandLineRegex("x").or(ProcessFilter.userId("0"));
+		TestCandidate candidate = new TestCandidate("0", "root", "", "x");
+
+		assertTrue(filter.test(candidate));
+		assertEquals(Arrays.asList("userId"), candidate.reads);
+	}
+
+	@Test
+	public void nestedAndIsJoinedIntoOneList() {
+		ProcessFilter nested = ProcessFilter.pathRegex("bin").and(ProcessFilter.user("root"))
+				.and(ProcessFilter.state("RUNNING"));
+		ProcessFilter flat = ProcessFilter.allOf(ProcessFilter.pathRegex("bin"), ProcessFilter.user("root"),
+				ProcessFilter.state("RUNNING"));
+
+		assertEquals(flat, nested);
+		assertEquals("(state=[RUNNING] and user=root and path=~bin)", nested.toString());
+	}
+
+	@Test
+	public void globsMatchWholeNameAndQuoteOtherCharacters() {
+		assertTrue(ProcessFilter.nameGlob("java*").test(new TestCandidate("0", "", "", "").named("javac")));
+		assertFalse(ProcessFilter.nameGlob("java").test(new TestCandidate("0", "", "", "").named("javac")));
+		assertFalse(ProcessFilter.nameGlob("a.b").test(new TestCandidate("0", "", "", "").named("axb")));
+		assertTrue(ProcessFilter.nameRegex("a.b").test(new TestCandidate("0", "", "", "").named("xaxby")));
+		assertFalse(ProcessFilter.nameGlob("*").test(new TestCandidate("0", "", "", "").named(null)));
+	}
+
+	@Test
+	public void filtersBuiltTheSameWayAreEqual() {
+		assertEquals(ProcessFilter.nameGlob("java*"), ProcessFilter.nameGlob("java*"));
+		assertEquals(ProcessFilter.nameGlob("java*").hashCode(), ProcessFilter.nameGlob("java*").hashCode());
+		assertEquals(ProcessFilter.state("RUNNING", "SLEEPING"), ProcessFilter.state("SLEEPING", "RUNNING"));
+		assertEquals(ProcessFilter.minResidentSetSize(10).negate(), ProcessFilter.minResidentSetSize(10).negate());
+		assertEquals(ProcessFilter.user("a").or(ProcessFilter.user("b")),
+				ProcessFilter.anyOf(ProcessFilter.user("a"), ProcessFilter.user("b")));
+	}
+
+	@Test
+	public void filtersBuiltOtherWayAreNotEqual() {
+		assertNotEquals(ProcessFilter.nameGlob("java*"), ProcessFilter.nameRegex("java*"));
+		assertNotEquals(ProcessFilter.state("RUNNING, SLEEPING"), ProcessFilter.state("RUNNING", "SLEEPING"));
+		assertNotEquals(ProcessFilter.parentProcessId(1), ProcessFilter.parentProcessId(2));
+		assertNotEquals(ProcessFilter.user("a").and(ProcessFilter.user("b")),
+				ProcessFilter.user("a").or(ProcessFilter.user("b")));
+		assertNotEquals(ProcessFilter.userId("0"), ProcessFilter.userId("0").negate());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyJoinIsRejected() {
+		ProcessFilter.allOf();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullParameterIsRejected() {
+		ProcessFilter.user(null);
+	}
+
+	/**
+	 * Candidate which records names of read fields.
+	 * 
+	 * @author Mateusz Mucha
+	 */
+	private static final class TestCandidate implements ProcessFilter.Candidate {
+		private final List<String> reads = new ArrayList<String>();
+		private final String userId, user, path, commandLine;
+		private String name = "java";
+
+		private TestCandidate(String _userId, String _user, String _path, String _commandLine) {
+			this.userId = _userId;
+			this.user = _user;
+			this.path = _path;
+			this.commandLine = _commandLine;
+		}
+
+		private TestCandidate named(String _name) {
+			this.name = _name;
+			return this;
+		}
+
+		public int getProcessID() {
+			reads.add("processId");
+			return 1;
+		}
+
+		public int getParentProcessID() {
+			reads.add("parentProcessId");
+			return 0;
+		}
+
+		public String getName() {
+			reads.add("name");
+			return name;
+		}
+
+		public String getState() {
+			reads.add("state");
+			return "RUNNING";
+		}
+
+		public long getResidentSetSize() {
+			reads.add("residentSetSize");
+			return 0;
+		}
+
+		public String getUserID() {
+			reads.add("userId");
+			return userId;
+		}
+
+		public String getUser() {
+			reads.add("user");
+			return user;
+		}
+
+		public String getPath() {
+			reads.add("path");
+			return path;
+		}
+
+		public String getCommandLine() {
+			reads.add("commandLine");
+			return commandLine;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Tests of sorting and filtering rows of columnar process table.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcessTableTest {
+	private static final String[] DICTIONARY = { "sshd", "bash", "RUNNING", "SLEEPING", "java" };
+
+	@Test
+	public void sortsNumericColumnsBothWays() {
+		ProcessTable table = table(new int[] { 10, 11, 12, 13 }, new int[] { 3, 1, 4, 1 }, new int[] { 0, 1, 4, -1 },
+				new int[] { 2, 3, 3, 2 });
+
+		assertArrayEquals(new int[] { 1, 3, 0, 2 }, table.sort(table.rows(), ProcessField.THREAD_COUNT, false));
+		assertArrayEquals(new int[] { 2, 0, 1, 3 }, table.sort(table.rows(), ProcessField.THREAD_COUNT, true));
+		assertArrayEquals(new int[] { 3, 2, 1, 0 }, table.sortByProcessId(table.rows(), true));
+	}
+
+	@Test
+	public void sortsTextsAlphabeticallyWithEmptyFirst() {
+		ProcessTable table = table(new int[] { 10, 11, 12, 13 }, new int[] { 3, 1, 4, 1 }, new int[] { 0, 1, 4, -1 },
+				new int[] { 2, 3, 3, 2 });
+
+		assertArrayEquals(new int[] { 3, 1, 2, 0 }, table.sort(table.rows(), ProcessField.NAME, false));
+		assertArrayEquals(new int[] { 0, 2, 1, 3 }, table.sort(table.rows(), ProcessField.NAME, true));
+	}
+
+	@Test
+	public void sortingIsStableAcrossFields() {
+		ProcessTable table = table(new int[] { 10, 11, 12, 13 }, new int[] { 3, 1, 4, 1 }, new int[] { 0, 1, 4, -1 },
+				new int[] { 2, 3, 3, 2 });
+
+		int[] rows = table.sort(table.rows(), ProcessField.THREAD_COUNT, false);
+		rows = table.sort(rows, ProcessField.STATE, false);
+
+		assertArrayEquals(new int[] { 3, 0, 1, 2 }, rows);
+	}
+
+	@Test
+	public void sortingMatchesStableSortOfBoxedValues() {
+		Random random = new Random(17);
+		int size = 1000;
+		int[] threadCounts = IntStream.range(0, size).map(i -> random.nextInt(20)).toArray();
+		ProcessTable table = table(IntStream.range(0, size).toArray(), threadCounts, new int[size], new int[size]);
+		int[] rows = IntStream.range(0, size).filter(i -> i % 2 == 0).toArray();
+
+		int[] expected = Arrays.stream(rows).boxed().sorted(Comparator.comparingInt(row -> -threadCounts[row]))
+				.mapToInt(Integer::intValue).toArray();
+
+		assertArrayEquals(expected, table.sort(rows, ProcessField.THREAD_COUNT, true));
+	}
+
+	@Test
+	public void filterKeepsOrderOfRows() {
+		ProcessTable table = table(new int[] { 10, 11, 12, 13 }, new int[] { 3, 1, 4, 1 }, new int[] { 0, 1, 4, -1 },
+				new int[] { 2, 3, 3, 2 });
+		int sleeping = table.codeOf("SLEEPING");
+
+		assertArrayEquals(new int[] { 2, 1 },
+				table.filter(new int[] { 2, 0, 1 }, row -> table.getCode(row, ProcessField.STATE) == sleeping));
+	}
+
+	@Test
+	public void textsAreDecodedFromDictionary() {
+		ProcessTable table = table(new int[] { 10, 11, 12, 13 }, new int[] { 3, 1, 4, 1 }, new int[] { 0, 1, 4, -1 },
+				new int[] { 2, 3, 3, 2 });
+
+		assertEquals("java", table.getText(2, ProcessField.NAME));
+		assertNull(table.getText(3, ProcessField.NAME));
+		assertEquals(-1, table.codeOf("zsh"));
+		assertEquals(DICTIONARY.length, table.getDictionarySize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void ioRatesAreNotColumns() {
+		ProcessTable table = table(new int[] { 10 }, new int[] { 1 }, new int[] { 0 }, new int[] { 2 });
+
+		table.sort(table.rows(), ProcessField.IO_RATE, false);
+	}
+
+	/**
+	 * Method to create table with process ids, thread counts, names and
+	 * states, other columns are empty.
+	 * 
+	 * @param _processIds
+	 * @param _threadCounts
+	 * @param _names
+	 *            - codes of names
+	 * @param _states
+	 *            - codes of states
+	 * @return process table
+	 */
+	private static ProcessTable table(int[] _processIds, int[] _threadCounts, int[] _names, int[] _states) {
+		int size = _processIds.length;
+		int[] empty = new int[size];
+		Arrays.fill(empty, -1);
+
+		return new ProcessTable(DICTIONARY, _processIds, new int[size], _threadCounts, new int[size], new long[size],
+				new long[size], new long[size], new long[size], new long[size], new long[size], new long[size],
+				new long[size], new double[size], _names, empty, empty, empty, empty, empty, empty, empty, _states);
+	}
+}
\ No newline at end of file
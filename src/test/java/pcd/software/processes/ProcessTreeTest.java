@@ -0,0 +1,147 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of process tree index, subtree totals and breaking of cycles of
+ * parents.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcessTreeTest {
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void linksParentsChildrenAndDepths() {
+		ProcessTree tree = tree(process(1, 0, 0), process(10, 1, 1), process(11, 1, 2), process(100, 10, 3));
+
+		assertEquals(4, tree.size());
+		assertArrayEquals(new int[] { 1 }, tree.getRoots());
+		assertEquals(1, tree.getParent(10));
+		assertEquals(-1, tree.getParent(1));
+		assertArrayEquals(new int[] { 10, 11 }, sorted(tree.getChildren(1)));
+		assertArrayEquals(new int[] { 10, 1 }, tree.getAncestors(100));
+		assertArrayEquals(new int[] { 10, 11, 100 }, sorted(tree.getDescendants(1)));
+		assertEquals(2, tree.getDepth(100));
+		assertTrue(tree.contains(11));
+		assertFalse(tree.contains(12));
+	}
+
+	@Test
+	public void countsSubtreeTotals() {
+		Process.OSProcess child = process(10, 1, 1), grandchild = process(100, 10, 3);
+		child.setIntervalCpuUsage(5);
+		grandchild.setIntervalCpuUsage(50);
+		ProcessTree tree = tree(process(1, 0, 0), child, process(11, 1, 2), grandchild);
+
+		assertEquals(4, tree.getSubtreeSize(1));
+		assertEquals(2, tree.getSubtreeSize(10));
+		assertEquals(1001 + 1010 + 1011 + 1100, tree.getSubtreeResidentSetSize(1));
+		assertEquals(2 + 2 + 2 + 2, tree.getSubtreeThreadCount(1));
+		assertEquals(10 + 100, tree.getSubtreeBytesRead(10));
+		assertEquals(2 * (10 + 100), tree.getSubtreeBytesWritten(10));
+		assertEquals(5 + 50, tree.getSubtreeCpuUsage(10), DELTA);
+	}
+
+	@Test
+	public void processesWithMissingParentsAreRoots() {
+		ProcessTree tree = tree(process(5, 4, 0), process(6, 5, 1), process(7, 99, 2));
+
+		assertArrayEquals(new int[] { 5, 7 }, sorted(tree.getRoots()));
+		assertEquals(2, tree.getSubtreeSize(5));
+	}
+
+	@Test
+	public void processStartedLastBecomesRootOfCycle() {
+		// 3 reused id of old parent of 2, so 2 -> 3 -> 4 -> 2 is cycle
+		ProcessTree tree = tree(process(2, 3, 10), process(3, 4, 30), process(4, 2, 20), process(5, 3, 40),
+				process(6, 5, 50));
+
+		assertArrayEquals(new int[] { 3 }, tree.getRoots());
+		assertEquals(-1, tree.getParent(3));
+		assertEquals(3, tree.getParent(2));
+		assertEquals(2, tree.getParent(4));
+		assertEquals(3, tree.getParent(5));
+		assertEquals(5, tree.getParent(6));
+		assertEquals(5, tree.getSubtreeSize(3));
+		assertArrayEquals(new int[] { 5, 3 }, tree.getAncestors(6));
+	}
+
+	@Test
+	public void everyCycleIsBrokenOnce() {
+		ProcessTree tree = tree(process(1, 2, 5), process(2, 1, 1), process(3, 3, 0), process(4, 5, 1),
+				process(5, 4, 9), process(6, 4, 10));
+
+		assertArrayEquals(new int[] { 1, 3, 5 }, sorted(tree.getRoots()));
+		assertEquals(2, tree.getSubtreeSize(1));
+		assertEquals(3, tree.getSubtreeSize(5));
+		assertEquals(6, tree.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownProcessIsRejected() {
+		tree(process(1, 0, 0)).getParent(2);
+	}
+
+	/**
+	 * Method to create process with values derived from its id.
+	 * 
+	 * @param _processId
+	 * @param _parentProcessId
+	 * @param _startTime
+	 * @return process
+	 */
+	private static Process.OSProcess process(int _processId, int _parentProcessId, long _startTime) {
+		return new Process.OSProcess(String.valueOf(_processId), "p" + _processId, "", "", "", "", "", "", "",
+				"RUNNING", _parentProcessId, 2, 0, 0, 1000 + _processId, 0, 0, _startTime, 1000, _processId,
+				2 * _processId);
+	}
+
+	/**
+	 * Method to build tree of processes.
+	 * 
+	 * @param _processes
+	 * @return tree of processes
+	 */
+	private static ProcessTree tree(Process.OSProcess... _processes) {
+		List<Process.OSProcess> processes = new ArrayList<Process.OSProcess>(Arrays.asList(_processes));
+
+		return new ProcessTree(new Process(processes));
+	}
+
+	/**
+	 * Method to sort process ids.
+	 * 
+	 * @param _processIds
+	 * @return sorted process ids
+	 */
+	private static int[] sorted(int[] _processIds) {
+		int[] sorted = _processIds.clone();
+		Arrays.sort(sorted);
+
+		return sorted;
+	}
+}
\ No newline at end of file
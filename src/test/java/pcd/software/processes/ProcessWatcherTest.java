@@ -0,0 +1,217 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import pcd.software.SoftwareInfo;
+
+/**
+ * Tests of spawns, exits and execs found by comparing consecutive scans of
+ * processes.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcessWatcherTest {
+	private static final long START = System.currentTimeMillis() - 60000;
+
+	@Test
+	public void firstScanOnlyRecordsProcesses() {
+		ProcessWatcher watcher = watcher();
+
+		assertTrue(watcher.update(scan(process(1, "init", 0), process(2, "sh", 1))).isEmpty());
+		assertEquals(2, watcher.getProcessCount());
+		assertEquals(0, watcher.getSpawnCount());
+		assertEquals(0, watcher.getExitCount());
+	}
+
+	@Test
+	public void unchangedScanHasNoEvents() {
+		ProcessWatcher watcher = watcher();
+		watcher.update(scan(process(1, "init", 0), process(2, "sh", 1)));
+
+		assertTrue(watcher.update(scan(process(2, "sh", 1), process(1, "init", 0))).isEmpty());
+	}
+
+	@Test
+	public void findsExitsBeforeSpawns() {
+		ProcessWatcher watcher = watcher();
+		watcher.update(scan(process(1, "init", 0), process(2, "sh", 1)));
+
+		List<ProcessEvent> events = watcher.update(scan(process(1, "init", 0), process(3, "ls", 2)));
+
+		assertEquals(2, events.size());
+		assertEvent(events.get(0), ProcessEvent.Type.EXIT, "2", "sh");
+		assertTrue(events.get(0).getLifetime() >= 60000 - 1);
+		assertEvent(events.get(1), ProcessEvent.Type.SPAWN, "3", "ls");
+		assertEquals(-1, events.get(1).getLifetime());
+		assertEquals(1, watcher.getSpawnCount());
+		assertEquals(1, watcher.getExitCount());
+		assertEquals(2, watcher.getProcessCount());
+	}
+
+	@Test
+	public void changedCommandLineIsExec() {
+		ProcessWatcher watcher = watcher();
+		watcher.update(scan(process(1, "init", 0), process(2, "sh", 1)));
+
+		List<ProcessEvent> events = watcher.update(scan(process(1, "init", 0), process(2, "java", 1)));
+
+		assertEquals(1, events.size());
+		assertEvent(events.get(0), ProcessEvent.Type.EXEC, "2", "java");
+		assertEquals("/bin/java", events.get(0).getCommandLine());
+		assertEquals("/bin/sh", events.get(0).getPreviousCommandLine());
+		assertEquals(1, watcher.getExecCount());
+		assertEquals(0, watcher.getSpawnCount());
+	}
+
+	@Test
+	public void reusedProcessIdIsExitAndSpawn() {
+		ProcessWatcher watcher = watcher();
+		watcher.update(scan(process(1, "init", 0), process(2, "sh", 1)));
+
+		// start time moved by more than tolerance, so it is another process
+		List<ProcessEvent> events = watcher.update(scan(process(1, "init", 0),
+				process(2, "sh", 1 + ProcessDeltaEngine.START_TIME_TOLERANCE + 1)));
+
+		assertEquals(2, events.size());
+		assertEvent(events.get(0), ProcessEvent.Type.EXIT, "2", "sh");
+		assertEquals(START + 1, events.get(0).getStartTime());
+		assertEvent(events.get(1), ProcessEvent.Type.SPAWN, "2", "sh");
+		assertEquals(0, watcher.getExecCount());
+	}
+
+	@Test
+	public void startTimeWithinToleranceIsSameProcess() {
+		ProcessWatcher watcher = watcher();
+		watcher.update(scan(process(2, "sh", 1)));
+
+		assertTrue(watcher.update(scan(process(2, "sh", 1 + ProcessDeltaEngine.START_TIME_TOLERANCE))).isEmpty());
+	}
+
+	@Test
+	public void listenersGetEventsInReturnedOrder() {
+		ProcessWatcher watcher = watcher();
+		List<ProcessEvent> received = new ArrayList<ProcessEvent>();
+		ProcessWatcher.Listener listener = received::add;
+		watcher.addListener(listener);
+		watcher.update(scan(process(1, "init", 0), process(2, "sh", 1)));
+
+		List<ProcessEvent> events = watcher.update(scan(process(1, "bash", 0), process(3, "ls", 2)));
+
+		assertEquals(events, received);
+		watcher.removeListener(listener);
+		watcher.update(scan(process(1, "bash", 0)));
+		assertEquals(3, received.size());
+	}
+
+	@Test
+	public void averageLifetimeCountsOnlyKnownStartTimes() {
+		ProcessWatcher watcher = watcher();
+		Process.OSProcess unknown = process(3, "kworker", 0);
+		unknown.setStartTime(0);
+		watcher.update(scan(process(2, "sh", 1), unknown));
+
+		watcher.update(scan());
+
+		assertEquals(2, watcher.getExitCount());
+		assertTrue(watcher.getAverageLifetime() >= 60000 - 1);
+		assertTrue(watcher.getAverageLifetime() < 3600000);
+	}
+
+	@Test
+	public void growsTablesForManyProcesses() {
+		ProcessWatcher watcher = watcher();
+		List<Process.OSProcess> processes = new ArrayList<Process.OSProcess>();
+		for (int i = 1; i <= 1000; i++) {
+			processes.add(process(i, "p", i));
+		}
+		watcher.update(new Process(processes));
+		processes.remove(499);
+		processes.add(process(5000, "q", 5000));
+
+		List<ProcessEvent> events = watcher.update(new Process(processes));
+
+		assertEquals(2, events.size());
+		assertEvent(events.get(0), ProcessEvent.Type.EXIT, "500", "p");
+		assertEvent(events.get(1), ProcessEvent.Type.SPAWN, "5000", "q");
+		assertEquals(1000, watcher.getProcessCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullSourceIsRejected() {
+		new ProcessWatcher((SoftwareInfo<Process>) null);
+	}
+
+	/**
+	 * Method to create watcher which is only updated by scans of tests.
+	 * 
+	 * @return watcher
+	 */
+	private static ProcessWatcher watcher() {
+		return new ProcessWatcher(() -> {
+			throw new AssertionError("Source should not be used!");
+		});
+	}
+
+	/**
+	 * Method to check type, id and name of event.
+	 * 
+	 * @param _event
+	 * @param _type
+	 * @param _id
+	 * @param _name
+	 */
+	private static void assertEvent(ProcessEvent _event, ProcessEvent.Type _type, String _id, String _name) {
+		assertEquals(_type, _event.getType());
+		assertEquals(_id, _event.getId());
+		assertEquals(_name, _event.getName());
+		if (_type != ProcessEvent.Type.EXEC) {
+			assertNull(_event.getPreviousCommandLine());
+		}
+	}
+
+	/**
+	 * Method to create process with command line derived from its name.
+	 * 
+	 * @param _processId
+	 * @param _name
+	 * @param _startOffset
+	 *            - start time after common start of processes
+	 * @return process
+	 */
+	private static Process.OSProcess process(int _processId, String _name, long _startOffset) {
+		return new Process.OSProcess(String.valueOf(_processId), _name, "", "/bin/" + _name, "", "", "", "", "",
+				"RUNNING", 1, 1, 0, 0, 0, 0, 0, START + _startOffset, 0, 0, 0);
+	}
+
+	/**
+	 * Method to create scan of processes.
+	 * 
+	 * @param _processes
+	 * @return scan of processes
+	 */
+	private static Process scan(Process.OSProcess... _processes) {
+		return new Process(new ArrayList<Process.OSProcess>(Arrays.asList(_processes)));
+	}
+}
\ No newline at end of file
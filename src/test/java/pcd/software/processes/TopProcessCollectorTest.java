@@ -0,0 +1,183 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.software.processes;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem.ProcessSort;
+
+/**
+ * Tests of selecting first processes with bounded heap.
+ * 
+ * @author Mateusz Mucha
+ */
+public class TopProcessCollectorTest {
+	@Test
+	public void selectsTheSameProcessesAsFullSort() {
+		OSProcess[] processes = processes(500, new Random(7));
+
+		for (ProcessSort processSort : ProcessSort.values()) {
+			IntBinaryOperator order = fullOrder(processes, processSort);
+			for (int count : new int[] { 0, 1, 5, 499, 500, 1000 }) {
+				assertArrayEquals(processSort + " " + count, sorted(IntStream.range(0, processes.length), order, count),
+						TopProcessCollector.select(processes, null, null, processSort, count));
+			}
+		}
+	}
+
+	@Test
+	public void selectsOnlyCandidates() {
+		OSProcess[] processes = processes(200, new Random(11));
+		int[] candidates = IntStream.range(0, processes.length).filter(i -> i % 3 == 0).toArray();
+		IntBinaryOperator order = fullOrder(processes, ProcessSort.MEMORY);
+
+		assertArrayEquals(sorted(Arrays.stream(candidates), order, 10),
+				TopProcessCollector.select(processes, candidates, null, ProcessSort.MEMORY, 10));
+	}
+
+	@Test
+	public void withoutSortingFirstProcessesAreSelectedInScanOrder() {
+		OSProcess[] processes = processes(10, new Random(3));
+
+		assertArrayEquals(new int[] { 0, 1, 2 }, TopProcessCollector.select(processes, null, null, null, 3));
+		assertArrayEquals(new int[] { 4, 8 },
+				TopProcessCollector.select(processes, new int[] { 4, 8, 9 }, null, null, 2));
+	}
+
+	@Test
+	public void intervalUsageIsUsedForSortingByCpu() {
+		OSProcess[] processes = processes(4, new Random(5));
+		for (int i = 0; i < processes.length; i++) {
+			processes[i].setProcessID(100 - i);
+		}
+		double[] cpuUsage = { 1, 30, 2, 30 };
+
+		assertArrayEquals(new int[] { 3, 1, 2 },
+				TopProcessCollector.select(processes, null, cpuUsage, ProcessSort.CPU, 3));
+	}
+
+	@Test
+	public void ratesAreSummedAndTiesSortedById() {
+		double[] readRates = { 5, 1, 0, 3 }, writeRates = { 0, 4, 1, 3 };
+		int[] processIds = { 40, 10, 30, 20 };
+
+		IntBinaryOperator byRate = TopProcessCollector.byRate(readRates, writeRates, i -> processIds[i]);
+
+		assertArrayEquals(new int[] { 3, 1, 0, 2 }, TopProcessCollector.select(4, null, byRate, 0));
+		assertArrayEquals(new int[] { 0, 3 },
+				TopProcessCollector.select(4, null, TopProcessCollector.byRate(readRates, null, i -> i), 2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void onlyRateFieldsCanBeUsedForSortingByRate() {
+		TopProcessCollector.rateSort(ProcessField.NAME);
+	}
+
+	/**
+	 * Method to create processes with random values and many equal values to
+	 * check sorting of ties by id.
+	 * 
+	 * @param _count
+	 * @param _random
+	 * @return processes
+	 */
+	private static OSProcess[] processes(int _count, Random _random) {
+		OSProcess[] processes = new OSProcess[_count];
+		for (int i = 0; i < _count; i++) {
+			OSProcess process = new OSProcess();
+			process.setProcessID(_count - i + _random.nextInt(3) * _count);
+			process.setParentProcessID(_random.nextInt(10));
+			process.setName("process" + _random.nextInt(50));
+			process.setResidentSetSize(_random.nextInt(20) * 1024L);
+			process.setStartTime(_random.nextInt(100));
+			process.setUpTime(1 + _random.nextInt(1000));
+			process.setUserTime(_random.nextInt(100));
+			process.setKernelTime(_random.nextInt(100));
+			processes[i] = process;
+		}
+
+		return processes;
+	}
+
+	/**
+	 * Method to create expected order of sorting with ties sorted by id.
+	 * 
+	 * @param _processes
+	 * @param _processSort
+	 * @return comparator of positions
+	 */
+	private static IntBinaryOperator fullOrder(OSProcess[] _processes, ProcessSort _processSort) {
+		return (a, b) -> {
+			OSProcess first = _processes[a], second = _processes[b];
+			int result;
+			switch (_processSort) {
+			case CPU:
+				result = Double.compare(lifetimeUsage(second), lifetimeUsage(first));
+				break;
+			case MEMORY:
+				result = Long.compare(second.getResidentSetSize(), first.getResidentSetSize());
+				break;
+			case OLDEST:
+				result = Long.compare(first.getStartTime(), second.getStartTime());
+				break;
+			case NEWEST:
+				result = Long.compare(second.getStartTime(), first.getStartTime());
+				break;
+			case PARENTPID:
+				result = Integer.compare(first.getParentProcessID(), second.getParentProcessID());
+				break;
+			case NAME:
+				result = first.getName().compareToIgnoreCase(second.getName());
+				break;
+			default:
+				result = 0;
+			}
+			return result != 0 ? result : Integer.compare(first.getProcessID(), second.getProcessID());
+		};
+	}
+
+	/**
+	 * Method to count processor usage over whole life of process.
+	 * 
+	 * @param _process
+	 * @return processor usage
+	 */
+	private static double lifetimeUsage(OSProcess _process) {
+		return (double) (_process.getKernelTime() + _process.getUserTime()) / _process.getUpTime();
+	}
+
+	/**
+	 * Method to sort positions fully and take first of them.
+	 * 
+	 * @param _positions
+	 * @param _order
+	 * @param _count
+	 *            - number of positions to take, 0 for all
+	 * @return sorted positions
+	 */
+	private static int[] sorted(IntStream _positions, IntBinaryOperator _order, int _count) {
+		int[] sorted = _positions.boxed().sorted(_order::applyAsInt).mapToInt(Integer::intValue).toArray();
+
+		return _count > 0 && _count < sorted.length ? Arrays.copyOf(sorted, _count) : sorted;
+	}
+}
\ No newline at end of file
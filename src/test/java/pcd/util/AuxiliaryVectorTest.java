@@ -0,0 +1,106 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+/**
+ * Tests of finding entries of auxiliary vector.
+ * 
+ * @author Mateusz Mucha
+ */
+public class AuxiliaryVectorTest {
+	private static final long AT_PAGESZ = 6, AT_CLKTCK = 17;
+
+	@Test
+	public void findsEntriesOf64BitVector() {
+		for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+			byte[] auxv = auxv(8, byteOrder, 33, 0x7ffd0000L, AT_PAGESZ, 4096, AT_CLKTCK, 250, 0, 0);
+
+			assertEquals(4096, AuxiliaryVector.find(auxv, 8, byteOrder, AT_PAGESZ));
+			assertEquals(250, AuxiliaryVector.find(auxv, 8, byteOrder, AT_CLKTCK));
+		}
+	}
+
+	@Test
+	public void findsEntriesOf32BitVector() {
+		for (ByteOrder byteOrder : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+			byte[] auxv = auxv(4, byteOrder, AT_PAGESZ, 65536, AT_CLKTCK, 100, 0, 0);
+
+			assertEquals(65536, AuxiliaryVector.find(auxv, 4, byteOrder, AT_PAGESZ));
+			assertEquals(100, AuxiliaryVector.find(auxv, 4, byteOrder, AT_CLKTCK));
+		}
+	}
+
+	@Test
+	public void missingEntryIsNotFound() {
+		byte[] auxv = auxv(8, ByteOrder.LITTLE_ENDIAN, AT_PAGESZ, 4096, 0, 0);
+
+		assertEquals(-1, AuxiliaryVector.find(auxv, 8, ByteOrder.LITTLE_ENDIAN, AT_CLKTCK));
+		assertEquals(-1, AuxiliaryVector.find(new byte[0], 8, ByteOrder.LITTLE_ENDIAN, AT_CLKTCK));
+	}
+
+	@Test
+	public void entriesAfterEndOfVectorAreIgnored() {
+		byte[] auxv = auxv(8, ByteOrder.LITTLE_ENDIAN, AT_PAGESZ, 4096, 0, 0, AT_CLKTCK, 250);
+
+		assertEquals(-1, AuxiliaryVector.find(auxv, 8, ByteOrder.LITTLE_ENDIAN, AT_CLKTCK));
+	}
+
+	@Test
+	public void truncatedEntryIsIgnored() {
+		byte[] auxv = auxv(8, ByteOrder.LITTLE_ENDIAN, AT_PAGESZ, 4096, AT_CLKTCK, 250);
+		byte[] truncated = new byte[auxv.length - 1];
+		System.arraycopy(auxv, 0, truncated, 0, truncated.length);
+
+		assertEquals(4096, AuxiliaryVector.find(truncated, 8, ByteOrder.LITTLE_ENDIAN, AT_PAGESZ));
+		assertEquals(-1, AuxiliaryVector.find(truncated, 8, ByteOrder.LITTLE_ENDIAN, AT_CLKTCK));
+	}
+
+	@Test
+	public void valuesOfThisProcessArePositive() {
+		assertTrue(AuxiliaryVector.getClockTicks() > 0);
+		assertTrue(AuxiliaryVector.getPageSize() > 0);
+		assertEquals(2000, AuxiliaryVector.ticksToMillis(2 * AuxiliaryVector.getClockTicks()));
+	}
+
+	/**
+	 * Method to create auxiliary vector from type and value pairs.
+	 * 
+	 * @param _wordSize
+	 * @param _byteOrder
+	 * @param _words
+	 *            - types and values of entries
+	 * @return content of auxiliary vector
+	 */
+	private static byte[] auxv(int _wordSize, ByteOrder _byteOrder, long... _words) {
+		ByteBuffer buffer = ByteBuffer.allocate(_words.length * _wordSize).order(_byteOrder);
+		for (long word : _words) {
+			if (_wordSize == 8) {
+				buffer.putLong(word);
+			} else {
+				buffer.putInt((int) word);
+			}
+		}
+
+		return buffer.array();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+/**
+ * Copyright 2018 Mateusz Mucha mateusz.marek.mucha@gmail.com
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pcd.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of parsing pseudo files from reused buffer.
+ * 
+ * @author Mateusz Mucha
+ */
+public class ProcFileReaderTest {
+	private static final double DELTA = 1e-9;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void parsesNumbersAndTokens() throws IOException {
+		ProcFileReader reader = new ProcFileReader();
+		reader.read(write("  42\t-7 token 12.5 -0.25 x\n"));
+
+		assertEquals(42, reader.nextLong());
+		assertEquals(-7, reader.nextLong());
+		reader.skipToken();
+		assertEquals(12.5, reader.nextDouble(), DELTA);
+		assertEquals(-0.25, reader.nextDouble(), DELTA);
+		assertEquals(0, reader.nextLong());
+		assertEquals('x', reader.peek());
+	}
+
+	@Test
+	public void walksLinesAndPrefixes() throws IOException {
+		ProcFileReader reader = new ProcFileReader();
+		reader.read(write("Name:\tjava\nUid:\t1000\t1001\t1001\t1001\nGid:\t100\n"));
+		byte[] uid = { 'U', 'i', 'd', ':' };
+
+		assertFalse(reader.startsWith(uid));
+		assertTrue(reader.nextLine());
+		assertTrue(reader.startsWith(uid));
+		reader.skipToken();
+		assertEquals(1000, reader.nextLong());
+		assertTrue(reader.nextLine());
+		assertFalse(reader.nextLine());
+		assertFalse(reader.hasRemaining());
+		assertEquals(-1, reader.peek());
+	}
+
+	@Test
+	public void findsNameBetweenFirstAndLastParenthesis() throws IOException {
+		ProcFileReader reader = new ProcFileReader();
+		reader.read(write("1234 (my (odd) name) S 1 1234\n"));
+
+		assertTrue(reader.skipPast((byte) '('));
+		int from = reader.getPosition();
+		assertTrue(reader.skipPastLast((byte) ')'));
+
+		assertEquals("my (odd) name", reader.substring(from, reader.getPosition() - 1));
+		reader.skipSpaces();
+		assertEquals('S', reader.peek());
+		reader.skipToken();
+		assertEquals(1, reader.nextLong());
+	}
+
+	@Test
+	public void bufferGrowsForBigFile() throws IOException {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			content.append(i).append('\n');
+		}
+		ProcFileReader reader = new ProcFileReader(write(content.toString()), 64);
+
+		assertEquals(content.length(), reader.read());
+		assertTrue(reader.getCapacity() >= content.length());
+		for (int i = 0; i < 999; i++) {
+			reader.nextLine();
+		}
+		assertEquals(999, reader.nextLong());
+	}
+
+	@Test
+	public void boundFileIsReadFromBeginningAgain() throws IOException {
+		String path = write("1\n");
+		ProcFileReader reader = new ProcFileReader(path, 64);
+		reader.read();
+		assertEquals(1, reader.nextLong());
+
+		Files.write(new File(path).toPath(), "22\n".getBytes(StandardCharsets.US_ASCII));
+
+		assertEquals(3, reader.read());
+		assertEquals(22, reader.nextLong());
+		reader.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void missingFileThrowsException() throws IOException {
+		new ProcFileReader().read(new File(folder.getRoot(), "missing").getPath());
+	}
+
+	/**
+	 * Method to write fixture into temporary file.
+	 * 
+	 * @param _content
+	 * @return path of file
+	 * @throws IOException
+	 */
+	private String write(String _content) throws IOException {
+		File file = folder.newFile();
+		Files.write(file.toPath(), _content.getBytes(StandardCharsets.US_ASCII));
+
+		return file.getPath();
+	}
+}
\ No newline at end of file